@@ -0,0 +1,83 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.Getter;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * The lag of a consumer group at a point in time: for each partition, the number of records between the group's
+ * committed offset and the end of the partition.  The partitions are either those the group has committed offsets
+ * on, or every partition of the given topics, where a partition without a committed offset lags from its start.
+ */
+@Getter
+public class ConsumerGroupLag {
+
+    private static final Comparator<TopicPartition> PARTITION_ORDER = Comparator.comparing(TopicPartition::topic).thenComparingInt(TopicPartition::partition);
+
+    private final String groupId;
+    private final long timestamp;
+    private final Map<TopicPartition, Long> partitionLag;
+
+    ConsumerGroupLag(String groupId, long timestamp, Map<TopicPartition, Long> partitionLag) {
+        this.groupId = groupId;
+        this.timestamp = timestamp;
+        this.partitionLag = partitionLag;
+    }
+
+    /**
+     * The lag of each partition the group has committed offsets on, ordered by topic and partition.
+     */
+    static ConsumerGroupLag of(String groupId, long timestamp, Map<TopicPartition, OffsetAndMetadata> committedOffsets, Map<TopicPartition, Long> endOffsets) {
+        Map<TopicPartition, Long> partitionLag = new TreeMap<>(PARTITION_ORDER);
+        committedOffsets.forEach((partition, committed) -> {
+            if(committed != null && endOffsets.containsKey(partition)) {
+                partitionLag.put(partition, lag(endOffsets.get(partition), committed.offset()));
+            }
+        });
+        return new ConsumerGroupLag(groupId, timestamp, Collections.unmodifiableMap(new LinkedHashMap<>(partitionLag)));
+    }
+
+    /**
+     * The lag of every partition with an end offset, such as every partition of the service's input topics.  A
+     * partition the group has not committed an offset on lags by every record from the start of the partition.
+     */
+    static ConsumerGroupLag of(String groupId, long timestamp, Map<TopicPartition, OffsetAndMetadata> committedOffsets, Map<TopicPartition, Long> endOffsets, Map<TopicPartition, Long> startOffsets) {
+        Map<TopicPartition, Long> partitionLag = new TreeMap<>(PARTITION_ORDER);
+        endOffsets.forEach((partition, endOffset) -> {
+            OffsetAndMetadata committed = committedOffsets.get(partition);
+            long consumedOffset = committed != null ? committed.offset() : startOffsets.getOrDefault(partition, 0L);
+            partitionLag.put(partition, lag(endOffset, consumedOffset));
+        });
+        return new ConsumerGroupLag(groupId, timestamp, Collections.unmodifiableMap(new LinkedHashMap<>(partitionLag)));
+    }
+
+    /**
+     * The end offset is read after the committed offset, so the lag can only be overstated, never negative.
+     */
+    private static long lag(long endOffset, long consumedOffset) {
+        return Math.max(endOffset - consumedOffset, 0);
+    }
+
+    public long getTotalLag() {
+        return partitionLag.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Whether there is the lag of any partition to report.  Where only the partitions the group has committed offsets
+     * on are counted, a group that has not yet consumed has none.
+     */
+    public boolean hasCommittedOffsets() {
+        return !partitionLag.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return groupId + " lag " + getTotalLag() + " " + partitionLag;
+    }
+}
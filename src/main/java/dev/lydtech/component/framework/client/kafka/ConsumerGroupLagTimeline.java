@@ -0,0 +1,127 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records the lag of a consumer group at a fixed interval on a background thread, such as whilst a load is sent to
+ * the service, to show whether the service keeps up with the rate of input events.
+ *
+ * The lag trend is the slope of the total lag over the timeline.  A service that keeps up has a trend around zero,
+ * whereas a positive trend is the number of records per second by which it is falling behind.
+ *
+ * Example usage:
+ *
+ * try (ConsumerGroupLagTimeline timeline = KafkaClient.getInstance().recordLag(SERVICE_GROUP_ID, INPUT_TOPICS, Duration.ofMillis(500))) {
+ *     loadGenerator.run();
+ *     KafkaClient.getInstance().awaitLagZero(SERVICE_GROUP_ID, INPUT_TOPICS, Duration.ofSeconds(60));
+ *     timeline.stop();
+ *     assertThat(timeline.getLagTrendPerSecond(), lessThan(10.0));
+ * }
+ */
+@Slf4j
+public final class ConsumerGroupLagTimeline implements Closeable {
+
+    static final String CSV_HEADER = "timestamp,topic,partition,lag";
+
+    private final String groupId;
+    private final List<ConsumerGroupLag> samples = new ArrayList<>();
+    private final ScheduledExecutorService executor;
+
+    ConsumerGroupLagTimeline(String groupId, Supplier<ConsumerGroupLag> lagSupplier, Duration interval) {
+        this.groupId = groupId;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ctf-consumer-group-lag-" + groupId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                ConsumerGroupLag lag = lagSupplier.get();
+                synchronized (this) {
+                    samples.add(lag);
+                }
+            } catch (Exception e) {
+                // Carry on sampling, as the group may not have committed offsets yet.
+                log.debug("Failed to sample the lag of consumer group {}: {}", groupId, e.getMessage());
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop recording, returning the timeline.
+     */
+    public List<ConsumerGroupLag> stop() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return getSamples();
+    }
+
+    /**
+     * The lag samples recorded so far, oldest first.
+     */
+    public synchronized List<ConsumerGroupLag> getSamples() {
+        return new ArrayList<>(samples);
+    }
+
+    public synchronized long getMaxTotalLag() {
+        return samples.stream().mapToLong(ConsumerGroupLag::getTotalLag).max().orElse(0);
+    }
+
+    /**
+     * The least squares slope of the total lag over the timeline, in records per second.
+     */
+    public synchronized double getLagTrendPerSecond() {
+        if(samples.size() < 2) {
+            return 0;
+        }
+        long origin = samples.get(0).getTimestamp();
+        double meanSeconds = samples.stream().mapToDouble(sample -> (sample.getTimestamp() - origin) / 1000.0).average().orElse(0);
+        double meanLag = samples.stream().mapToLong(ConsumerGroupLag::getTotalLag).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (ConsumerGroupLag sample : samples) {
+            double seconds = (sample.getTimestamp() - origin) / 1000.0 - meanSeconds;
+            covariance += seconds * (sample.getTotalLag() - meanLag);
+            variance += seconds * seconds;
+        }
+        return variance > 0 ? covariance / variance : 0;
+    }
+
+    /**
+     * Write the lag of each partition at each sample to a CSV file.
+     */
+    public void writeCsv(Path file) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append(System.lineSeparator());
+        getSamples().forEach(sample -> sample.getPartitionLag().forEach((partition, lag) ->
+                csv.append(sample.getTimestamp()).append(',').append(partition.topic()).append(',').append(partition.partition()).append(',').append(lag).append(System.lineSeparator())));
+        try {
+            if(file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, csv);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write the lag timeline of consumer group " + groupId + " to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
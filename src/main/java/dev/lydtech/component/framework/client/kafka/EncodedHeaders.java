@@ -0,0 +1,41 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+/**
+ * Record headers encoded to bytes once, to be reused for every record sent with the raw producer, rather than
+ * encoding the header values and creating the headers for each record.
+ */
+public final class EncodedHeaders {
+
+    public static final EncodedHeaders NONE = new EncodedHeaders(Collections.emptyList());
+
+    private final List<Header> headers;
+
+    private EncodedHeaders(List<Header> headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * Encode the header values as UTF-8.
+     */
+    public static EncodedHeaders of(Map<String, String> headers) {
+        if(headers == null || headers.isEmpty()) {
+            return NONE;
+        }
+        List<Header> encoded = new ArrayList<>(headers.size());
+        headers.forEach((headerKey, headerValue) -> encoded.add(new RecordHeader(headerKey, headerValue != null ? headerValue.getBytes(StandardCharsets.UTF_8) : null)));
+        return new EncodedHeaders(Collections.unmodifiableList(encoded));
+    }
+
+    List<Header> getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,221 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A corpus of fixture records, memory-mapped from a file so that a load run can send millions of pre-built payloads
+ * without reading them into the heap or parsing them per record.
+ *
+ * Each record in the file is its key and its value, each prefixed with its length as a 4 byte big-endian int, with
+ * a length of -1 for a null key or value:
+ *
+ * [key length][key bytes][value length][value bytes]
+ *
+ * On opening, the length prefixes are walked once to index where each record starts.  The keys and values are then
+ * returned as read-only slices of the mapped file, which the raw producer serializes straight from the mapping into
+ * its batches.  Files larger than 2GB are mapped in regions.
+ *
+ * Example usage:
+ *
+ * try (FixtureCorpus corpus = FixtureCorpus.open(Paths.get("src/test/resources/orders.corpus"))) {
+ *     for (int i = 0; i < corpus.size(); i++) {
+ *         KafkaClient.getInstance().sendRawMessageAsync(producer, ORDER_TOPIC, corpus.key(i), corpus.value(i), headers);
+ *     }
+ * }
+ */
+public final class FixtureCorpus implements Closeable {
+
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private int[] recordRegions = new int[1024];
+    private int[] recordPositions = new int[1024];
+    private int size;
+
+    private FixtureCorpus(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static FixtureCorpus open(Path file) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            FixtureCorpus corpus = new FixtureCorpus(channel);
+            corpus.index(file);
+            return corpus;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new RuntimeException("Failed to open the fixture corpus " + file + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Map the file in regions, each starting at a record, and index the region and position of each record.
+     */
+    private void index(Path file) throws IOException {
+        long fileSize = channel.size();
+        long regionStart = 0;
+        while(regionStart < fileSize) {
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(MAX_REGION_SIZE, fileSize - regionStart));
+            int regionIndex = regions.size();
+            regions.add(region);
+            int position = 0;
+            while(position < region.limit()) {
+                long recordLength = recordLength(region, position);
+                if(recordLength < 0) {
+                    // The record runs past the end of the region, so start the next region at it.
+                    break;
+                }
+                add(regionIndex, position);
+                position += (int) recordLength;
+            }
+            if(position == 0) {
+                throw new RuntimeException("Invalid fixture corpus " + file + ": the record at byte " + regionStart + " is truncated or too large.");
+            }
+            regionStart += position;
+        }
+    }
+
+    /**
+     * The length of the record at the position, including its length prefixes, or -1 if it is not wholly within the
+     * region.
+     */
+    private static long recordLength(ByteBuffer region, int position) {
+        long length = 0;
+        for (int field = 0; field < 2; field++) {
+            if(position + length + Integer.BYTES > region.limit()) {
+                return -1;
+            }
+            int fieldLength = region.getInt(position + (int) length);
+            if(fieldLength < -1) {
+                throw new RuntimeException("Invalid fixture corpus: negative length " + fieldLength + " for a record.");
+            }
+            length += Integer.BYTES + Math.max(fieldLength, 0);
+        }
+        return position + length > region.limit() ? -1 : length;
+    }
+
+    private void add(int region, int position) {
+        if(size == recordPositions.length) {
+            recordRegions = Arrays.copyOf(recordRegions, size * 2);
+            recordPositions = Arrays.copyOf(recordPositions, size * 2);
+        }
+        recordRegions[size] = region;
+        recordPositions[size] = position;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The key of the record, as a read-only slice of the mapped file, or null.
+     */
+    public ByteBuffer key(int index) {
+        return field(index, false);
+    }
+
+    /**
+     * The value of the record, as a read-only slice of the mapped file, or null.
+     */
+    public ByteBuffer value(int index) {
+        return field(index, true);
+    }
+
+    private ByteBuffer field(int index, boolean value) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record " + index + " is not in the fixture corpus of " + size + " records.");
+        }
+        MappedByteBuffer region = regions.get(recordRegions[index]);
+        int position = recordPositions[index];
+        int length = region.getInt(position);
+        if(value) {
+            position += Integer.BYTES + Math.max(length, 0);
+            length = region.getInt(position);
+        }
+        return length >= 0 ? region.slice(position + Integer.BYTES, length).asReadOnlyBuffer() : null;
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(channel);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            if(closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            // Nothing to do.
+        }
+    }
+
+    /**
+     * Create a fixture corpus file, such as from a test data generator, to open with FixtureCorpus.open.
+     */
+    public static Writer writer(Path file) {
+        try {
+            if(file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            return new Writer(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create the fixture corpus " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream output;
+
+        private Writer(DataOutputStream output) {
+            this.output = output;
+        }
+
+        public Writer append(byte[] key, byte[] value) {
+            try {
+                writeField(key);
+                writeField(value);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to write to the fixture corpus: " + e.getMessage(), e);
+            }
+            return this;
+        }
+
+        private void writeField(byte[] field) throws IOException {
+            if(field == null) {
+                output.writeInt(-1);
+            } else {
+                output.writeInt(field.length);
+                output.write(field);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                output.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to close the fixture corpus: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -1,32 +1,51 @@
 package dev.lydtech.component.framework.client.kafka;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.RecordsToDelete;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.ConfigResource;
 import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.apache.kafka.common.security.plain.PlainLoginModule;
+import org.apache.kafka.common.serialization.ByteBufferSerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.awaitility.Awaitility;
@@ -37,9 +56,14 @@ import static dev.lydtech.component.framework.configuration.TestcontainersConfig
 
 @Slf4j
 public final class KafkaClient {
+    // Short polls keep the quiet period accurate to wall clock time.
+    private static final long QUIET_PERIOD_POLL_MILLIS = 20;
+    private static final long LAG_POLL_MILLIS = 100;
     protected String brokerUrl;
     private static KafkaClient instance;
     private KafkaProducer defaultProducer;
+    private Admin admin;
+    private final Map<String, Consumer<String, String>> assignedConsumers = new HashMap<>();
 
     private KafkaClient(){
         String kafkaHost = Optional.ofNullable(System.getProperty("docker.host"))
@@ -62,6 +86,10 @@ public final class KafkaClient {
         return brokerUrl;
     }
 
+    Producer<String, String> getDefaultProducer() {
+        return defaultProducer;
+    }
+
     /**
      * Create a standard Consumer.
      */
@@ -73,22 +101,8 @@ public final class KafkaClient {
      * Create a Consumer with additional config.
      */
     public Consumer createConsumer(String groupId, String topic, Properties additionalConfig) {
-        final Properties config = new Properties();
-        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
+        final Properties config = consumerConfig();
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId+"-"+topic);
-        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
-        config.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, 1000);
-
-        if(KAFKA_SASL_PLAIN_ENABLED) {
-            config.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_PLAINTEXT");
-            config.put(SaslConfigs.SASL_MECHANISM, "PLAIN");
-            config.put(SaslConfigs.SASL_JAAS_CONFIG, String.format(
-                "%s required username=\"%s\" password=\"%s\";", PlainLoginModule.class.getName(), KAFKA_SASL_PLAIN_USERNAME, KAFKA_SASL_PLAIN_PASSWORD
-            ));
-        }
-
         if(additionalConfig!=null && !additionalConfig.isEmpty()) {
             config.putAll(additionalConfig);
         }
@@ -97,6 +111,90 @@ public final class KafkaClient {
         return consumer;
     }
 
+    /**
+     * Get the assigned Consumer for the topic, positioned at the current end of the topic.
+     */
+    public Consumer assignConsumer(String topic) {
+        return assignConsumer(topic, null);
+    }
+
+    /**
+     * Get a Consumer that is assigned every partition of the topic, rather than subscribing with a consumer group, so
+     * there is no group join or rebalance to wait for.  The Consumer is positioned at the end offsets of the topic
+     * at the time of this call, so call it before the test action, and every event produced afterwards is consumed.
+     *
+     * The Consumer is cached per topic, so later calls, such as by the next test, re-seek it to the end of the topic
+     * rather than creating a new one.  The additional config is only applied when the Consumer is created.
+     */
+    public synchronized Consumer assignConsumer(String topic, Properties additionalConfig) {
+        Consumer<String, String> consumer = assignedConsumers.get(topic);
+        if(consumer == null) {
+            Properties config = consumerConfig();
+            config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+            if(additionalConfig!=null && !additionalConfig.isEmpty()) {
+                config.putAll(additionalConfig);
+            }
+            consumer = new KafkaConsumer<>(config);
+            assignedConsumers.put(topic, consumer);
+        }
+        List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+        if(partitionInfos == null || partitionInfos.isEmpty()) {
+            throw new RuntimeException("No partitions found for topic: " + topic);
+        }
+        List<TopicPartition> partitions = partitionInfos.stream()
+                .map(partitionInfo -> new TopicPartition(topic, partitionInfo.partition()))
+                .collect(Collectors.toList());
+        if(!consumer.assignment().equals(new HashSet<>(partitions))) {
+            consumer.assign(partitions);
+        }
+        consumer.seekToEnd(partitions);
+        // Seeking to the end is lazy, so resolve the positions now to fix the end offsets before the test action.
+        partitions.forEach(consumer::position);
+        return consumer;
+    }
+
+    /**
+     * Read the events produced to the topic since assignConsumer was called, up to the end offsets of the topic at the
+     * time of this call.  Exactly that range of offsets is read, waiting up to the timeout for it to be fetched.
+     */
+    public synchronized List<ConsumerRecord<String, String>> readNewRecords(String topic, Duration timeout) {
+        Consumer<String, String> consumer = assignedConsumers.get(topic);
+        if(consumer == null) {
+            throw new RuntimeException("No assigned consumer for topic: " + topic + " - call assignConsumer before the test action.");
+        }
+        Map<TopicPartition, Long> endOffsets = consumer.endOffsets(consumer.assignment());
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while(endOffsets.entrySet().stream().anyMatch(endOffset -> consumer.position(endOffset.getKey()) < endOffset.getValue())) {
+            if(System.currentTimeMillis() > deadline) {
+                throw new RuntimeException("Timed out reading topic " + topic + " up to end offsets " + endOffsets + " - read " + records.size() + " events.");
+            }
+            consumer.poll(Duration.ofMillis(100)).forEach(record -> {
+                if(record.offset() < endOffsets.get(new TopicPartition(record.topic(), record.partition()))) {
+                    records.add(record);
+                }
+            });
+        }
+        // Events fetched beyond the end offsets are left to be read next time.
+        endOffsets.forEach((partition, endOffset) -> {
+            if(consumer.position(partition) > endOffset) {
+                consumer.seek(partition, endOffset);
+            }
+        });
+        return records;
+    }
+
+    Properties consumerConfig() {
+        final Properties config = new Properties();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        config.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, 1000);
+        withSaslConfig(config);
+        return config;
+    }
+
     /**
      * Create a consumer and perform an initial long poll for the given number of seconds in order to clear the topic.
      */
@@ -115,21 +213,169 @@ public final class KafkaClient {
     }
 
     /**
-     * Create a standard Producer.
+     * Purge the topics, so that a test does not consume the messages left on them by a previous test.
      */
-    public KafkaProducer<String, String> createProducer() {
-        return createProducer(null);
+    public void purgeTopics(String... topics) {
+        purgeTopics(Arrays.asList(topics), null);
     }
 
     /**
-     * Create a Producer with additional config.
+     * Purge the topics by deleting the records on every partition up to the high-water mark, in one batched call.
+     * This takes milliseconds, rather than the seconds of the initial long poll of initConsumer.
+     *
+     * If a consumer group id is given, such as that of the service, the group's committed offsets on the topics are
+     * also reset to the high-water mark.  Kafka only allows this when the group has no active members.
+     *
+     * Kafka does not allow records to be deleted from a compacted topic, one whose cleanup.policy is compact without
+     * delete, so the purge fails up front, before any topic is purged, naming the compacted topics.
      */
-    public KafkaProducer<String, String> createProducer(Properties additionalConfig) {
-        Properties config = new Properties();
-        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
-        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    public void purgeTopics(Collection<String> topics, String consumerGroupId) {
+        long startTime = System.currentTimeMillis();
+        Admin purgeAdmin = getAdmin();
+        try {
+            List<ConfigResource> topicResources = topics.stream().map(topic -> new ConfigResource(ConfigResource.Type.TOPIC, topic)).collect(Collectors.toList());
+            List<String> compactedTopics = purgeAdmin.describeConfigs(topicResources).all().get().entrySet().stream()
+                    .filter(topicConfig -> isCompacted(topicConfig.getValue().get(TopicConfig.CLEANUP_POLICY_CONFIG)))
+                    .map(topicConfig -> topicConfig.getKey().name())
+                    .sorted()
+                    .collect(Collectors.toList());
+            if(!compactedTopics.isEmpty()) {
+                throw new RuntimeException("Cannot purge the compacted topics " + compactedTopics + " - records cannot be deleted from a topic with " + TopicConfig.CLEANUP_POLICY_CONFIG + "=" + TopicConfig.CLEANUP_POLICY_COMPACT + ", so use unique keys or an assigned consumer for these topics instead.");
+            }
+            Map<TopicPartition, OffsetSpec> partitions = new HashMap<>();
+            purgeAdmin.describeTopics(topics).allTopicNames().get().values()
+                    .forEach(topic -> topic.partitions().forEach(partition ->
+                            partitions.put(new TopicPartition(topic.name(), partition.partition()), OffsetSpec.latest())));
+            Map<TopicPartition, RecordsToDelete> recordsToDelete = new HashMap<>();
+            Map<TopicPartition, OffsetAndMetadata> groupOffsets = new HashMap<>();
+            purgeAdmin.listOffsets(partitions).all().get().forEach((partition, offset) -> {
+                if(offset.offset() > 0) {
+                    recordsToDelete.put(partition, RecordsToDelete.beforeOffset(offset.offset()));
+                }
+                groupOffsets.put(partition, new OffsetAndMetadata(offset.offset()));
+            });
+            purgeAdmin.deleteRecords(recordsToDelete).all().get();
+            if(consumerGroupId != null) {
+                purgeAdmin.alterConsumerGroupOffsets(consumerGroupId, groupOffsets).all().get();
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Failed to purge the topics " + topics + (consumerGroupId != null ? " for consumer group " + consumerGroupId : "") + ": " + e.getMessage(), e);
+        }
+        log.info("Purged topics {} in {}ms", topics, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Whether the cleanup.policy compacts without also deleting, in which case Kafka does not allow records to be
+     * deleted.
+     */
+    static boolean isCompacted(ConfigEntry cleanupPolicy) {
+        if(cleanupPolicy == null || cleanupPolicy.value() == null) {
+            return false;
+        }
+        List<String> policies = Arrays.asList(cleanupPolicy.value().replace(" ", "").split(","));
+        return policies.contains(TopicConfig.CLEANUP_POLICY_COMPACT) && !policies.contains(TopicConfig.CLEANUP_POLICY_DELETE);
+    }
+
+    /**
+     * Get the lag of the consumer group, such as that of the service, on each partition it has committed offsets on.
+     */
+    public ConsumerGroupLag getConsumerGroupLag(String groupId) {
+        return getConsumerGroupLag(groupId, null);
+    }
+
+    /**
+     * Get the lag of the consumer group on every partition of the topics, such as the service's input topics.  A
+     * partition the group has not committed an offset on lags by every record from the start of the partition, so
+     * input the service has not yet consumed is counted.  If no topics are given, only the partitions the group has
+     * committed offsets on are counted.
+     */
+    public ConsumerGroupLag getConsumerGroupLag(String groupId, Collection<String> topics) {
+        Admin lagAdmin = getAdmin();
+        try {
+            Map<TopicPartition, OffsetAndMetadata> committedOffsets = lagAdmin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata().get();
+            if(topics == null || topics.isEmpty()) {
+                return ConsumerGroupLag.of(groupId, System.currentTimeMillis(), committedOffsets, listOffsets(lagAdmin, committedOffsets.keySet(), OffsetSpec.latest()));
+            }
+            List<TopicPartition> partitions = new ArrayList<>();
+            lagAdmin.describeTopics(topics).allTopicNames().get().values()
+                    .forEach(topic -> topic.partitions().forEach(partition -> partitions.add(new TopicPartition(topic.name(), partition.partition()))));
+            Map<TopicPartition, Long> startOffsets = listOffsets(lagAdmin, partitions, OffsetSpec.earliest());
+            Map<TopicPartition, Long> endOffsets = listOffsets(lagAdmin, partitions, OffsetSpec.latest());
+            return ConsumerGroupLag.of(groupId, System.currentTimeMillis(), committedOffsets, endOffsets, startOffsets);
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException("Failed to get the lag of consumer group " + groupId + (topics != null ? " on topics " + topics : "") + ": " + e.getMessage(), e);
+        }
+    }
 
+    private Map<TopicPartition, Long> listOffsets(Admin lagAdmin, Collection<TopicPartition> partitions, OffsetSpec offsetSpec) throws InterruptedException, ExecutionException {
+        Map<TopicPartition, OffsetSpec> offsetSpecs = new HashMap<>();
+        partitions.forEach(partition -> offsetSpecs.put(partition, offsetSpec));
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        lagAdmin.listOffsets(offsetSpecs).all().get().forEach((partition, offset) -> offsets.put(partition, offset.offset()));
+        return offsets;
+    }
+
+    /**
+     * Wait until the consumer group has committed offsets and has consumed every record on the partitions it has
+     * committed offsets on.  A partition the group has not yet committed on is not counted, so prefer the overload
+     * taking the service's input topics.
+     */
+    public ConsumerGroupLag awaitLagZero(String groupId, Duration timeout) {
+        return awaitLagZero(groupId, null, timeout);
+    }
+
+    /**
+     * Wait until the consumer group has consumed every record on every partition of the topics, such as the service's
+     * input topics, so the service has finished processing the events sent to it.
+     */
+    public ConsumerGroupLag awaitLagZero(String groupId, Collection<String> topics, Duration timeout) {
+        boolean allPartitions = topics != null && !topics.isEmpty();
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + timeout.toMillis();
+        while(true) {
+            ConsumerGroupLag lag = getConsumerGroupLag(groupId, topics);
+            if((allPartitions || lag.hasCommittedOffsets()) && lag.getTotalLag() == 0) {
+                log.info("Consumer group {} lag is zero after {}ms", groupId, System.currentTimeMillis() - startTime);
+                return lag;
+            }
+            if(System.currentTimeMillis() > deadline) {
+                throw new RuntimeException("Consumer group " + groupId + " lag did not reach zero within " + timeout.toMillis() + "ms - " + (lag.hasCommittedOffsets() ? lag.toString() : "no committed offsets"));
+            }
+            try {
+                Thread.sleep(LAG_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted awaiting consumer group " + groupId + " lag of zero", e);
+            }
+        }
+    }
+
+    /**
+     * Record the lag of the consumer group at the given interval, until the timeline is stopped.
+     */
+    public ConsumerGroupLagTimeline recordLag(String groupId, Duration interval) {
+        return recordLag(groupId, null, interval);
+    }
+
+    /**
+     * Record the lag of the consumer group on every partition of the topics at the given interval, until the timeline
+     * is stopped.
+     */
+    public ConsumerGroupLagTimeline recordLag(String groupId, Collection<String> topics, Duration interval) {
+        return new ConsumerGroupLagTimeline(groupId, () -> getConsumerGroupLag(groupId, topics), interval);
+    }
+
+    private synchronized Admin getAdmin() {
+        if(admin == null) {
+            Properties config = new Properties();
+            config.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
+            withSaslConfig(config);
+            admin = Admin.create(config);
+        }
+        return admin;
+    }
+
+    private void withSaslConfig(Properties config) {
         if(KAFKA_SASL_PLAIN_ENABLED) {
             config.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, "SASL_PLAINTEXT");
             config.put(SaslConfigs.SASL_MECHANISM, "PLAIN");
@@ -137,11 +383,48 @@ public final class KafkaClient {
                 "%s required username=\"%s\" password=\"%s\";", PlainLoginModule.class.getName(), KAFKA_SASL_PLAIN_USERNAME, KAFKA_SASL_PLAIN_PASSWORD
             ));
         }
+    }
+
+    /**
+     * Create a standard Producer.
+     */
+    public KafkaProducer<String, String> createProducer() {
+        return createProducer(null);
+    }
+
+    /**
+     * Create a Producer with additional config.
+     */
+    public KafkaProducer<String, String> createProducer(Properties additionalConfig) {
+        return new KafkaProducer<>(producerConfig(StringSerializer.class, additionalConfig));
+    }
+
+    /**
+     * Create a raw Producer, that sends the key and value bytes as given rather than serializing them.
+     */
+    public KafkaProducer<ByteBuffer, ByteBuffer> createRawProducer() {
+        return createRawProducer(null);
+    }
+
+    /**
+     * Create a raw Producer with additional config.
+     */
+    public KafkaProducer<ByteBuffer, ByteBuffer> createRawProducer(Properties additionalConfig) {
+        return new KafkaProducer<>(producerConfig(ByteBufferSerializer.class, additionalConfig));
+    }
+
+    private Properties producerConfig(Class<?> serializer, Properties additionalConfig) {
+        Properties config = new Properties();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokerUrl);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, serializer);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, serializer);
+
+        withSaslConfig(config);
 
         if(additionalConfig!=null && !additionalConfig.isEmpty()) {
             config.putAll(additionalConfig);
         }
-        return new KafkaProducer<>(config);
+        return config;
     }
 
     /**
@@ -213,6 +496,28 @@ public final class KafkaClient {
         return producer.send(record);
     }
 
+    /**
+     * Send a message asynchronously with the raw Producer, with headers encoded once and reused for every message.
+     */
+    public Future<RecordMetadata> sendRawMessageAsync(Producer<ByteBuffer, ByteBuffer> producer, String topic, byte[] key, byte[] payload, EncodedHeaders headers) {
+        return sendRawMessageAsync(producer, topic, key != null ? ByteBuffer.wrap(key) : null, payload != null ? ByteBuffer.wrap(payload) : null, headers, null);
+    }
+
+    /**
+     * Send a message asynchronously with the raw Producer, with headers encoded once and reused for every message.
+     */
+    public Future<RecordMetadata> sendRawMessageAsync(Producer<ByteBuffer, ByteBuffer> producer, String topic, ByteBuffer key, ByteBuffer payload, EncodedHeaders headers) {
+        return sendRawMessageAsync(producer, topic, key, payload, headers, null);
+    }
+
+    /**
+     * Send a message asynchronously with the raw Producer.  The key and payload are sent as given, from their position
+     * to their limit, so a whole byte[] or a slice of a mapped FixtureCorpus is sent without being encoded first.  The callback, if given, is called when the send completes.
+     */
+    public Future<RecordMetadata> sendRawMessageAsync(Producer<ByteBuffer, ByteBuffer> producer, String topic, ByteBuffer key, ByteBuffer payload, EncodedHeaders headers, Callback callback) {
+        return producer.send(new ProducerRecord<>(topic, null, key, payload, headers != null ? headers.getHeaders() : null), callback);
+    }
+
     public <T> List<ConsumerRecord<String, T>> consumeAndAssert(String testName, Consumer consumer, int expectedEventCount, int furtherPolls) throws Exception {
         int defaultAwaitAtMostSeconds = 60;
         return consumeAndAssert(testName, consumer, expectedEventCount, furtherPolls, defaultAwaitAtMostSeconds);
@@ -250,4 +555,38 @@ public final class KafkaClient {
             });
         return events;
     }
+
+    public <T> List<ConsumerRecord<String, T>> consumeAndAssert(String testName, Consumer consumer, int expectedEventCount, Duration quietPeriod) {
+        return consumeAndAssert(testName, consumer, expectedEventCount, quietPeriod, Duration.ofSeconds(60));
+    }
+
+    /**
+     * 1. Poll continuously for messages on the application’s outbound topic.
+     * 2. Assert the expected number are received within the awaitAtMost duration, completing as soon as they are.
+     * 3. Continue polling for the quiet period after the last message is received, to ensure no further events.  Fails
+     *    as soon as more than the expected number are received.
+     * 4. Returns the consumed events.
+     */
+    public <T> List<ConsumerRecord<String, T>> consumeAndAssert(String testName, Consumer consumer, int expectedEventCount, Duration quietPeriod, Duration awaitAtMost) {
+        List<ConsumerRecord<String, T>> events = new ArrayList<>();
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + awaitAtMost.toMillis();
+        long lastReceivedTime = startTime;
+        while(events.size() < expectedEventCount || System.currentTimeMillis() - lastReceivedTime < quietPeriod.toMillis()) {
+            if(events.size() < expectedEventCount && System.currentTimeMillis() > deadline) {
+                throw new RuntimeException(testName + " - expected " + expectedEventCount + " events within " + awaitAtMost.toMillis() + "ms, received " + events.size());
+            }
+            final ConsumerRecords<String, T> consumerRecords = consumer.poll(Duration.ofMillis(QUIET_PERIOD_POLL_MILLIS));
+            for (ConsumerRecord<String, T> record : consumerRecords) {
+                log.info(testName + " - received: " + record.value());
+                events.add(record);
+                lastReceivedTime = System.currentTimeMillis();
+            }
+            if(events.size() > expectedEventCount) {
+                throw new RuntimeException(testName + " - expected " + expectedEventCount + " events, received " + events.size());
+            }
+        }
+        log.info(testName + " - received count: " + events.size() + " in " + (System.currentTimeMillis() - startTime) + "ms");
+        return events;
+    }
 }
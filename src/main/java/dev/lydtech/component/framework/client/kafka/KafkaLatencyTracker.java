@@ -0,0 +1,324 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+
+/**
+ * Measures the end-to-end latency of the service, from sending each input event to the service emitting the events
+ * it results in on the output topics.
+ *
+ * Each input event sent by the tracker is stamped with a correlation id and its send timestamp in headers, and the
+ * output events are matched to the input events by the correlation id, read from the output event's correlation id
+ * header, its key, or by an extractor such as one that reads the id from the payload.  An input event can result in
+ * any number of output events, each with its own latency.
+ *
+ * Where a topic is configured with message.timestamp.type=LogAppendTime, the broker's append time is used, for the
+ * input event as acknowledged to the producer and for the output event as consumed, so the service does not need to
+ * propagate the send timestamp header.  Otherwise the input time is the send time, and the output time is when the
+ * tracker fetched the output event.  The output topics are consumed continuously on a background thread, so the
+ * latency does not depend on when the test awaits it.
+ *
+ * Example usage:
+ *
+ * try (KafkaLatencyTracker tracker = KafkaLatencyTracker.byHeader(ORDER_CONFIRMED_TOPIC)) {
+ *     for (int i = 0; i < 100; i++) {
+ *         tracker.send(ORDER_TOPIC, orderId(i), payload(i));
+ *     }
+ *     tracker.awaitLatencies(100, Duration.ofSeconds(30));
+ *     assertThat(tracker.getLatency().getPercentileMicros(99), lessThan(200_000L));
+ * }
+ */
+@Slf4j
+public final class KafkaLatencyTracker implements Closeable {
+
+    public static final String CORRELATION_ID_HEADER = "ctf-correlation-id";
+    public static final String SEND_TIMESTAMP_HEADER = "ctf-send-timestamp";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(20);
+
+    private final Producer<String, String> producer;
+    private final Consumer<String, String> consumer;
+    private final List<String> outputTopics;
+    private final Function<ConsumerRecord<String, String>, String> correlationIdExtractor;
+    private final boolean correlateByKey;
+    private volatile boolean running = true;
+
+    private final Map<String, SentEvent> sentEvents = new HashMap<>();
+    private final List<OutputEvent> outputEvents = new ArrayList<>();
+
+    private static final class SentEvent {
+        private final String topic;
+        private long timestamp;
+        private boolean acknowledged;
+
+        private SentEvent(String topic, long timestamp) {
+            this.topic = topic;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final class OutputEvent {
+        private final String correlationId;
+        private final String topic;
+        private final long timestamp;
+
+        private OutputEvent(String correlationId, String topic, long timestamp) {
+            this.correlationId = correlationId;
+            this.topic = topic;
+            this.timestamp = timestamp;
+        }
+    }
+
+    /**
+     * Match the output events by their correlation id header, which the service must propagate from the input event.
+     */
+    public static KafkaLatencyTracker byHeader(String... outputTopics) {
+        return byHeader(CORRELATION_ID_HEADER, outputTopics);
+    }
+
+    /**
+     * Match the output events by the given header, into which the service copies the input event's correlation id.
+     */
+    public static KafkaLatencyTracker byHeader(String headerKey, String... outputTopics) {
+        return create(record -> headerValue(record, headerKey), false, outputTopics);
+    }
+
+    /**
+     * Match the output events by key, with the input event's key used as its correlation id.
+     */
+    public static KafkaLatencyTracker byKey(String... outputTopics) {
+        return create(ConsumerRecord::key, true, outputTopics);
+    }
+
+    /**
+     * Match the output events by the correlation id returned by the extractor, or skip the event if it returns null.
+     * Send the input events with the correlation id the extractor will find in the output events.
+     */
+    public static KafkaLatencyTracker byExtractor(Function<ConsumerRecord<String, String>, String> correlationIdExtractor, String... outputTopics) {
+        return create(correlationIdExtractor, false, outputTopics);
+    }
+
+    private static KafkaLatencyTracker create(Function<ConsumerRecord<String, String>, String> correlationIdExtractor, boolean correlateByKey, String... outputTopics) {
+        KafkaClient client = KafkaClient.getInstance();
+        Properties config = client.consumerConfig();
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new KafkaLatencyTracker(client.getDefaultProducer(), new KafkaConsumer<>(config), Arrays.asList(outputTopics), correlationIdExtractor, correlateByKey);
+    }
+
+    /**
+     * The consumer is assigned every partition of the output topics, positioned at their end offsets, so only the
+     * output events from now on are matched.
+     */
+    KafkaLatencyTracker(Producer<String, String> producer, Consumer<String, String> consumer, List<String> outputTopics,
+                        Function<ConsumerRecord<String, String>, String> correlationIdExtractor, boolean correlateByKey) {
+        if(outputTopics.isEmpty()) {
+            throw new RuntimeException("At least one output topic must be given to track the latency.");
+        }
+        this.producer = producer;
+        this.consumer = consumer;
+        this.outputTopics = outputTopics;
+        this.correlationIdExtractor = correlationIdExtractor;
+        this.correlateByKey = correlateByKey;
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (String topic : outputTopics) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+            if(partitionInfos == null || partitionInfos.isEmpty()) {
+                consumer.close();
+                throw new RuntimeException("No partitions found for output topic: " + topic);
+            }
+            partitionInfos.forEach(partitionInfo -> partitions.add(new TopicPartition(topic, partitionInfo.partition())));
+        }
+        consumer.assign(partitions);
+        consumer.seekToEnd(partitions);
+        partitions.forEach(consumer::position);
+        Thread pollThread = new Thread(this::poll, "ctf-kafka-latency-tracker");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    /**
+     * Send an input event, returning its correlation id: the key when matching by key, otherwise a generated id.  When
+     * matching by key, each key can only be sent once, as the output events could not otherwise be told apart.
+     */
+    public String send(String topic, String key, String payload) {
+        return send(topic, key, payload, null);
+    }
+
+    public String send(String topic, String key, String payload, Map<String, String> headers) {
+        if(correlateByKey && key == null) {
+            throw new RuntimeException("A key must be given to send an input event when matching the output events by key.");
+        }
+        return send(correlateByKey ? key : UUID.randomUUID().toString(), topic, key, payload, headers);
+    }
+
+    /**
+     * Send an input event with the given correlation id, such as the id that the service will include in the payload
+     * of the output events.
+     */
+    public String send(String correlationId, String topic, String key, String payload, Map<String, String> headers) {
+        SentEvent sentEvent;
+        long sendTimestamp;
+        synchronized (this) {
+            if(sentEvents.containsKey(correlationId)) {
+                throw new RuntimeException("Correlation id " + correlationId + " has already been sent" + (correlateByKey ? " - each key must only be sent once when matching by key." : "."));
+            }
+            sendTimestamp = System.currentTimeMillis();
+            sentEvent = new SentEvent(topic, sendTimestamp);
+            sentEvents.put(correlationId, sentEvent);
+        }
+        RecordHeaders recordHeaders = new RecordHeaders();
+        if(headers != null) {
+            headers.forEach((headerKey, headerValue) -> recordHeaders.add(new RecordHeader(headerKey, headerValue != null ? headerValue.getBytes(StandardCharsets.UTF_8) : null)));
+        }
+        recordHeaders.add(new RecordHeader(CORRELATION_ID_HEADER, correlationId.getBytes(StandardCharsets.UTF_8)));
+        recordHeaders.add(new RecordHeader(SEND_TIMESTAMP_HEADER, String.valueOf(sendTimestamp).getBytes(StandardCharsets.UTF_8)));
+        producer.send(new ProducerRecord<>(topic, null, sendTimestamp, key, payload, recordHeaders), (metadata, exception) -> {
+            synchronized (KafkaLatencyTracker.this) {
+                if(exception != null) {
+                    log.warn("Failed to send input event {} to {}: {}", correlationId, topic, exception.getMessage());
+                    sentEvents.remove(correlationId);
+                } else {
+                    // The broker's append time where the topic is configured with LogAppendTime, otherwise the send time.
+                    if(metadata.timestamp() >= 0) {
+                        sentEvent.timestamp = metadata.timestamp();
+                    }
+                    sentEvent.acknowledged = true;
+                }
+                KafkaLatencyTracker.this.notifyAll();
+            }
+        });
+        return correlationId;
+    }
+
+    /**
+     * Consume the output events until at least the expected number have been matched to acknowledged input events,
+     * returning the latencies matched.
+     */
+    public synchronized List<LatencyRecord> awaitLatencies(int expectedCount, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while(true) {
+            List<LatencyRecord> latencies = getLatencies();
+            long remaining = deadline - System.currentTimeMillis();
+            if(latencies.size() >= expectedCount) {
+                return latencies;
+            }
+            if(remaining <= 0) {
+                throw new RuntimeException("Expected " + expectedCount + " output events on " + outputTopics + " within " + timeout.toMillis() + "ms, matched " + latencies.size());
+            }
+            wait(remaining);
+        }
+    }
+
+    /**
+     * Consume the output events continuously, stamping each with the time it was fetched.
+     */
+    private void poll() {
+        try {
+            while(running) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                long fetchTimestamp = System.currentTimeMillis();
+                if(records.isEmpty()) {
+                    continue;
+                }
+                List<OutputEvent> fetched = new ArrayList<>(records.count());
+                for (ConsumerRecord<String, String> record : records) {
+                    String correlationId = correlationIdExtractor.apply(record);
+                    if(correlationId != null) {
+                        long outputTimestamp = record.timestampType() == TimestampType.LOG_APPEND_TIME ? record.timestamp() : fetchTimestamp;
+                        fetched.add(new OutputEvent(correlationId, record.topic(), outputTimestamp));
+                    }
+                }
+                synchronized (this) {
+                    outputEvents.addAll(fetched);
+                    notifyAll();
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing.
+        } catch (Exception e) {
+            log.error("Kafka latency tracker stopped consuming " + outputTopics, e);
+        } finally {
+            consumer.close();
+        }
+    }
+
+    /**
+     * The latency of each output event matched to an acknowledged input event, in the order they were consumed.
+     * Output events that do not match an input event sent by the tracker are ignored.
+     */
+    public synchronized List<LatencyRecord> getLatencies() {
+        List<LatencyRecord> latencies = new ArrayList<>();
+        for (OutputEvent outputEvent : outputEvents) {
+            SentEvent sentEvent = sentEvents.get(outputEvent.correlationId);
+            if(sentEvent != null && sentEvent.acknowledged) {
+                latencies.add(new LatencyRecord(outputEvent.correlationId, sentEvent.topic, outputEvent.topic, sentEvent.timestamp, outputEvent.timestamp));
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * The histogram of the latencies matched, in microseconds, with the percentiles such as p50, p95 and p99.  The
+     * latencies are measured to the millisecond.
+     */
+    public LatencyHistogram getLatency() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        getLatencies().forEach(latency -> histogram.record(latency.getLatencyMillis() * 1000));
+        return histogram;
+    }
+
+    /**
+     * Write the latency of each output event matched to a CSV file.
+     */
+    public void writeCsv(Path file) {
+        StringBuilder csv = new StringBuilder(LatencyRecord.CSV_HEADER).append(System.lineSeparator());
+        getLatencies().forEach(latency -> csv.append(latency.toCsv()).append(System.lineSeparator()));
+        try {
+            if(file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, csv);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write the latencies to " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        consumer.wakeup();
+    }
+
+    private static String headerValue(ConsumerRecord<String, String> record, String headerKey) {
+        Header header = record.headers().lastHeader(headerKey);
+        return header != null && header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,214 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Drives the service with a sustained load of messages to a topic, at a target rate or as fast as the producer
+ * allows, for a duration or a number of messages.
+ *
+ * The messages are sent asynchronously from the given number of threads sharing one producer, so that the producer
+ * batches them according to its linger.ms and batch.size.  Each thread sends its share of the target rate on a fixed
+ * schedule, so a send that is delayed does not delay the sends scheduled after it.  At a target rate, the ack
+ * latency of each message is measured from when it was scheduled to be sent rather than from when it was sent, so
+ * that the latency of the sends held up behind a slow send is included.
+ *
+ * Example usage:
+ *
+ * KafkaLoadResult result = KafkaLoadGenerator.builder()
+ *         .topic(ORDER_TOPIC)
+ *         .ratePerSecond(5000)
+ *         .duration(Duration.ofSeconds(30))
+ *         .threads(4)
+ *         .payloadSupplier(() -> JsonMapper.writeToJson(buildOrder()))
+ *         .keySupplier(KafkaLoadGenerator.randomKeys(1000))
+ *         .lingerMs(5)
+ *         .compressionType("lz4")
+ *         .build()
+ *         .run();
+ */
+@Slf4j
+@Builder
+public final class KafkaLoadGenerator {
+
+    private final String topic;
+
+    /**
+     * The target messages per second across all threads.  Zero or less sends as fast as the producer allows.
+     */
+    private final int ratePerSecond;
+
+    /**
+     * Stop sending after the duration, and/or once the message count is sent.  At least one must be given.
+     */
+    private final Duration duration;
+    private final Long messageCount;
+
+    @Builder.Default
+    private final int threads = 1;
+
+    private final Supplier<String> payloadSupplier;
+
+    /**
+     * Supplies the key for each message.  Without keys the producer's sticky partitioner spreads the messages across
+     * the partitions.
+     */
+    private final Supplier<String> keySupplier;
+
+    private final Integer lingerMs;
+    private final Integer batchSize;
+    private final String compressionType;
+    private final String acks;
+
+    /**
+     * Further producer config, applied after the tuning above.
+     */
+    private final Properties additionalConfig;
+
+    /**
+     * Keys chosen uniformly at random from key-0 to key-(keyCount-1).
+     */
+    public static Supplier<String> randomKeys(int keyCount) {
+        return () -> "key-" + ThreadLocalRandom.current().nextInt(keyCount);
+    }
+
+    /**
+     * Keys key-0 to key-(keyCount-1) in turn, so each key is sent the same number of messages.
+     */
+    public static Supplier<String> roundRobinKeys(int keyCount) {
+        AtomicLong next = new AtomicLong();
+        return () -> "key-" + (next.getAndIncrement() % keyCount);
+    }
+
+    /**
+     * Send the load with a producer created by the KafkaClient, returning once every message sent has been
+     * acknowledged or has failed.
+     */
+    public KafkaLoadResult run() {
+        try (KafkaProducer<String, String> producer = KafkaClient.getInstance().createProducer(producerConfig())) {
+            return run(producer);
+        }
+    }
+
+    Properties producerConfig() {
+        Properties config = new Properties();
+        if(lingerMs != null) {
+            config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        }
+        if(batchSize != null) {
+            config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        }
+        if(compressionType != null) {
+            config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        }
+        if(acks != null) {
+            config.put(ProducerConfig.ACKS_CONFIG, acks);
+        }
+        if(additionalConfig != null) {
+            config.putAll(additionalConfig);
+        }
+        return config;
+    }
+
+    KafkaLoadResult run(Producer<String, String> producer) {
+        if(topic == null) {
+            throw new RuntimeException("A topic must be given to send the load to.");
+        }
+        if(payloadSupplier == null) {
+            throw new RuntimeException("A payload supplier must be given to send the load.");
+        }
+        if(duration == null && messageCount == null) {
+            throw new RuntimeException("A duration or a message count must be given to bound the load.");
+        }
+        if(threads < 1) {
+            throw new RuntimeException("The load must be sent from at least one thread: " + threads);
+        }
+        if(ratePerSecond > 1_000_000_000L * threads) {
+            // The interval between each thread's sends would round down to zero nanoseconds, so the load would not be throttled.
+            throw new RuntimeException("The rate per second must be at most 1000000000 per thread, or 0 to send as fast as possible: " + ratePerSecond);
+        }
+        AtomicLong sent = new AtomicLong();
+        AtomicLong acknowledged = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        LatencyHistogram ackLatency = new LatencyHistogram();
+
+        long startNanos = System.nanoTime();
+        long endNanos = duration != null ? startNanos + duration.toNanos() : Long.MAX_VALUE;
+        // Each thread sends an equal share of the rate and the count, interleaving their schedules.
+        long intervalNanos = ratePerSecond > 0 ? 1_000_000_000L * threads / ratePerSecond : 0;
+        List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            long threadCount = messageCount != null ? messageCount / threads + (thread < messageCount % threads ? 1 : 0) : Long.MAX_VALUE;
+            long firstSendNanos = startNanos + (intervalNanos * thread) / threads;
+            Thread sender = new Thread(() -> {
+                for (long n = 0; n < threadCount; n++) {
+                    long scheduledNanos = firstSendNanos + n * intervalNanos;
+                    if(scheduledNanos >= endNanos) {
+                        break;
+                    }
+                    long waitNanos = scheduledNanos - System.nanoTime();
+                    if(waitNanos > 0) {
+                        LockSupport.parkNanos(waitNanos);
+                    }
+                    if(System.nanoTime() >= endNanos) {
+                        break;
+                    }
+                    String key = keySupplier != null ? keySupplier.get() : null;
+                    String payload = payloadSupplier.get();
+                    long size = (key != null ? key.getBytes(StandardCharsets.UTF_8).length : 0) + (payload != null ? payload.getBytes(StandardCharsets.UTF_8).length : 0);
+                    // At a target rate the latency is measured from when the send was scheduled, so a send delayed
+                    // by a stalled producer counts the stall, rather than omitting it as coordinated omission would.
+                    long sendNanos = intervalNanos > 0 ? scheduledNanos : System.nanoTime();
+                    try {
+                        producer.send(new ProducerRecord<>(topic, key, payload), (metadata, exception) -> {
+                            if(exception != null) {
+                                errors.incrementAndGet();
+                                log.debug("Failed to send load message: {}", exception.getMessage());
+                            } else {
+                                ackLatency.record((System.nanoTime() - sendNanos) / 1000);
+                                acknowledged.incrementAndGet();
+                                bytes.addAndGet(size);
+                            }
+                        });
+                        sent.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        log.debug("Failed to send load message: {}", e.getMessage());
+                    }
+                }
+            }, "ctf-kafka-load-" + thread);
+            senders.add(sender);
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            try {
+                sender.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted whilst sending the load to " + topic, e);
+            }
+        }
+        producer.flush();
+        long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        KafkaLoadResult result = new KafkaLoadResult(sent.get(), acknowledged.get(), errors.get(), bytes.get(), durationMillis, ackLatency);
+        log.info("Load sent to {}: {}", topic, result);
+        return result;
+    }
+}
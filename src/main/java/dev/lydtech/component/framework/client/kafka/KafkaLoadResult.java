@@ -0,0 +1,40 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome of a KafkaLoadGenerator run: the messages sent, acknowledged and failed, and the latency from each send
+ * to its acknowledgement.
+ */
+@Getter
+@AllArgsConstructor
+public class KafkaLoadResult {
+
+    private final long sent;
+    private final long acknowledged;
+    private final long errors;
+    private final long bytes;
+    private final long durationMillis;
+    private final LatencyHistogram ackLatency;
+
+    /**
+     * The acknowledged messages per second.
+     */
+    public double getThroughput() {
+        return durationMillis > 0 ? acknowledged * 1000.0 / durationMillis : 0;
+    }
+
+    /**
+     * The acknowledged key and value bytes per second.
+     */
+    public double getBytesPerSecond() {
+        return durationMillis > 0 ? bytes * 1000.0 / durationMillis : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d sent, %d acknowledged, %d errors in %dms: %.1f msg/s, %.1fKB/s, ack latency %s",
+                sent, acknowledged, errors, durationMillis, getThroughput(), getBytesPerSecond() / 1024, ackLatency);
+    }
+}
@@ -0,0 +1,219 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+/**
+ * A bounded store of the consumed records, indexed per topic by key, header value, partition and offset, and
+ * timestamp.  The oldest records are evicted once the store holds more than the maximum number of records, or once
+ * they were stored longer ago than the maximum age.
+ *
+ * All access is synchronized on the store, so it is safe for tests running in parallel to query and await the records
+ * whilst they are being added.
+ */
+final class KafkaRecordStore {
+
+    private final int maxRecords;
+    private final long maxAgeMillis;
+    private final Deque<StoredRecord> records = new ArrayDeque<>();
+    private final Map<String, TopicIndex> topicIndexes = new HashMap<>();
+
+    private static final class StoredRecord {
+        private final long storedTime;
+        private final ConsumerRecord<String, String> record;
+
+        private StoredRecord(long storedTime, ConsumerRecord<String, String> record) {
+            this.storedTime = storedTime;
+            this.record = record;
+        }
+    }
+
+    /**
+     * The indexes hold the records in the order they were stored, so the record being evicted is always the first in
+     * each of the indexes it is in.
+     */
+    private static final class TopicIndex {
+        private final Deque<ConsumerRecord<String, String>> all = new ArrayDeque<>();
+        private final Map<String, Deque<ConsumerRecord<String, String>>> byKey = new HashMap<>();
+        // Keyed by header key, then by header value.
+        private final Map<String, Map<String, Deque<ConsumerRecord<String, String>>>> byHeader = new HashMap<>();
+        private final Map<Integer, TreeMap<Long, ConsumerRecord<String, String>>> byOffset = new HashMap<>();
+        private final TreeMap<Long, Deque<ConsumerRecord<String, String>>> byTimestamp = new TreeMap<>();
+
+        private void add(ConsumerRecord<String, String> record) {
+            all.addLast(record);
+            if(record.key() != null) {
+                byKey.computeIfAbsent(record.key(), key -> new ArrayDeque<>()).addLast(record);
+            }
+            for (Header header : record.headers()) {
+                Deque<ConsumerRecord<String, String>> indexed = byHeader.computeIfAbsent(header.key(), key -> new HashMap<>())
+                        .computeIfAbsent(headerValue(header), value -> new ArrayDeque<>());
+                // A record with a repeated header is only indexed once under it.
+                if(indexed.peekLast() != record) {
+                    indexed.addLast(record);
+                }
+            }
+            byOffset.computeIfAbsent(record.partition(), partition -> new TreeMap<>()).put(record.offset(), record);
+            byTimestamp.computeIfAbsent(record.timestamp(), timestamp -> new ArrayDeque<>()).addLast(record);
+        }
+
+        private void evict(ConsumerRecord<String, String> record) {
+            all.pollFirst();
+            if(record.key() != null) {
+                evictFirst(byKey, record.key(), record);
+            }
+            for (Header header : record.headers()) {
+                Map<String, Deque<ConsumerRecord<String, String>>> headerValues = byHeader.get(header.key());
+                if(headerValues != null) {
+                    evictFirst(headerValues, headerValue(header), record);
+                    if(headerValues.isEmpty()) {
+                        byHeader.remove(header.key());
+                    }
+                }
+            }
+            TreeMap<Long, ConsumerRecord<String, String>> offsets = byOffset.get(record.partition());
+            offsets.remove(record.offset());
+            if(offsets.isEmpty()) {
+                byOffset.remove(record.partition());
+            }
+            evictFirst(byTimestamp, record.timestamp(), record);
+        }
+
+        private static <K> void evictFirst(Map<K, Deque<ConsumerRecord<String, String>>> index, K key, ConsumerRecord<String, String> record) {
+            Deque<ConsumerRecord<String, String>> indexed = index.get(key);
+            if(indexed == null || indexed.peekFirst() != record) {
+                // Already evicted, such as under a repeated header.
+                return;
+            }
+            indexed.pollFirst();
+            if(indexed.isEmpty()) {
+                index.remove(key);
+            }
+        }
+
+        private List<ConsumerRecord<String, String>> headerRecords(String headerKey, String headerValue) {
+            Map<String, Deque<ConsumerRecord<String, String>>> headerValues = byHeader.get(headerKey);
+            return headerValues != null ? copyOrEmpty(headerValues.get(headerValue)) : new ArrayList<>();
+        }
+    }
+
+    KafkaRecordStore(int maxRecords, Duration maxAge) {
+        this.maxRecords = maxRecords;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    synchronized void add(Collection<ConsumerRecord<String, String>> consumedRecords) {
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<String, String> record : consumedRecords) {
+            records.addLast(new StoredRecord(now, record));
+            topicIndexes.computeIfAbsent(record.topic(), topic -> new TopicIndex()).add(record);
+        }
+        evict(now);
+        notifyAll();
+    }
+
+    synchronized int size() {
+        evict(System.currentTimeMillis());
+        return records.size();
+    }
+
+    synchronized List<ConsumerRecord<String, String>> find(String topic) {
+        return copyOrEmpty(index(topic).all);
+    }
+
+    synchronized List<ConsumerRecord<String, String>> findByKey(String topic, String key) {
+        return copyOrEmpty(index(topic).byKey.get(key));
+    }
+
+    synchronized List<ConsumerRecord<String, String>> findByHeader(String topic, String headerKey, String headerValue) {
+        return index(topic).headerRecords(headerKey, headerValue);
+    }
+
+    synchronized Optional<ConsumerRecord<String, String>> findByOffset(String topic, int partition, long offset) {
+        TreeMap<Long, ConsumerRecord<String, String>> offsets = index(topic).byOffset.get(partition);
+        return Optional.ofNullable(offsets != null ? offsets.get(offset) : null);
+    }
+
+    /**
+     * The records with a timestamp from the given time, inclusive, to the given time, exclusive.
+     */
+    synchronized List<ConsumerRecord<String, String>> findByTimestamp(String topic, long fromTimestamp, long toTimestamp) {
+        List<ConsumerRecord<String, String>> found = new ArrayList<>();
+        index(topic).byTimestamp.subMap(fromTimestamp, toTimestamp).values().forEach(found::addAll);
+        return found;
+    }
+
+    /**
+     * Wait until at least the given number of the topic's records match the predicate, returning those that match.
+     * Each wait scans the topic's records, so prefer awaitByKey or awaitByHeader where they apply.
+     */
+    synchronized List<ConsumerRecord<String, String>> await(String topic, Predicate<ConsumerRecord<String, String>> predicate, int count, Duration timeout) throws InterruptedException {
+        return await(topic, index -> index.all.stream().filter(predicate).collect(Collectors.toList()), count, timeout);
+    }
+
+    /**
+     * Wait until the topic has at least the given number of records with the key, looking them up in the key index.
+     */
+    synchronized List<ConsumerRecord<String, String>> awaitByKey(String topic, String key, int count, Duration timeout) throws InterruptedException {
+        return await(topic, index -> copyOrEmpty(index.byKey.get(key)), count, timeout);
+    }
+
+    /**
+     * Wait until the topic has at least the given number of records with the header value, looking them up in the
+     * header index.
+     */
+    synchronized List<ConsumerRecord<String, String>> awaitByHeader(String topic, String headerKey, String headerValue, int count, Duration timeout) throws InterruptedException {
+        return await(topic, index -> index.headerRecords(headerKey, headerValue), count, timeout);
+    }
+
+    private List<ConsumerRecord<String, String>> await(String topic, Function<TopicIndex, List<ConsumerRecord<String, String>>> matcher, int count, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while(true) {
+            List<ConsumerRecord<String, String>> matching = matcher.apply(index(topic));
+            long remaining = deadline - System.currentTimeMillis();
+            if(matching.size() >= count) {
+                return matching;
+            }
+            if(remaining <= 0) {
+                throw new RuntimeException("Expected " + count + " records on topic " + topic + " within " + timeout.toMillis() + "ms, found " + matching.size());
+            }
+            wait(remaining);
+        }
+    }
+
+    private void evict(long now) {
+        while(!records.isEmpty() && (records.size() > maxRecords || (maxAgeMillis > 0 && records.peekFirst().storedTime < now - maxAgeMillis))) {
+            ConsumerRecord<String, String> record = records.pollFirst().record;
+            topicIndexes.get(record.topic()).evict(record);
+        }
+    }
+
+    private TopicIndex index(String topic) {
+        evict(System.currentTimeMillis());
+        TopicIndex index = topicIndexes.get(topic);
+        return index != null ? index : new TopicIndex();
+    }
+
+    private static List<ConsumerRecord<String, String>> copyOrEmpty(Collection<ConsumerRecord<String, String>> indexed) {
+        return indexed != null ? new ArrayList<>(indexed) : new ArrayList<>();
+    }
+
+    private static String headerValue(Header header) {
+        return header.value() != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
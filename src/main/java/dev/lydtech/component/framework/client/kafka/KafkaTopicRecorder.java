@@ -0,0 +1,158 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_RECORDER_MAX_AGE_SECONDS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_RECORDER_MAX_RECORDS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_RECORDER_TOPICS;
+
+/**
+ * Records the events on the topics in kafka.recorder.topics, from when the ComponentTestExtension initialises the
+ * component test framework, so that tests can query and await the events rather than each creating their own
+ * consumers.
+ *
+ * A single consumer is assigned every partition of the topics, without a consumer group, and polls continuously on a
+ * background thread into a bounded store indexed by key, header value, partition and offset, and timestamp.  Queries
+ * are safe from tests running in parallel.
+ *
+ * Example usage:
+ *
+ * KafkaClient.getInstance().sendMessage(ORDER_TOPIC, orderId, payload);
+ * List<ConsumerRecord<String, String>> events = KafkaTopicRecorder.getInstance().awaitByKey(ORDER_CONFIRMED_TOPIC, orderId, 1, Duration.ofSeconds(10));
+ */
+@Slf4j
+public final class KafkaTopicRecorder {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(100);
+
+    private static KafkaTopicRecorder instance;
+
+    private final KafkaRecordStore store;
+    private final KafkaConsumer<String, String> consumer;
+    private volatile boolean running = true;
+
+    private KafkaTopicRecorder() {
+        store = new KafkaRecordStore(KAFKA_RECORDER_MAX_RECORDS, Duration.ofSeconds(KAFKA_RECORDER_MAX_AGE_SECONDS));
+        Properties config = KafkaClient.getInstance().consumerConfig();
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumer = new KafkaConsumer<>(config);
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (String topic : KAFKA_RECORDER_TOPICS) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(topic);
+            if(partitionInfos == null || partitionInfos.isEmpty()) {
+                consumer.close();
+                throw new RuntimeException("No partitions found for recorded topic: " + topic);
+            }
+            partitionInfos.forEach(partitionInfo -> partitions.add(new TopicPartition(topic, partitionInfo.partition())));
+        }
+        consumer.assign(partitions);
+        // Record the events from now on, rather than those left on the topics by a previous test run.
+        consumer.seekToEnd(partitions);
+        partitions.forEach(consumer::position);
+        Thread pollThread = new Thread(this::poll, "ctf-kafka-topic-recorder");
+        pollThread.setDaemon(true);
+        pollThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+        log.info("Recording topics {} ({} partitions)", KAFKA_RECORDER_TOPICS, partitions.size());
+    }
+
+    /**
+     * Get the recorder, starting it if it has not been started.
+     */
+    public synchronized static KafkaTopicRecorder getInstance() {
+        if(instance == null) {
+            if(KAFKA_RECORDER_TOPICS.isEmpty()) {
+                throw new RuntimeException("kafka.recorder.topics must be set to record topics.");
+            }
+            instance = new KafkaTopicRecorder();
+        }
+        return instance;
+    }
+
+    private void poll() {
+        try {
+            while(running) {
+                ConsumerRecords<String, String> records = consumer.poll(POLL_TIMEOUT);
+                if(!records.isEmpty()) {
+                    List<ConsumerRecord<String, String>> consumed = new ArrayList<>(records.count());
+                    records.forEach(consumed::add);
+                    store.add(consumed);
+                }
+            }
+        } catch (WakeupException e) {
+            // Stopping.
+        } catch (Exception e) {
+            log.error("Kafka topic recorder stopped", e);
+        } finally {
+            consumer.close();
+        }
+    }
+
+    private void stop() {
+        running = false;
+        consumer.wakeup();
+    }
+
+    /**
+     * All the recorded events on the topic, in the order they were consumed.
+     */
+    public List<ConsumerRecord<String, String>> find(String topic) {
+        return store.find(checkRecorded(topic));
+    }
+
+    public List<ConsumerRecord<String, String>> findByKey(String topic, String key) {
+        return store.findByKey(checkRecorded(topic), key);
+    }
+
+    public List<ConsumerRecord<String, String>> findByHeader(String topic, String headerKey, String headerValue) {
+        return store.findByHeader(checkRecorded(topic), headerKey, headerValue);
+    }
+
+    public Optional<ConsumerRecord<String, String>> findByOffset(String topic, int partition, long offset) {
+        return store.findByOffset(checkRecorded(topic), partition, offset);
+    }
+
+    /**
+     * The events with a timestamp from the given epoch millis, inclusive, to the given epoch millis, exclusive.
+     */
+    public List<ConsumerRecord<String, String>> findByTimestamp(String topic, long fromTimestamp, long toTimestamp) {
+        return store.findByTimestamp(checkRecorded(topic), fromTimestamp, toTimestamp);
+    }
+
+    public List<ConsumerRecord<String, String>> awaitByKey(String topic, String key, int count, Duration timeout) throws InterruptedException {
+        return store.awaitByKey(checkRecorded(topic), key, count, timeout);
+    }
+
+    public List<ConsumerRecord<String, String>> awaitByHeader(String topic, String headerKey, String headerValue, int count, Duration timeout) throws InterruptedException {
+        return store.awaitByHeader(checkRecorded(topic), headerKey, headerValue, count, timeout);
+    }
+
+    /**
+     * Wait until at least the given number of the recorded events on the topic match the predicate, returning those
+     * that match.
+     */
+    public List<ConsumerRecord<String, String>> await(String topic, Predicate<ConsumerRecord<String, String>> predicate, int count, Duration timeout) throws InterruptedException {
+        return store.await(checkRecorded(topic), predicate, count, timeout);
+    }
+
+    private String checkRecorded(String topic) {
+        if(!KAFKA_RECORDER_TOPICS.contains(topic)) {
+            throw new RuntimeException("Topic " + topic + " is not recorded - must be one of kafka.recorder.topics: " + String.join(", ", KAFKA_RECORDER_TOPICS));
+        }
+        return topic;
+    }
+}
@@ -0,0 +1,120 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in microseconds, with log-linear buckets so that every recorded value is held to within
+ * about 3% of its value, in a fixed amount of memory however many values are recorded.
+ *
+ * Values are recorded lock free, so it can be recorded to from the producer callback threads whilst being read.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The values below twice the sub bucket count are recorded exactly, and each power of two above that is split
+     * into this many buckets.
+     */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = 2 * SUB_BUCKET_COUNT + (62 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long micros) {
+        long value = Math.max(micros, 0);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(value);
+        minMicros.accumulateAndGet(value, Math::min);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMinMicros() {
+        return getCount() > 0 ? minMicros.get() : 0;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public double getMeanMicros() {
+        long count = getCount();
+        return count > 0 ? (double) totalMicros.get() / count : 0;
+    }
+
+    /**
+     * The latency that the given percentage of the recorded values are at or below, such as 99.9.
+     */
+    public long getPercentileMicros(double percentile) {
+        if(percentile < 0 || percentile > 100) {
+            throw new RuntimeException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long count = getCount();
+        if(count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts.get(bucket);
+            if(seen >= rank) {
+                // Report the bucket's midpoint, bounded by the values actually recorded.
+                return Math.min(Math.max(valueOf(bucket), getMinMicros()), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Add the values recorded in the other histogram to this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            long count = other.counts.get(bucket);
+            if(count > 0) {
+                counts.addAndGet(bucket, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        if(other.getCount() > 0) {
+            minMicros.accumulateAndGet(other.minMicros.get(), Math::min);
+            maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+        }
+    }
+
+    static int bucketOf(long value) {
+        if(value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >> shift) - SUB_BUCKET_COUNT;
+        return 2 * SUB_BUCKET_COUNT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long valueOf(int bucket) {
+        if(bucket < 2 * SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        int shift = (bucket - 2 * SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT + 1;
+        long subBucket = (bucket - 2 * SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return (subBucket << shift) + (1L << shift) / 2;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, min=%.3fms, mean=%.3fms, p50=%.3fms, p90=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms",
+                getCount(), getMinMicros() / 1000.0, getMeanMicros() / 1000.0, getPercentileMicros(50) / 1000.0, getPercentileMicros(90) / 1000.0,
+                getPercentileMicros(99) / 1000.0, getPercentileMicros(99.9) / 1000.0, getMaxMicros() / 1000.0);
+    }
+}
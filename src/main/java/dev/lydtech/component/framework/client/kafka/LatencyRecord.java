@@ -0,0 +1,28 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The end-to-end latency of one output event, from when the input event it was correlated with was sent.
+ */
+@Getter
+@AllArgsConstructor
+public class LatencyRecord {
+
+    static final String CSV_HEADER = "correlation_id,input_topic,output_topic,input_timestamp,output_timestamp,latency_ms";
+
+    private final String correlationId;
+    private final String inputTopic;
+    private final String outputTopic;
+    private final long inputTimestamp;
+    private final long outputTimestamp;
+
+    public long getLatencyMillis() {
+        return outputTimestamp - inputTimestamp;
+    }
+
+    String toCsv() {
+        return correlationId + "," + inputTopic + "," + outputTopic + "," + inputTimestamp + "," + outputTimestamp + "," + getLatencyMillis();
+    }
+}
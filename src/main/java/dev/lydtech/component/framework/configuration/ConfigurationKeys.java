@@ -11,10 +11,31 @@ public final class ConfigurationKeys {
     public static final String CONTAINER_NAME_PREFIX_KEY = "container.name.prefix";
     public static final String CONTAINER_MAIN_LABEL_NAME_KEY = "container.main.label";
     public static final String CONTAINER_APPEND_GROUP_ID_KEY = "container.append.group.id";
+    public static final String CONTAINER_STARTUP_CONCURRENCY_KEY = "container.startup.concurrency";
+    public static final String CONTAINER_STARTUP_REPORT_ENABLED_KEY = "container.startup.report.enabled";
+    public static final String CONTAINER_STARTUP_REPORT_PATH_KEY = "container.startup.report.path";
+    public static final String CONTAINER_IMAGE_PULL_CONCURRENCY_KEY = "container.image.pull.concurrency";
+    public static final String CONTAINER_READINESS_PROBES_ENABLED_KEY = "container.readiness.probes.enabled";
+    public static final String CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS_KEY = "container.readiness.probe.max.interval.ms";
+    public static final String CONTAINER_SNAPSHOT_ENABLED_KEY = "container.snapshot.enabled";
+    public static final String CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB_KEY = "container.snapshot.cache.max.size.mb";
+    public static final String CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED_KEY = "container.observability.background.startup.enabled";
+    public static final String CONTAINER_POOL_ENABLED_KEY = "container.pool.enabled";
+    public static final String CONTAINER_POOL_SIZE_KEY = "container.pool.size";
+    public static final String CONTAINER_POOL_IDLE_EVICTION_MINUTES_KEY = "container.pool.idle.eviction.minutes";
+    public static final String CONTAINER_TMPFS_ENABLED_KEY = "container.tmpfs.enabled";
+    public static final String CONTAINER_TMPFS_SIZE_MB_KEY = "container.tmpfs.size.mb";
+    public static final String CONTAINER_CPUS_KEY = "container.cpus";
+    public static final String CONTAINER_CPUSETS_KEY = "container.cpusets";
+    public static final String CONTAINER_MEMORY_KEY = "container.memory";
+    public static final String CONTAINER_STATS_ENABLED_KEY = "container.stats.enabled";
+    public static final String CONTAINER_STATS_INTERVAL_MS_KEY = "container.stats.interval.ms";
+    public static final String CONTAINER_STATS_PATH_KEY = "container.stats.path";
 
     // --- Service configuration keys ---
     public static final String SERVICE_NAME_KEY = "service.name";
     public static final String SERVICE_INSTANCE_COUNT_KEY = "service.instance.count";
+    public static final String SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED_KEY = "service.instance.concurrent.startup.enabled";
     public static final String SERVICE_PORT_KEY = "service.port";
     public static final String SERVICE_DEBUG_PORT_KEY = "service.debug.port";
     public static final String SERVICE_STARTUP_TIMEOUT_SECONDS_KEY = "service.startup.timeout.seconds";
@@ -25,6 +46,14 @@ public final class ConfigurationKeys {
     public static final String SERVICE_IMAGE_TAG_KEY = "service.image.tag";
     public static final String SERVICE_CONTAINER_LOGGING_ENABLED_KEY = "service.container.logging.enabled";
     public static final String SERVICE_DEBUG_SUSPEND_KEY = "service.debug.suspend";
+    public static final String SERVICE_DEBUG_ENABLED_KEY = "service.debug.enabled";
+    public static final String SERVICE_HEAP_SIZE_KEY = "service.heap.size";
+    public static final String SERVICE_FAST_START_MODE_KEY = "service.fast.start.mode";
+    public static final String SERVICE_FAST_START_DIRECTORY_KEY = "service.fast.start.directory";
+    public static final String SERVICE_JFR_ENABLED_KEY = "service.jfr.enabled";
+    public static final String SERVICE_JFR_SETTINGS_KEY = "service.jfr.settings";
+    public static final String SERVICE_JFR_PATH_KEY = "service.jfr.path";
+    public static final String SERVICE_JFR_READ_TIMEOUT_SECONDS_KEY = "service.jfr.read.timeout.seconds";
     public static final String SERVICE_APPLICATION_ARGS_KEY = "service.application.args";
     public static final String SERVICE_ENVVARS_KEY = "service.envvars";
     public static final String SERVICE_ADDITIONAL_FILESYSTEM_BINDS_KEY = "service.additional.filesystem.binds";
@@ -43,11 +72,17 @@ public final class ConfigurationKeys {
     public static final String POSTGRES_PASSWORD_KEY = "postgres.password";
     public static final String POSTGRES_SCHEMA_FILE_PATH_KEY = "postgres.schema.file.path";
     public static final String POSTGRES_CONTAINER_LOGGING_ENABLED_KEY = "postgres.container.logging.enabled";
+    public static final String POSTGRES_TMPFS_ENABLED_KEY = "postgres.tmpfs.enabled";
+    public static final String POSTGRES_PERFORMANCE_PROFILE_KEY = "postgres.performance.profile";
+    public static final String POSTGRES_SHARED_BUFFERS_KEY = "postgres.shared.buffers";
+    public static final String POSTGRES_WORK_MEM_KEY = "postgres.work.mem";
+    public static final String POSTGRES_UNLOGGED_TABLES_ENABLED_KEY = "postgres.unlogged.tables.enabled";
 
     // --- MongoDB configuration keys ---
     public static final String MONGODB_ENABLED_KEY = "mongodb.enabled";
     public static final String MONGODB_IMAGE_TAG_KEY = "mongodb.image.tag";
     public static final String MONGODB_CONTAINER_LOGGING_ENABLED_KEY = "mongodb.container.logging.enabled";
+    public static final String MONGODB_TMPFS_ENABLED_KEY = "mongodb.tmpfs.enabled";
 
     // --- MariaDB configuration keys ---
     public static final String MARIADB_ENABLED_KEY = "mariadb.enabled";
@@ -58,16 +93,25 @@ public final class ConfigurationKeys {
     public static final String MARIADB_USERNAME_KEY = "mariadb.username";
     public static final String MARIADB_PASSWORD_KEY = "mariadb.password";
     public static final String MARIADB_CONTAINER_LOGGING_ENABLED_KEY = "mariadb.container.logging.enabled";
+    public static final String MARIADB_TMPFS_ENABLED_KEY = "mariadb.tmpfs.enabled";
+    public static final String MARIADB_PERFORMANCE_PROFILE_KEY = "mariadb.performance.profile";
+    public static final String MARIADB_INNODB_BUFFER_POOL_SIZE_KEY = "mariadb.innodb.buffer.pool.size";
 
     // --- Kafka configuration keys ---
     public static final String KAFKA_ENABLED_KEY = "kafka.enabled";
     public static final String KAFKA_NATIVE_ENABLED_KEY = "kafka.native.enabled";
     public static final String KAFKA_BROKER_COUNT_KEY = "kafka.broker.count";
+    public static final String KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED_KEY = "kafka.broker.concurrent.startup.enabled";
     public static final String KAFKA_CONFLUENT_IMAGE_TAG_KEY = "kafka.confluent.image.tag";
     public static final String KAFKA_APACHE_NATIVE_IMAGE_TAG_KEY = "kafka.apache.native.image.tag";
     public static final String KAFKA_TOPICS_KEY = "kafka.topics";
     public static final String KAFKA_TOPIC_PARTITION_COUNT_KEY = "kafka.topic.partition.count";
+    public static final String KAFKA_TOPIC_SPECS_KEY = "kafka.topic.specs";
     public static final String KAFKA_CONTAINER_LOGGING_ENABLED_KEY = "kafka.container.logging.enabled";
+    public static final String KAFKA_TMPFS_ENABLED_KEY = "kafka.tmpfs.enabled";
+    public static final String KAFKA_RECORDER_TOPICS_KEY = "kafka.recorder.topics";
+    public static final String KAFKA_RECORDER_MAX_RECORDS_KEY = "kafka.recorder.max.records";
+    public static final String KAFKA_RECORDER_MAX_AGE_SECONDS_KEY = "kafka.recorder.max.age.seconds";
     public static final String KAFKA_TOPIC_REPLICATION_FACTOR_KEY = "kafka.topic.replication.factor";
     public static final String KAFKA_MIN_INSYNC_REPLICAS_KEY = "kafka.min.insync.replicas";
     public static final String KAFKA_SASL_PLAIN_ENABLED_KEY = "kafka.sasl.plain.enabled";
@@ -137,6 +181,7 @@ public final class ConfigurationKeys {
     public static final String ELASTICSEARCH_CLUSTER_NAME_KEY = "elasticsearch.cluster.name";
     public static final String ELASTICSEARCH_DISCOVERY_TYPE_KEY = "elasticsearch.discovery.type";
     public static final String ELASTICSEARCH_CONTAINER_LOGGING_ENABLED_KEY = "elasticsearch.container.logging.enabled";
+    public static final String ELASTICSEARCH_TMPFS_ENABLED_KEY = "elasticsearch.tmpfs.enabled";
 
     // --- Opensearch configuration keys ---
     public static final String OPENSEARCH_ENABLED_KEY = "opensearch.enabled";
@@ -160,9 +205,30 @@ public final class ConfigurationKeys {
                 CONTAINER_NAME_PREFIX_KEY,
                 CONTAINER_MAIN_LABEL_NAME_KEY,
                 CONTAINER_APPEND_GROUP_ID_KEY,
+                CONTAINER_STARTUP_CONCURRENCY_KEY,
+                CONTAINER_STARTUP_REPORT_ENABLED_KEY,
+                CONTAINER_STARTUP_REPORT_PATH_KEY,
+                CONTAINER_IMAGE_PULL_CONCURRENCY_KEY,
+                CONTAINER_READINESS_PROBES_ENABLED_KEY,
+                CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS_KEY,
+                CONTAINER_SNAPSHOT_ENABLED_KEY,
+                CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB_KEY,
+                CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED_KEY,
+                CONTAINER_POOL_ENABLED_KEY,
+                CONTAINER_POOL_SIZE_KEY,
+                CONTAINER_POOL_IDLE_EVICTION_MINUTES_KEY,
+                CONTAINER_TMPFS_ENABLED_KEY,
+                CONTAINER_TMPFS_SIZE_MB_KEY,
+                CONTAINER_CPUS_KEY,
+                CONTAINER_CPUSETS_KEY,
+                CONTAINER_MEMORY_KEY,
+                CONTAINER_STATS_ENABLED_KEY,
+                CONTAINER_STATS_INTERVAL_MS_KEY,
+                CONTAINER_STATS_PATH_KEY,
 
                 SERVICE_NAME_KEY,
                 SERVICE_INSTANCE_COUNT_KEY,
+                SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED_KEY,
                 SERVICE_PORT_KEY,
                 SERVICE_DEBUG_PORT_KEY,
                 SERVICE_STARTUP_TIMEOUT_SECONDS_KEY,
@@ -173,6 +239,14 @@ public final class ConfigurationKeys {
                 SERVICE_IMAGE_TAG_KEY,
                 SERVICE_CONTAINER_LOGGING_ENABLED_KEY,
                 SERVICE_DEBUG_SUSPEND_KEY,
+                SERVICE_DEBUG_ENABLED_KEY,
+                SERVICE_HEAP_SIZE_KEY,
+                SERVICE_FAST_START_MODE_KEY,
+                SERVICE_FAST_START_DIRECTORY_KEY,
+                SERVICE_JFR_ENABLED_KEY,
+                SERVICE_JFR_SETTINGS_KEY,
+                SERVICE_JFR_PATH_KEY,
+                SERVICE_JFR_READ_TIMEOUT_SECONDS_KEY,
                 SERVICE_APPLICATION_ARGS_KEY,
                 SERVICE_ENVVARS_KEY,
                 SERVICE_ADDITIONAL_FILESYSTEM_BINDS_KEY,
@@ -189,10 +263,16 @@ public final class ConfigurationKeys {
                 POSTGRES_PASSWORD_KEY,
                 POSTGRES_SCHEMA_FILE_PATH_KEY,
                 POSTGRES_CONTAINER_LOGGING_ENABLED_KEY,
+                POSTGRES_TMPFS_ENABLED_KEY,
+                POSTGRES_PERFORMANCE_PROFILE_KEY,
+                POSTGRES_SHARED_BUFFERS_KEY,
+                POSTGRES_WORK_MEM_KEY,
+                POSTGRES_UNLOGGED_TABLES_ENABLED_KEY,
 
                 MONGODB_ENABLED_KEY,
                 MONGODB_IMAGE_TAG_KEY,
                 MONGODB_CONTAINER_LOGGING_ENABLED_KEY,
+                MONGODB_TMPFS_ENABLED_KEY,
 
                 MARIADB_ENABLED_KEY,
                 MARIADB_IMAGE_TAG_KEY,
@@ -202,15 +282,24 @@ public final class ConfigurationKeys {
                 MARIADB_USERNAME_KEY,
                 MARIADB_PASSWORD_KEY,
                 MARIADB_CONTAINER_LOGGING_ENABLED_KEY,
+                MARIADB_TMPFS_ENABLED_KEY,
+                MARIADB_PERFORMANCE_PROFILE_KEY,
+                MARIADB_INNODB_BUFFER_POOL_SIZE_KEY,
 
                 KAFKA_ENABLED_KEY,
                 KAFKA_NATIVE_ENABLED_KEY,
                 KAFKA_BROKER_COUNT_KEY,
+                KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED_KEY,
                 KAFKA_CONFLUENT_IMAGE_TAG_KEY,
                 KAFKA_APACHE_NATIVE_IMAGE_TAG_KEY,
                 KAFKA_TOPICS_KEY,
                 KAFKA_TOPIC_PARTITION_COUNT_KEY,
+                KAFKA_TOPIC_SPECS_KEY,
                 KAFKA_CONTAINER_LOGGING_ENABLED_KEY,
+                KAFKA_TMPFS_ENABLED_KEY,
+                KAFKA_RECORDER_TOPICS_KEY,
+                KAFKA_RECORDER_MAX_RECORDS_KEY,
+                KAFKA_RECORDER_MAX_AGE_SECONDS_KEY,
                 KAFKA_TOPIC_REPLICATION_FACTOR_KEY,
                 KAFKA_MIN_INSYNC_REPLICAS_KEY,
                 KAFKA_SASL_PLAIN_ENABLED_KEY,
@@ -271,6 +360,7 @@ public final class ConfigurationKeys {
                 ELASTICSEARCH_CLUSTER_NAME_KEY,
                 ELASTICSEARCH_DISCOVERY_TYPE_KEY,
                 ELASTICSEARCH_CONTAINER_LOGGING_ENABLED_KEY,
+                ELASTICSEARCH_TMPFS_ENABLED_KEY,
 
                 OPENSEARCH_ENABLED_KEY,
                 OPENSEARCH_IMAGE_TAG_KEY,
@@ -17,12 +17,41 @@ public class ConfigurationLogger {
         if(CONTAINER_APPEND_GROUP_ID) {
             log.info("container group unique id: " + CONTAINER_GROUP_ID);
         }
+        log.info("container.startup.concurrency: " + CONTAINER_STARTUP_CONCURRENCY);
+        log.info("container.startup.report.enabled: " + CONTAINER_STARTUP_REPORT_ENABLED);
+        log.info("container.startup.report.path: " + CONTAINER_STARTUP_REPORT_PATH);
+        log.info("container.image.pull.concurrency: " + CONTAINER_IMAGE_PULL_CONCURRENCY);
+        log.info("container.readiness.probes.enabled: " + CONTAINER_READINESS_PROBES_ENABLED);
+        log.info("container.readiness.probe.max.interval.ms: " + CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS);
+        log.info("container.snapshot.enabled: " + CONTAINER_SNAPSHOT_ENABLED);
+        log.info("container.snapshot.cache.max.size.mb: " + CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB);
+        log.info("container.observability.background.startup.enabled: " + CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED);
+        log.info("container.pool.enabled: " + CONTAINER_POOL_ENABLED);
+        log.info("container.pool.size: " + CONTAINER_POOL_SIZE);
+        log.info("container.pool.idle.eviction.minutes: " + CONTAINER_POOL_IDLE_EVICTION_MINUTES);
+        log.info("container.tmpfs.enabled: " + CONTAINER_TMPFS_ENABLED);
+        log.info("container.tmpfs.size.mb: " + CONTAINER_TMPFS_SIZE_MB);
+        log.info("container.cpus: " + CONTAINER_CPUS);
+        log.info("container.cpusets: " + CONTAINER_CPUSETS);
+        log.info("container.memory: " + CONTAINER_MEMORY);
+        log.info("container.stats.enabled: " + CONTAINER_STATS_ENABLED);
+        log.info("container.stats.interval.ms: " + CONTAINER_STATS_INTERVAL_MS);
+        log.info("container.stats.path: " + CONTAINER_STATS_PATH);
 
         log.info("service.name: " + SERVICE_NAME);
         log.info("service.instance.count: " + SERVICE_INSTANCE_COUNT);
+        log.info("service.instance.concurrent.startup.enabled: " + SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED);
         log.info("service.port: " + SERVICE_PORT);
         log.info("service.debug.port: " + SERVICE_DEBUG_PORT);
         log.info("service.debug.suspend: " + SERVICE_DEBUG_SUSPEND);
+        log.info("service.debug.enabled: " + SERVICE_DEBUG_ENABLED);
+        log.info("service.heap.size: " + SERVICE_HEAP_SIZE);
+        log.info("service.fast.start.mode: " + SERVICE_FAST_START_MODE);
+        log.info("service.fast.start.directory: " + SERVICE_FAST_START_DIRECTORY);
+        log.info("service.jfr.enabled: " + SERVICE_JFR_ENABLED);
+        log.info("service.jfr.settings: " + SERVICE_JFR_SETTINGS);
+        log.info("service.jfr.path: " + SERVICE_JFR_PATH);
+        log.info("service.jfr.read.timeout.seconds: " + SERVICE_JFR_READ_TIMEOUT_SECONDS);
         log.info("service.envvars: " + SERVICE_ENV_VARS);
         log.info("service.additional.filesystem.binds: " + SERVICE_ADDITIONAL_FILESYSTEM_BINDS);
         log.info("service.config.files.system.property: " + SERVICE_CONFIG_FILES_SYSTEM_PROPERTY);
@@ -59,6 +88,13 @@ public class ConfigurationLogger {
             }
             log.info("postgres.schema.file.path: " + postgresSchemaFilePath);
             log.info("postgres.container.logging.enabled: " + POSTGRES_CONTAINER_LOGGING_ENABLED);
+            log.info("postgres.tmpfs.enabled: " + POSTGRES_TMPFS_ENABLED);
+            log.info("postgres.performance.profile: " + POSTGRES_PERFORMANCE_PROFILE);
+            if(PERFORMANCE_PROFILE_FAST.equals(POSTGRES_PERFORMANCE_PROFILE)) {
+                log.info("postgres.shared.buffers: " + POSTGRES_SHARED_BUFFERS);
+                log.info("postgres.work.mem: " + POSTGRES_WORK_MEM);
+            }
+            log.info("postgres.unlogged.tables.enabled: " + POSTGRES_UNLOGGED_TABLES_ENABLED);
         }
 
         log.info("mongodb.enabled: " + MONGODB_ENABLED);
@@ -66,6 +102,7 @@ public class ConfigurationLogger {
             log.info("mongodb.image.tag: " + MONGODB_IMAGE_TAG);
             log.info("mongodb.port: " + MONGODB_PORT);
             log.info("mongodb.container.logging.enabled: " + MONGODB_CONTAINER_LOGGING_ENABLED);
+            log.info("mongodb.tmpfs.enabled: " + MONGODB_TMPFS_ENABLED);
         }
 
         log.info("mariadb.enabled: " + MARIADB_ENABLED);
@@ -77,6 +114,11 @@ public class ConfigurationLogger {
             log.info("mariadb.username: " + MARIADB_USERNAME);
             log.info("mariadb.password: " + MARIADB_PASSWORD);
             log.info("mariadb.container.logging.enabled: " + MARIADB_CONTAINER_LOGGING_ENABLED);
+            log.info("mariadb.tmpfs.enabled: " + MARIADB_TMPFS_ENABLED);
+            log.info("mariadb.performance.profile: " + MARIADB_PERFORMANCE_PROFILE);
+            if(PERFORMANCE_PROFILE_FAST.equals(MARIADB_PERFORMANCE_PROFILE)) {
+                log.info("mariadb.innodb.buffer.pool.size: " + MARIADB_INNODB_BUFFER_POOL_SIZE);
+            }
         }
 
         log.info("kafka.enabled: " + KAFKA_ENABLED);
@@ -89,11 +131,17 @@ public class ConfigurationLogger {
         }
         if(KAFKA_ENABLED || KAFKA_NATIVE_ENABLED) {
             log.info("kafka.broker.count: " + KAFKA_BROKER_COUNT);
+            log.info("kafka.broker.concurrent.startup.enabled: " + KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED);
             log.info("kafka.topics: " + KAFKA_TOPICS);
             log.info("kafka.topic.partition.count: " + KAFKA_TOPIC_PARTITION_COUNT);
+            log.info("kafka.topic.specs: " + KAFKA_TOPIC_SPECS);
             log.info("kafka.topic.replication.factor: " + KAFKA_TOPIC_REPLICATION_FACTOR);
             log.info("kafka.min.insync.replicas: " + KAFKA_MIN_INSYNC_REPLICAS);
             log.info("kafka.container.logging.enabled: " + KAFKA_CONTAINER_LOGGING_ENABLED);
+            log.info("kafka.tmpfs.enabled: " + KAFKA_TMPFS_ENABLED);
+            log.info("kafka.recorder.topics: " + KAFKA_RECORDER_TOPICS);
+            log.info("kafka.recorder.max.records: " + KAFKA_RECORDER_MAX_RECORDS);
+            log.info("kafka.recorder.max.age.seconds: " + KAFKA_RECORDER_MAX_AGE_SECONDS);
             log.info("kafka.sasl.plain.enabled: " + KAFKA_SASL_PLAIN_ENABLED);
             if(KAFKA_SASL_PLAIN_ENABLED) {
                 log.info("kafka.sasl.plain.username: " + KAFKA_SASL_PLAIN_USERNAME);
@@ -175,6 +223,7 @@ public class ConfigurationLogger {
             log.info("elasticsearch.cluster.name: " + ELASTICSEARCH_CLUSTER_NAME);
             log.info("elasticsearch.discovery.type: " + ELASTICSEARCH_DISCOVERY_TYPE);
             log.info("elasticsearch.container.logging.enabled: " + ELASTICSEARCH_CONTAINER_LOGGING_ENABLED);
+            log.info("elasticsearch.tmpfs.enabled: " + ELASTICSEARCH_TMPFS_ENABLED);
         }
 
         log.info("opensearch.enabled: " + OPENSEARCH_ENABLED);
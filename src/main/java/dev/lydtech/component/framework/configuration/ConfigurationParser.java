@@ -5,9 +5,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import dev.lydtech.component.framework.management.AdditionalContainer;
+import dev.lydtech.component.framework.management.KafkaTopicSpec;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -41,6 +43,46 @@ public class ConfigurationParser {
         return additionalContainers;
     }
 
+    /**
+     * Parse the colon separated topic specs, each a comma separated list of the topic name, partitions and replication
+     * factor, followed by any topic configs as key=value pairs.  A topic config with a list value, such as
+     * cleanup.policy=compact|delete, separates the values with a pipe.
+     */
+    protected static List<KafkaTopicSpec> parseKafkaTopicSpecs(String topicSpecsPropertyValue) {
+        log.debug("Parsing Kafka topic specs: {}", topicSpecsPropertyValue);
+        List<KafkaTopicSpec> topicSpecs = Collections.EMPTY_LIST;
+        if(topicSpecsPropertyValue!=null) {
+            topicSpecsPropertyValue = topicSpecsPropertyValue.replaceAll("\\s+","");
+            if(topicSpecsPropertyValue.length()>0) {
+                topicSpecs = Arrays.stream(topicSpecsPropertyValue.split(":")).map(topicSpec -> {
+                    List<String> parsedDetails = Arrays.asList(topicSpec.split(","));
+                    if(parsedDetails.size()<3) {
+                        String message = "Invalid Kafka topic spec: "+parsedDetails+" -  expecting at least 3 args, found "+parsedDetails.size()+".";
+                        log.error(message);
+                        throw new RuntimeException(message);
+                    }
+                    Map<String, String> configs = new TreeMap<>();
+                    for (String config : parsedDetails.subList(3, parsedDetails.size())) {
+                        String[] keyValue = config.split("=");
+                        if(keyValue.length != 2) {
+                            String message = "Invalid Kafka topic spec config: "+config+" - expecting key=value for topic "+parsedDetails.get(0)+".";
+                            log.error(message);
+                            throw new RuntimeException(message);
+                        }
+                        configs.put(keyValue[0], keyValue[1].replace('|', ','));
+                    }
+                    return KafkaTopicSpec.builder()
+                            .name(parsedDetails.get(0))
+                            .partitions(Integer.parseInt(parsedDetails.get(1)))
+                            .replicationFactor(Integer.parseInt(parsedDetails.get(2)))
+                            .configs(configs)
+                            .build();
+                }).collect(Collectors.toList());
+            }
+        }
+        return topicSpecs;
+    }
+
     protected static Map<String, String> parseKvPairs(String input) {
         if (input == null) {
             return new HashMap<>();
@@ -5,10 +5,17 @@ import java.util.Map;
 import java.util.Properties;
 
 import dev.lydtech.component.framework.management.AdditionalContainer;
+import dev.lydtech.component.framework.management.KafkaTopicSpec;
 import org.apache.commons.lang3.RandomStringUtils;
 
 public final class TestcontainersConfiguration {
 
+    /**
+     * The database performance profiles.  The fast profile trades durability for throughput.
+     */
+    public static final String PERFORMANCE_PROFILE_DEFAULT = "default";
+    public static final String PERFORMANCE_PROFILE_FAST = "fast";
+
     /**
      * The default configuration.
      */
@@ -20,10 +27,31 @@ public final class TestcontainersConfiguration {
     private static final String DEFAULT_CONTAINER_MAIN_LABEL_NAME = "main-container";
     private static final String DEFAULT_CONTAINERS_STAYUP = "false";
     private static final String DEFAULT_CONTAINER_APPEND_GROUP_ID = "false";
+    private static final String DEFAULT_CONTAINER_STARTUP_CONCURRENCY = "1";
+    private static final String DEFAULT_CONTAINER_STARTUP_REPORT_ENABLED = "true";
+    private static final String DEFAULT_CONTAINER_STARTUP_REPORT_PATH = "target/ctf-startup-report.json";
+    private static final String DEFAULT_CONTAINER_IMAGE_PULL_CONCURRENCY = "4";
+    private static final String DEFAULT_CONTAINER_READINESS_PROBES_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS = "250";
+    private static final String DEFAULT_CONTAINER_SNAPSHOT_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB = "2048";
+    private static final String DEFAULT_CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_POOL_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_POOL_SIZE = "2";
+    private static final String DEFAULT_CONTAINER_POOL_IDLE_EVICTION_MINUTES = "60";
+    private static final String DEFAULT_CONTAINER_TMPFS_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_TMPFS_SIZE_MB = "512";
+    private static final String DEFAULT_CONTAINER_CPUS = null;
+    private static final String DEFAULT_CONTAINER_CPUSETS = null;
+    private static final String DEFAULT_CONTAINER_MEMORY = null;
+    private static final String DEFAULT_CONTAINER_STATS_ENABLED = "false";
+    private static final String DEFAULT_CONTAINER_STATS_INTERVAL_MS = "1000";
+    private static final String DEFAULT_CONTAINER_STATS_PATH = "target/ctf-stats";
 
     // --- Service default configuration ---
     private static final String DEFAULT_SERVICE_NAME = "app";
     private static final String DEFAULT_SERVICE_INSTANCE_COUNT = "1";
+    private static final String DEFAULT_SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED = "false";
     private static final String DEFAULT_SERVICE_PORT = "8080";
     private static final String DEFAULT_SERVICE_DEBUG_PORT = "5001";
     private static final String DEFAULT_SERVICE_STARTUP_TIMEOUT_SECONDS = "180";
@@ -34,6 +62,14 @@ public final class TestcontainersConfiguration {
     private static final String DEFAULT_SERVICE_IMAGE_TAG = "latest";
     private static final String DEFAULT_SERVICE_CONTAINER_LOGGING_ENABLED = "false";
     private static final String DEFAULT_SERVICE_DEBUG_SUSPEND = "false";
+    private static final String DEFAULT_SERVICE_DEBUG_ENABLED = "false";
+    private static final String DEFAULT_SERVICE_HEAP_SIZE = "512m";
+    private static final String DEFAULT_SERVICE_FAST_START_MODE = "none";
+    private static final String DEFAULT_SERVICE_FAST_START_DIRECTORY = System.getProperty("user.home") + "/.ctf/fast-start";
+    private static final String DEFAULT_SERVICE_JFR_ENABLED = "false";
+    private static final String DEFAULT_SERVICE_JFR_SETTINGS = "profile";
+    private static final String DEFAULT_SERVICE_JFR_PATH = "target/ctf-profiles";
+    private static final String DEFAULT_SERVICE_JFR_READ_TIMEOUT_SECONDS = "10";
     private static final String DEFAULT_SERVICE_APPLICATION_ARGS = null;
     private static final String DEFAULT_SERVICE_ENVVARS = null;
     private static final String DEFAULT_SERVICE_ADDITIONAL_FILESYSTEM_BINDS = null;
@@ -52,12 +88,18 @@ public final class TestcontainersConfiguration {
     private static final String DEFAULT_POSTGRES_PASSWORD = "password";
     private static final String DEFAULT_POSTGRES_SCHEMA_FILE_PATH = null;
     private static final String DEFAULT_POSTGRES_CONTAINER_LOGGING_ENABLED = "false";
+    private static final String DEFAULT_POSTGRES_TMPFS_ENABLED = "false";
+    private static final String DEFAULT_POSTGRES_PERFORMANCE_PROFILE = "default";
+    private static final String DEFAULT_POSTGRES_SHARED_BUFFERS = "256MB";
+    private static final String DEFAULT_POSTGRES_WORK_MEM = "16MB";
+    private static final String DEFAULT_POSTGRES_UNLOGGED_TABLES_ENABLED = "false";
 
     // --- MongoDB configuration ---
     private static final String DEFAULT_MONGODB_ENABLED = "false";
     private static final String DEFAULT_MONGODB_IMAGE_TAG = "7.0.2";
     private static final String DEFAULT_MONGODB_PORT = "27017";
     private static final String DEFAULT_MONGODB_CONTAINER_LOGGING_ENABLED = "false";
+    private static final String DEFAULT_MONGODB_TMPFS_ENABLED = "false";
 
     // --- MariaDB configuration ---
     private static final String DEFAULT_MARIADB_ENABLED = "false";
@@ -68,6 +110,9 @@ public final class TestcontainersConfiguration {
     private static final String DEFAULT_MARIADB_USERNAME = "user";
     private static final String DEFAULT_MARIADB_PASSWORD = "password";
     private static final String DEFAULT_MARIADB_CONTAINER_LOGGING_ENABLED = "false";
+    private static final String DEFAULT_MARIADB_TMPFS_ENABLED = "false";
+    private static final String DEFAULT_MARIADB_PERFORMANCE_PROFILE = "default";
+    private static final String DEFAULT_MARIADB_INNODB_BUFFER_POOL_SIZE = "256M";
 
     // --- Kafka configuration ---
     private static final String DEFAULT_KAFKA_ENABLED = "false";
@@ -77,11 +122,17 @@ public final class TestcontainersConfiguration {
     private static final int DEFAULT_KAFKA_NATIVE_PORT = 9092;
     private static final int DEFAULT_KAFKA_NATIVE_INTERNAL_PORT = 9093;
     private static final String DEFAULT_KAFKA_BROKER_COUNT = "1";
+    private static final String DEFAULT_KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED = "false";
     private static final String DEFAULT_KAFKA_CONFLUENT_IMAGE_TAG = "7.3.2";
     private static final String DEFAULT_KAFKA_APACHE_NATIVE_IMAGE_TAG = "3.8.0";
     private static final String DEFAULT_KAFKA_TOPICS = null;
     private static final String DEFAULT_KAFKA_TOPIC_PARTITION_COUNT = "1";
+    private static final String DEFAULT_KAFKA_TOPIC_SPECS = null;
     private static final String DEFAULT_KAFKA_CONTAINER_LOGGING_ENABLED = "false";
+    private static final String DEFAULT_KAFKA_TMPFS_ENABLED = "false";
+    private static final String DEFAULT_KAFKA_RECORDER_TOPICS = null;
+    private static final String DEFAULT_KAFKA_RECORDER_MAX_RECORDS = "100000";
+    private static final String DEFAULT_KAFKA_RECORDER_MAX_AGE_SECONDS = "600";
     private static final String DEFAULT_KAFKA_TOPIC_REPLICATION_FACTOR = "1";
     private static final String DEFAULT_KAFKA_MIN_INSYNC_REPLICAS = "1";
     private static final String DEFAULT_KAFKA_SASL_PLAIN_ENABLED = "false";
@@ -157,6 +208,7 @@ public final class TestcontainersConfiguration {
     private static final String DEFAULT_ELASTICSEARCH_CLUSTER_NAME = "elasticsearch";
     private static final String DEFAULT_ELASTICSEARCH_DISCOVERY_TYPE = "single-node";
     private static final String DEFAULT_ELASTICSEARCH_CONTAINER_LOGGING_ENABLED = "false";
+    private static final String DEFAULT_ELASTICSEARCH_TMPFS_ENABLED = "false";
     
     // --- Opensearch configuration ---
     private static final String DEFAULT_OPENSEARCH_ENABLED = "false";
@@ -186,13 +238,43 @@ public final class TestcontainersConfiguration {
     public static boolean CONTAINER_APPEND_GROUP_ID;
     public static String CONTAINER_NAME_PREFIX;
     public static String CONTAINER_MAIN_LABEL_NAME;
+    // The maximum number of containers to start at the same time.
+    public static int CONTAINER_STARTUP_CONCURRENCY;
+    public static boolean CONTAINER_STARTUP_REPORT_ENABLED;
+    public static String CONTAINER_STARTUP_REPORT_PATH;
+    public static int CONTAINER_IMAGE_PULL_CONCURRENCY;
+    public static boolean CONTAINER_READINESS_PROBES_ENABLED;
+    public static long CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS;
+    public static boolean CONTAINER_SNAPSHOT_ENABLED;
+    public static long CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB;
+    public static boolean CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED;
+    public static boolean CONTAINER_POOL_ENABLED;
+    public static int CONTAINER_POOL_SIZE;
+    public static long CONTAINER_POOL_IDLE_EVICTION_MINUTES;
+    public static boolean CONTAINER_TMPFS_ENABLED;
+    public static int CONTAINER_TMPFS_SIZE_MB;
+    public static Map<String, String> CONTAINER_CPUS;
+    public static Map<String, String> CONTAINER_CPUSETS;
+    public static Map<String, String> CONTAINER_MEMORY;
+    public static boolean CONTAINER_STATS_ENABLED;
+    public static long CONTAINER_STATS_INTERVAL_MS;
+    public static String CONTAINER_STATS_PATH;
 
     // --- Service configuration ---
     public static String SERVICE_NAME;
     public static int SERVICE_INSTANCE_COUNT;
+    public static boolean SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED;
     public static int SERVICE_PORT;
     public static int SERVICE_DEBUG_PORT;
     public static boolean SERVICE_DEBUG_SUSPEND;
+    public static boolean SERVICE_DEBUG_ENABLED;
+    public static String SERVICE_HEAP_SIZE;
+    public static String SERVICE_FAST_START_MODE;
+    public static String SERVICE_FAST_START_DIRECTORY;
+    public static boolean SERVICE_JFR_ENABLED;
+    public static String SERVICE_JFR_SETTINGS;
+    public static String SERVICE_JFR_PATH;
+    public static int SERVICE_JFR_READ_TIMEOUT_SECONDS;
     public static Map<String, String> SERVICE_ENV_VARS;
     public static Map<String, String> SERVICE_ADDITIONAL_FILESYSTEM_BINDS;
     public static String SERVICE_CONFIG_FILES_SYSTEM_PROPERTY;
@@ -218,12 +300,18 @@ public final class TestcontainersConfiguration {
     public static String POSTGRES_PASSWORD;
     public static String POSTGRES_SCHEMA_FILE_PATH;
     public static boolean POSTGRES_CONTAINER_LOGGING_ENABLED;
+    public static boolean POSTGRES_TMPFS_ENABLED;
+    public static String POSTGRES_PERFORMANCE_PROFILE;
+    public static String POSTGRES_SHARED_BUFFERS;
+    public static String POSTGRES_WORK_MEM;
+    public static boolean POSTGRES_UNLOGGED_TABLES_ENABLED;
 
     // --- MongoDB configuration ---
     public static boolean MONGODB_ENABLED;
     public static String MONGODB_IMAGE_TAG;
     public static Integer MONGODB_PORT;
     public static boolean MONGODB_CONTAINER_LOGGING_ENABLED;
+    public static boolean MONGODB_TMPFS_ENABLED;
 
     // --- MariaDB configuration ---
     public static boolean MARIADB_ENABLED;
@@ -234,11 +322,15 @@ public final class TestcontainersConfiguration {
     public static String MARIADB_USERNAME;
     public static String MARIADB_PASSWORD;
     public static boolean MARIADB_CONTAINER_LOGGING_ENABLED;
+    public static boolean MARIADB_TMPFS_ENABLED;
+    public static String MARIADB_PERFORMANCE_PROFILE;
+    public static String MARIADB_INNODB_BUFFER_POOL_SIZE;
 
     // --- Kafka configuration ---
     public static boolean KAFKA_ENABLED;
     public static boolean KAFKA_NATIVE_ENABLED;
     public static int KAFKA_BROKER_COUNT;
+    public static boolean KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED;
     public static String KAFKA_CONFLUENT_IMAGE_TAG;
     public static String KAFKA_APACHE_NATIVE_IMAGE_TAG;
     public static int KAFKA_PORT;
@@ -248,7 +340,12 @@ public final class TestcontainersConfiguration {
 
     public static List<String> KAFKA_TOPICS;
     public static int KAFKA_TOPIC_PARTITION_COUNT;
+    public static List<KafkaTopicSpec> KAFKA_TOPIC_SPECS;
     public static boolean KAFKA_CONTAINER_LOGGING_ENABLED;
+    public static boolean KAFKA_TMPFS_ENABLED;
+    public static List<String> KAFKA_RECORDER_TOPICS;
+    public static int KAFKA_RECORDER_MAX_RECORDS;
+    public static long KAFKA_RECORDER_MAX_AGE_SECONDS;
     public static int KAFKA_TOPIC_REPLICATION_FACTOR;
     public static int KAFKA_MIN_INSYNC_REPLICAS;
     public static boolean KAFKA_SASL_PLAIN_ENABLED;
@@ -324,6 +421,7 @@ public final class TestcontainersConfiguration {
     public static String ELASTICSEARCH_CLUSTER_NAME;
     public static String ELASTICSEARCH_DISCOVERY_TYPE;
     public static boolean ELASTICSEARCH_CONTAINER_LOGGING_ENABLED;
+    public static boolean ELASTICSEARCH_TMPFS_ENABLED;
 
     // --- Opensearch configuration ---
     public static boolean OPENSEARCH_ENABLED;
@@ -358,10 +456,31 @@ public final class TestcontainersConfiguration {
         CONTAINER_NAME_PREFIX = properties.getProperty("container.name.prefix", DEFAULT_CONTAINER_NAME_PREFIX);
         CONTAINER_MAIN_LABEL_NAME = properties.getProperty("container.main.label", DEFAULT_CONTAINER_MAIN_LABEL_NAME);
         CONTAINER_APPEND_GROUP_ID = Boolean.parseBoolean(properties.getProperty("container.append.group.id", DEFAULT_CONTAINER_APPEND_GROUP_ID));
+        CONTAINER_STARTUP_CONCURRENCY = Integer.parseInt(properties.getProperty("container.startup.concurrency", DEFAULT_CONTAINER_STARTUP_CONCURRENCY));
+        CONTAINER_STARTUP_REPORT_ENABLED = Boolean.parseBoolean(properties.getProperty("container.startup.report.enabled", DEFAULT_CONTAINER_STARTUP_REPORT_ENABLED));
+        CONTAINER_STARTUP_REPORT_PATH = properties.getProperty("container.startup.report.path", DEFAULT_CONTAINER_STARTUP_REPORT_PATH);
+        CONTAINER_IMAGE_PULL_CONCURRENCY = Integer.parseInt(properties.getProperty("container.image.pull.concurrency", DEFAULT_CONTAINER_IMAGE_PULL_CONCURRENCY));
+        CONTAINER_READINESS_PROBES_ENABLED = Boolean.parseBoolean(properties.getProperty("container.readiness.probes.enabled", DEFAULT_CONTAINER_READINESS_PROBES_ENABLED));
+        CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS = Long.parseLong(properties.getProperty("container.readiness.probe.max.interval.ms", DEFAULT_CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS));
+        CONTAINER_SNAPSHOT_ENABLED = Boolean.parseBoolean(properties.getProperty("container.snapshot.enabled", DEFAULT_CONTAINER_SNAPSHOT_ENABLED));
+        CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB = Long.parseLong(properties.getProperty("container.snapshot.cache.max.size.mb", DEFAULT_CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB));
+        CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED = Boolean.parseBoolean(properties.getProperty("container.observability.background.startup.enabled", DEFAULT_CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED));
+        CONTAINER_POOL_ENABLED = Boolean.parseBoolean(properties.getProperty("container.pool.enabled", DEFAULT_CONTAINER_POOL_ENABLED));
+        CONTAINER_POOL_SIZE = Integer.parseInt(properties.getProperty("container.pool.size", DEFAULT_CONTAINER_POOL_SIZE));
+        CONTAINER_POOL_IDLE_EVICTION_MINUTES = Long.parseLong(properties.getProperty("container.pool.idle.eviction.minutes", DEFAULT_CONTAINER_POOL_IDLE_EVICTION_MINUTES));
+        CONTAINER_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("container.tmpfs.enabled", DEFAULT_CONTAINER_TMPFS_ENABLED));
+        CONTAINER_TMPFS_SIZE_MB = Integer.parseInt(properties.getProperty("container.tmpfs.size.mb", DEFAULT_CONTAINER_TMPFS_SIZE_MB));
+        CONTAINER_CPUS = ConfigurationParser.parseKvPairs(properties.getProperty("container.cpus", DEFAULT_CONTAINER_CPUS));
+        CONTAINER_CPUSETS = ConfigurationParser.parseKvPairs(properties.getProperty("container.cpusets", DEFAULT_CONTAINER_CPUSETS));
+        CONTAINER_MEMORY = ConfigurationParser.parseKvPairs(properties.getProperty("container.memory", DEFAULT_CONTAINER_MEMORY));
+        CONTAINER_STATS_ENABLED = Boolean.parseBoolean(properties.getProperty("container.stats.enabled", DEFAULT_CONTAINER_STATS_ENABLED));
+        CONTAINER_STATS_INTERVAL_MS = Long.parseLong(properties.getProperty("container.stats.interval.ms", DEFAULT_CONTAINER_STATS_INTERVAL_MS));
+        CONTAINER_STATS_PATH = properties.getProperty("container.stats.path", DEFAULT_CONTAINER_STATS_PATH);
 
         // --- Service configuration ---
         SERVICE_NAME = properties.getProperty("service.name", DEFAULT_SERVICE_NAME).toLowerCase();
         SERVICE_INSTANCE_COUNT = Integer.parseInt(properties.getProperty("service.instance.count", DEFAULT_SERVICE_INSTANCE_COUNT));
+        SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED = Boolean.parseBoolean(properties.getProperty("service.instance.concurrent.startup.enabled", DEFAULT_SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED));
         SERVICE_PORT = Integer.parseInt(properties.getProperty("service.port", DEFAULT_SERVICE_PORT));
         SERVICE_DEBUG_PORT = Integer.parseInt(properties.getProperty("service.debug.port", DEFAULT_SERVICE_DEBUG_PORT));
         SERVICE_STARTUP_TIMEOUT_SECONDS = Integer.parseInt(properties.getProperty("service.startup.timeout.seconds", DEFAULT_SERVICE_STARTUP_TIMEOUT_SECONDS));
@@ -372,6 +491,14 @@ public final class TestcontainersConfiguration {
         SERVICE_IMAGE_TAG = properties.getProperty("service.image.tag", DEFAULT_SERVICE_IMAGE_TAG);
         SERVICE_CONTAINER_LOGGING_ENABLED = Boolean.parseBoolean(properties.getProperty("service.container.logging.enabled", DEFAULT_SERVICE_CONTAINER_LOGGING_ENABLED));
         SERVICE_DEBUG_SUSPEND = Boolean.parseBoolean(properties.getProperty("service.debug.suspend", DEFAULT_SERVICE_DEBUG_SUSPEND));
+        SERVICE_DEBUG_ENABLED = Boolean.parseBoolean(properties.getProperty("service.debug.enabled", DEFAULT_SERVICE_DEBUG_ENABLED));
+        SERVICE_HEAP_SIZE = properties.getProperty("service.heap.size", DEFAULT_SERVICE_HEAP_SIZE);
+        SERVICE_FAST_START_MODE = properties.getProperty("service.fast.start.mode", DEFAULT_SERVICE_FAST_START_MODE);
+        SERVICE_FAST_START_DIRECTORY = properties.getProperty("service.fast.start.directory", DEFAULT_SERVICE_FAST_START_DIRECTORY);
+        SERVICE_JFR_ENABLED = Boolean.parseBoolean(properties.getProperty("service.jfr.enabled", DEFAULT_SERVICE_JFR_ENABLED));
+        SERVICE_JFR_SETTINGS = properties.getProperty("service.jfr.settings", DEFAULT_SERVICE_JFR_SETTINGS);
+        SERVICE_JFR_PATH = properties.getProperty("service.jfr.path", DEFAULT_SERVICE_JFR_PATH);
+        SERVICE_JFR_READ_TIMEOUT_SECONDS = Integer.parseInt(properties.getProperty("service.jfr.read.timeout.seconds", DEFAULT_SERVICE_JFR_READ_TIMEOUT_SECONDS));
         SERVICE_APPLICATION_ARGS = properties.getProperty("service.application.args", DEFAULT_SERVICE_APPLICATION_ARGS);
         SERVICE_ENV_VARS = ConfigurationParser.parseKvPairs(properties.getProperty("service.envvars", DEFAULT_SERVICE_ENVVARS));
         SERVICE_ADDITIONAL_FILESYSTEM_BINDS = ConfigurationParser.parseKvPairs(properties.getProperty("service.additional.filesystem.binds", DEFAULT_SERVICE_ADDITIONAL_FILESYSTEM_BINDS));
@@ -390,6 +517,11 @@ public final class TestcontainersConfiguration {
         POSTGRES_PASSWORD = properties.getProperty("postgres.password", DEFAULT_POSTGRES_PASSWORD);
         POSTGRES_SCHEMA_FILE_PATH = properties.getProperty("postgres.schema.file.path", DEFAULT_POSTGRES_SCHEMA_FILE_PATH);
         POSTGRES_CONTAINER_LOGGING_ENABLED = Boolean.parseBoolean(properties.getProperty("postgres.container.logging.enabled", DEFAULT_POSTGRES_CONTAINER_LOGGING_ENABLED));
+        POSTGRES_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("postgres.tmpfs.enabled", DEFAULT_POSTGRES_TMPFS_ENABLED));
+        POSTGRES_PERFORMANCE_PROFILE = properties.getProperty("postgres.performance.profile", DEFAULT_POSTGRES_PERFORMANCE_PROFILE);
+        POSTGRES_SHARED_BUFFERS = properties.getProperty("postgres.shared.buffers", DEFAULT_POSTGRES_SHARED_BUFFERS);
+        POSTGRES_WORK_MEM = properties.getProperty("postgres.work.mem", DEFAULT_POSTGRES_WORK_MEM);
+        POSTGRES_UNLOGGED_TABLES_ENABLED = Boolean.parseBoolean(properties.getProperty("postgres.unlogged.tables.enabled", DEFAULT_POSTGRES_UNLOGGED_TABLES_ENABLED));
 
         // --- MongoDB configuration ---
         MONGODB_ENABLED = Boolean.parseBoolean(properties.getProperty("mongodb.enabled", DEFAULT_MONGODB_ENABLED));
@@ -397,6 +529,7 @@ public final class TestcontainersConfiguration {
         // Port cannot be overridden in the MongoDB Testcontainer.
         MONGODB_PORT = Integer.parseInt(DEFAULT_MONGODB_PORT);
         MONGODB_CONTAINER_LOGGING_ENABLED = Boolean.parseBoolean(properties.getProperty("mongodb.container.logging.enabled",DEFAULT_MONGODB_CONTAINER_LOGGING_ENABLED));
+        MONGODB_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("mongodb.tmpfs.enabled", DEFAULT_MONGODB_TMPFS_ENABLED));
 
         // --- MariaDB configuration ---
         MARIADB_ENABLED = Boolean.parseBoolean(properties.getProperty("mariadb.enabled", DEFAULT_MARIADB_ENABLED));
@@ -407,6 +540,9 @@ public final class TestcontainersConfiguration {
         MARIADB_USERNAME = properties.getProperty("mariadb.username", DEFAULT_MARIADB_USERNAME);
         MARIADB_PASSWORD = properties.getProperty("mariadb.password", DEFAULT_MARIADB_PASSWORD);
         MARIADB_CONTAINER_LOGGING_ENABLED = Boolean.parseBoolean(properties.getProperty("mariadb.container.logging.enabled", DEFAULT_MARIADB_CONTAINER_LOGGING_ENABLED));
+        MARIADB_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("mariadb.tmpfs.enabled", DEFAULT_MARIADB_TMPFS_ENABLED));
+        MARIADB_PERFORMANCE_PROFILE = properties.getProperty("mariadb.performance.profile", DEFAULT_MARIADB_PERFORMANCE_PROFILE);
+        MARIADB_INNODB_BUFFER_POOL_SIZE = properties.getProperty("mariadb.innodb.buffer.pool.size", DEFAULT_MARIADB_INNODB_BUFFER_POOL_SIZE);
 
         // --- Kafka configuration ---
         KAFKA_ENABLED = Boolean.valueOf(properties.getProperty("kafka.enabled", DEFAULT_KAFKA_ENABLED));
@@ -419,11 +555,17 @@ public final class TestcontainersConfiguration {
         KAFKA_NATIVE_PORT = DEFAULT_KAFKA_NATIVE_PORT;
         KAFKA_NATIVE_INTERNAL_PORT = DEFAULT_KAFKA_NATIVE_INTERNAL_PORT;
         KAFKA_BROKER_COUNT = Integer.parseInt(properties.getProperty("kafka.broker.count", DEFAULT_KAFKA_BROKER_COUNT));
+        KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED = Boolean.valueOf(properties.getProperty("kafka.broker.concurrent.startup.enabled", DEFAULT_KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED));
         KAFKA_CONFLUENT_IMAGE_TAG = properties.getProperty("kafka.confluent.image.tag", DEFAULT_KAFKA_CONFLUENT_IMAGE_TAG);
         KAFKA_APACHE_NATIVE_IMAGE_TAG = properties.getProperty("kafka.apache.native.image.tag", DEFAULT_KAFKA_APACHE_NATIVE_IMAGE_TAG);
         KAFKA_TOPICS = ConfigurationParser.parseKafkaTopics(properties.getProperty("kafka.topics", DEFAULT_KAFKA_TOPICS));
         KAFKA_TOPIC_PARTITION_COUNT = Integer.parseInt(properties.getProperty("kafka.topic.partition.count", DEFAULT_KAFKA_TOPIC_PARTITION_COUNT));
+        KAFKA_TOPIC_SPECS = ConfigurationParser.parseKafkaTopicSpecs(properties.getProperty("kafka.topic.specs", DEFAULT_KAFKA_TOPIC_SPECS));
         KAFKA_CONTAINER_LOGGING_ENABLED = Boolean.valueOf(properties.getProperty("kafka.container.logging.enabled", DEFAULT_KAFKA_CONTAINER_LOGGING_ENABLED));
+        KAFKA_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("kafka.tmpfs.enabled", DEFAULT_KAFKA_TMPFS_ENABLED));
+        KAFKA_RECORDER_TOPICS = ConfigurationParser.parseKafkaTopics(properties.getProperty("kafka.recorder.topics", DEFAULT_KAFKA_RECORDER_TOPICS));
+        KAFKA_RECORDER_MAX_RECORDS = Integer.parseInt(properties.getProperty("kafka.recorder.max.records", DEFAULT_KAFKA_RECORDER_MAX_RECORDS));
+        KAFKA_RECORDER_MAX_AGE_SECONDS = Long.parseLong(properties.getProperty("kafka.recorder.max.age.seconds", DEFAULT_KAFKA_RECORDER_MAX_AGE_SECONDS));
         KAFKA_TOPIC_REPLICATION_FACTOR = Integer.parseInt(properties.getProperty("kafka.topic.replication.factor", DEFAULT_KAFKA_TOPIC_REPLICATION_FACTOR));
         KAFKA_MIN_INSYNC_REPLICAS = Integer.parseInt(properties.getProperty("kafka.min.insync.replicas", DEFAULT_KAFKA_MIN_INSYNC_REPLICAS));
         KAFKA_SASL_PLAIN_ENABLED = Boolean.valueOf(properties.getProperty("kafka.sasl.plain.enabled", DEFAULT_KAFKA_SASL_PLAIN_ENABLED));
@@ -502,6 +644,7 @@ public final class TestcontainersConfiguration {
         ELASTICSEARCH_CLUSTER_NAME = properties.getProperty("elasticsearch.cluster.name", DEFAULT_ELASTICSEARCH_CLUSTER_NAME);
         ELASTICSEARCH_DISCOVERY_TYPE = properties.getProperty("elasticsearch.discovery.type", DEFAULT_ELASTICSEARCH_DISCOVERY_TYPE);
         ELASTICSEARCH_CONTAINER_LOGGING_ENABLED = Boolean.valueOf(properties.getProperty("elasticsearch.container.logging.enabled", DEFAULT_ELASTICSEARCH_CONTAINER_LOGGING_ENABLED));
+        ELASTICSEARCH_TMPFS_ENABLED = Boolean.parseBoolean(properties.getProperty("elasticsearch.tmpfs.enabled", DEFAULT_ELASTICSEARCH_TMPFS_ENABLED));
 
         // --- Opensearch configuration ---
         OPENSEARCH_ENABLED = Boolean.valueOf(properties.getProperty("opensearch.enabled", DEFAULT_OPENSEARCH_ENABLED));
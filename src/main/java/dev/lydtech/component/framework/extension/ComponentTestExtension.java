@@ -1,10 +1,17 @@
 package dev.lydtech.component.framework.extension;
 
+import dev.lydtech.component.framework.client.kafka.KafkaTopicRecorder;
+import dev.lydtech.component.framework.management.ContainerStatsSampler;
 import dev.lydtech.component.framework.management.TestcontainersManager;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_STATS_ENABLED;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_RECORDER_TOPICS;
+
 /**
  * Junit5 Extension class to instantiate the component-test-framework.
  *
@@ -15,7 +22,7 @@ import org.junit.jupiter.api.extension.ExtensionContext;
  * public class EndToEndCT {
  */
 @Slf4j
-public final class ComponentTestExtension implements BeforeAllCallback {
+public final class ComponentTestExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
 
     // Use a static boolean to track whether the containers are started so multiple test classes each with this extension
     // only perform one startup.
@@ -26,8 +33,28 @@ public final class ComponentTestExtension implements BeforeAllCallback {
         log.info("Component test framework extension started.");
         if (!started) {
             TestcontainersManager.initialise();
+            if (!KAFKA_RECORDER_TOPICS.isEmpty()) {
+                KafkaTopicRecorder.getInstance();
+            }
             started = true;
         }
         log.info("Test containers setup extension completed.");
     }
+
+    /**
+     * Mark the test boundaries for the container usage of each test, if container stats are enabled.
+     */
+    @Override
+    public void beforeEach(ExtensionContext extensionContext) {
+        if (CONTAINER_STATS_ENABLED) {
+            ContainerStatsSampler.getInstance().startTest(extensionContext.getUniqueId(), extensionContext.getRequiredTestClass().getSimpleName() + "." + extensionContext.getRequiredTestMethod().getName());
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        if (CONTAINER_STATS_ENABLED) {
+            ContainerStatsSampler.getInstance().endTest(extensionContext.getUniqueId());
+        }
+    }
 }
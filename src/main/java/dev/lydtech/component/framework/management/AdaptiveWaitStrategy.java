@@ -0,0 +1,83 @@
+package dev.lydtech.component.framework.management;
+
+import java.time.Duration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.AbstractWaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * Waits for a container to be ready by repeatedly running a resource specific probe, such as a JDBC query or a Kafka
+ * describe cluster request.
+ *
+ * The probe is polled aggressively at first and the interval then backs off exponentially up to the maximum, so that
+ * readiness is detected within milliseconds of the resource becoming usable without flooding a slow starting container
+ * with requests.
+ */
+@Slf4j
+final class AdaptiveWaitStrategy extends AbstractWaitStrategy {
+
+    static final long INITIAL_INTERVAL_MILLIS = 5;
+
+    /**
+     * A check of whether the resource in the container is ready to use.  An exception is treated as not ready.
+     */
+    interface Probe extends AutoCloseable {
+        boolean isReady(WaitStrategyTarget target) throws Exception;
+
+        @Override
+        default void close() {}
+    }
+
+    // The running state is checked through the Docker API, so only check it every few failed probes.
+    private static final int RUNNING_CHECK_FREQUENCY = 10;
+
+    private final String description;
+    private final Probe probe;
+    private final long maxIntervalMillis;
+
+    AdaptiveWaitStrategy(String description, Probe probe, long maxIntervalMillis, Duration startupTimeout) {
+        this.description = description;
+        this.probe = probe;
+        this.maxIntervalMillis = Math.max(INITIAL_INTERVAL_MILLIS, maxIntervalMillis);
+        withStartupTimeout(startupTimeout);
+    }
+
+    @Override
+    protected void waitUntilReady() {
+        long startTime = System.currentTimeMillis();
+        long deadline = startTime + startupTimeout.toMillis();
+        long interval = INITIAL_INTERVAL_MILLIS;
+        int attempts = 0;
+        Exception lastException = null;
+        try {
+            while (true) {
+                attempts++;
+                try {
+                    if(probe.isReady(waitStrategyTarget)) {
+                        log.debug("{} ready after {} attempts in {}ms", description, attempts, System.currentTimeMillis() - startTime);
+                        return;
+                    }
+                } catch (Exception e) {
+                    lastException = e;
+                }
+                if(attempts % RUNNING_CHECK_FREQUENCY == 0 && !waitStrategyTarget.isRunning()) {
+                    throw new ContainerLaunchException("Container stopped whilst waiting for " + description + " to be ready");
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if(remaining <= 0) {
+                    throw new ContainerLaunchException("Timed out waiting for " + description + " to be ready after " + attempts + " attempts"
+                            + (lastException != null ? " - last error: " + lastException.getMessage() : ""), lastException);
+                }
+                Thread.sleep(Math.min(interval, remaining));
+                interval = Math.min(interval * 2, maxIntervalMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContainerLaunchException("Interrupted waiting for " + description + " to be ready", e);
+        } finally {
+            probe.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.dockerjava.api.model.Bind;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * A fingerprint of a container's resolved configuration, applied to the container as a label.
+ *
+ * When containers are left up between test runs, the next run compares the fingerprint of each container it would
+ * create with those of the running containers.  A running container with a matching fingerprint is reused as is,
+ * whilst one whose configuration has changed is recreated.
+ *
+ * The fingerprint covers the image, labels, environment, command, ports, network aliases, tmpfs mounts, and the files
+ * bound or copied into the container, including their contents.  Configuration applied after the container has
+ * started, such as the Kafka topics or the Postgres schema, is included by labelling the container with it, as is the
+ * environment a container only adds as it starts, such as the database name and credentials of a database container.
+ */
+final class ContainerFingerprint {
+
+    static final String FINGERPRINT_LABEL_KEY = "dev.lydtech.ctf.fingerprint";
+    static final String IMAGE_LABEL_KEY = "dev.lydtech.ctf.image";
+    static final String CONFIGURATION_LABEL_KEY = "dev.lydtech.ctf.configuration";
+
+    private ContainerFingerprint() {}
+
+    /**
+     * The fingerprint is calculated from the container definition only, so does not call Docker.
+     */
+    static String of(GenericContainer<?> container) {
+        List<String> parts = new ArrayList<>();
+        Map<String, String> labels = new TreeMap<>(container.getLabels());
+        labels.remove(FINGERPRINT_LABEL_KEY);
+        parts.add(labels.toString());
+        parts.add(new TreeMap<>(container.getEnvMap()).toString());
+        parts.add(Arrays.toString(container.getCommandParts()));
+        parts.add(container.getExposedPorts().toString());
+        parts.add(container.getPortBindings().toString());
+        parts.add(container.getNetworkAliases().toString());
+        parts.add(container.getTmpFsMapping() == null ? "" : new TreeMap<>(container.getTmpFsMapping()).toString());
+        for (Bind bind : container.getBinds()) {
+            parts.add(bind.toString());
+            parts.add(hashFile(Paths.get(bind.getPath())));
+        }
+        for (Map.Entry<MountableFile, String> copy : container.getCopyToFileContainerPathMap().entrySet()) {
+            parts.add(copy.getValue() + ":" + copy.getKey().getFileMode());
+            parts.add(hashFile(Paths.get(copy.getKey().getResolvedPath())));
+        }
+        return ContainerSnapshots.hash(parts.toArray(new String[0]));
+    }
+
+    /**
+     * Label the database container with its database name and credentials, along with any further configuration,
+     * such as the schema.  The container only adds these to its environment as it starts, so they are not otherwise
+     * in the fingerprint, and a change to them would reuse a database created with the old credentials.
+     */
+    static <T extends JdbcDatabaseContainer<?>> T withDatabaseConfiguration(T container, String... configuration) {
+        List<String> parts = new ArrayList<>(List.of(container.getDatabaseName(), container.getUsername(), container.getPassword()));
+        parts.addAll(Arrays.asList(configuration));
+        container.withLabel(CONFIGURATION_LABEL_KEY, ContainerSnapshots.hash(parts.toArray(new String[0])));
+        return container;
+    }
+
+    /**
+     * Directories are not hashed, as their contents are typically written to by the container.
+     */
+    private static String hashFile(Path path) {
+        try {
+            return Files.isRegularFile(path) ? ContainerSnapshots.hash(new String(Files.readAllBytes(path), StandardCharsets.ISO_8859_1)) : "";
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read file for container fingerprint: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.model.Image;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Pulls the images for the configured resources concurrently, ahead of the component tests.
+ *
+ * Run as a main class with the same configuration as the component tests (e.g. with the component-test.properties on
+ * the classpath), or call TestcontainersManager.pullImages().
+ *
+ * The images are resolved via Testcontainers, so any configured image name substitution is applied, and an image that
+ * is already present locally is not pulled again.  The digest of each image is logged so it can be compared across
+ * CI runs.
+ *
+ * Whether an image is present is checked by its tag, without querying the registry.  So if a tag such as latest has
+ * since moved to a new image in the registry, the image present locally is used and is not refreshed.  To pick up a
+ * moved tag, remove the local image, or reference the image by its digest.
+ */
+@Slf4j
+public final class ContainerImagePuller {
+
+    private static final String DOCKER_HUB_PREFIX = "docker.io/";
+    private static final String DOCKER_HUB_LIBRARY_PREFIX = "library/";
+
+    public static void main(String[] args) {
+        TestcontainersManager.pullImages();
+    }
+
+    /**
+     * Resolve each container's image, pulling it if it is not present locally.
+     *
+     * @throws RuntimeException if any of the images could not be pulled, once all the pulls have completed.
+     */
+    static void pull(DockerClient dockerClient, List<GenericContainer> containers, int concurrency) {
+        if(concurrency < 1) {
+            throw new RuntimeException("Image pull concurrency must be at least 1 - concurrency: " + concurrency);
+        }
+        if(containers.isEmpty()) {
+            log.info("No resource images to pull.");
+            return;
+        }
+        Map<String, String> localImageDigests = getLocalImageDigests(dockerClient);
+        AtomicInteger completed = new AtomicInteger();
+        long startTime = System.currentTimeMillis();
+        log.info("Pulling {} images with concurrency {}", containers.size(), concurrency);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, containers.size()));
+        List<String> failures = new ArrayList<>();
+        try {
+            List<Future<?>> pulls = new ArrayList<>();
+            containers.forEach(container -> pulls.add(executor.submit(() -> {
+                long pullStartTime = System.currentTimeMillis();
+                String imageName = container.getDockerImageName();
+                String localDigest = localImageDigests.get(normalise(imageName));
+                if(localDigest != null) {
+                    log.info("Image {}/{} already present locally, skipped: {} ({})", completed.incrementAndGet(), containers.size(), imageName, localDigest);
+                } else {
+                    log.info("Image {}/{} pulled in {}ms: {} ({})", completed.incrementAndGet(), containers.size(), System.currentTimeMillis() - pullStartTime, imageName, getDigest(dockerClient, imageName));
+                }
+            })));
+            for (Future<?> pull : pulls) {
+                try {
+                    pull.get();
+                } catch (ExecutionException e) {
+                    log.error("Failed to pull image", e.getCause());
+                    failures.add(e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted pulling images", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if(!failures.isEmpty()) {
+            throw new RuntimeException("Failed to pull " + failures.size() + " of " + containers.size() + " images: " + failures);
+        }
+        log.info("Pulled {} images in {}ms", containers.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * The local images by tag, with their repository digest, or their image Id if they have not come from a registry.
+     */
+    private static Map<String, String> getLocalImageDigests(DockerClient dockerClient) {
+        Map<String, String> digests = new HashMap<>();
+        for (Image image : dockerClient.listImagesCmd().exec()) {
+            if(image.getRepoTags() == null) {
+                continue;
+            }
+            String digest = image.getRepoDigests() != null && image.getRepoDigests().length > 0 ? digestOf(image.getRepoDigests()[0]) : image.getId();
+            Arrays.stream(image.getRepoTags()).forEach(tag -> digests.put(normalise(tag), digest));
+        }
+        return digests;
+    }
+
+    private static String getDigest(DockerClient dockerClient, String imageName) {
+        InspectImageResponse image = dockerClient.inspectImageCmd(imageName).exec();
+        return image.getRepoDigests() != null && !image.getRepoDigests().isEmpty() ? digestOf(image.getRepoDigests().get(0)) : image.getId();
+    }
+
+    private static String digestOf(String repoDigest) {
+        return repoDigest.substring(repoDigest.indexOf('@') + 1);
+    }
+
+    /**
+     * Docker Hub images may be referenced with or without the registry and library prefixes, and any image without a
+     * tag or digest is the latest tag.  A colon before the last slash is the port of the registry host, not a tag.
+     */
+    static String normalise(String imageName) {
+        String name = imageName.startsWith(DOCKER_HUB_PREFIX) ? imageName.substring(DOCKER_HUB_PREFIX.length()) : imageName;
+        name = name.startsWith(DOCKER_HUB_LIBRARY_PREFIX) ? name.substring(DOCKER_HUB_LIBRARY_PREFIX.length()) : name;
+        return name.contains("@") || name.lastIndexOf(':') > name.lastIndexOf('/') ? name : name + ":latest";
+    }
+}
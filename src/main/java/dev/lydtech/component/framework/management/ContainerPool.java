@@ -0,0 +1,264 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A pool of container groups that are left up between test runs, so that concurrent test runs can each lease a group
+ * of already started containers rather than starting their own.
+ *
+ * Each slot in the pool is a group of containers with its own container group id.  A test run leases a slot by
+ * taking an exclusive lock on the slot's lock file, which it holds until the JVM exits, so a slot is released even if
+ * the test run is killed.  A single shutdown hook per lease records when the slot was released, unless the lease is
+ * released before then.  If every slot is leased, the test run waits for one to be released.
+ *
+ * The time each slot was last used is recorded alongside its lock file.  When a slot is leased, the containers of any
+ * other slot that has not been used within the idle eviction time are removed, as are those of slots beyond the pool
+ * size, so that an idle pool does not hold onto resources indefinitely.
+ */
+@Slf4j
+final class ContainerPool {
+
+    private static final Path POOL_DIRECTORY = Paths.get(System.getProperty("user.home"), ".ctf", "pool");
+    static final String GROUP_ID_PREFIX = "pool";
+    private static final Duration LEASE_TIMEOUT = Duration.ofMinutes(30);
+    private static final long LEASE_RETRY_MILLIS = 1000;
+    private static final long LEASE_WAITING_LOG_MILLIS = 30000;
+
+    private final DockerClient dockerClient;
+    private final String containerNamePrefix;
+    private final int size;
+    private final long idleEvictionMillis;
+    private final Path directory;
+
+    @Getter
+    static final class Lease {
+        private final int slot;
+        private final String groupId;
+        private final boolean previouslyUsed;
+        private final FileLock lock;
+        @Getter(AccessLevel.NONE)
+        private final Thread releaseHook;
+        @Getter(AccessLevel.NONE)
+        private boolean released;
+
+        private Lease(int slot, String groupId, boolean previouslyUsed, FileLock lock, Runnable release) {
+            this.slot = slot;
+            this.groupId = groupId;
+            this.previouslyUsed = previouslyUsed;
+            this.lock = lock;
+            this.releaseHook = new Thread(release, "ctf-container-pool-release-" + groupId);
+        }
+
+        /**
+         * Release the lease before the JVM exits, rather than on exit, and remove its shutdown hook.
+         */
+        synchronized void release() {
+            if(released) {
+                return;
+            }
+            released = true;
+            try {
+                Runtime.getRuntime().removeShutdownHook(releaseHook);
+            } catch (IllegalStateException e) {
+                // The JVM is already shutting down, so the hook is releasing the lease.
+                return;
+            }
+            releaseHook.run();
+        }
+    }
+
+    ContainerPool(DockerClient dockerClient, String containerNamePrefix, int size, long idleEvictionMinutes) {
+        this(dockerClient, containerNamePrefix, size, idleEvictionMinutes, POOL_DIRECTORY);
+    }
+
+    ContainerPool(DockerClient dockerClient, String containerNamePrefix, int size, long idleEvictionMinutes, Path directory) {
+        if(size < 1) {
+            throw new RuntimeException("container.pool.size: "+size+" - must be at least 1");
+        }
+        this.dockerClient = dockerClient;
+        this.containerNamePrefix = containerNamePrefix;
+        this.size = size;
+        this.idleEvictionMillis = Duration.ofMinutes(idleEvictionMinutes).toMillis();
+        this.directory = directory;
+    }
+
+    static String groupId(int slot) {
+        return GROUP_ID_PREFIX + (slot + 1);
+    }
+
+    /**
+     * Lease the first free slot, waiting for one to be released if they are all leased.  The lease is held until the
+     * JVM exits.
+     */
+    Lease lease() {
+        try {
+            Files.createDirectories(directory);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create the container pool directory " + directory + ": " + e.getMessage(), e);
+        }
+        long startTime = System.currentTimeMillis();
+        long lastLogTime = startTime;
+        while (true) {
+            for (int slot = 0; slot < size; slot++) {
+                Lease lease = tryLease(slot);
+                if(lease != null) {
+                    log.info("Leased container pool slot {} of {} (group id: {}, previously used: {}) after {}ms",
+                            slot + 1, size, lease.groupId, lease.previouslyUsed, System.currentTimeMillis() - startTime);
+                    evictIdleSlots(slot);
+                    return lease;
+                }
+            }
+            long now = System.currentTimeMillis();
+            if(now - startTime > LEASE_TIMEOUT.toMillis()) {
+                throw new RuntimeException("Timed out waiting to lease one of the " + size + " container pool slots");
+            }
+            if(now - lastLogTime > LEASE_WAITING_LOG_MILLIS) {
+                log.info("Waiting for one of the {} container pool slots to be released", size);
+                lastLogTime = now;
+            }
+            try {
+                Thread.sleep(LEASE_RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted waiting to lease a container pool slot", e);
+            }
+        }
+    }
+
+    /**
+     * @return the lease, or null if the slot is leased by another test run.
+     */
+    private Lease tryLease(int slot) {
+        FileLock lock = tryLock(slot);
+        if(lock == null) {
+            return null;
+        }
+        boolean previouslyUsed = Files.exists(lastUsedFile(slot));
+        recordUse(slot);
+        // The idle time runs from when the slot is released.
+        Lease lease = new Lease(slot, groupId(slot), previouslyUsed, lock, () -> {
+            recordUse(slot);
+            closeQuietly(lock.channel());
+        });
+        Runtime.getRuntime().addShutdownHook(lease.releaseHook);
+        return lease;
+    }
+
+    private FileLock tryLock(int slot) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(directory.resolve(containerNamePrefix + "-" + slot + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if(lock == null) {
+                channel.close();
+            }
+            return lock;
+        } catch (OverlappingFileLockException e) {
+            // Already leased by this JVM.
+            closeQuietly(channel);
+            return null;
+        } catch (Exception e) {
+            closeQuietly(channel);
+            throw new RuntimeException("Failed to lock container pool slot " + (slot + 1) + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Remove the containers of the slots, other than the one leased, that are not leased and have either been idle for
+     * longer than the idle eviction time or are beyond the pool size.
+     */
+    private void evictIdleSlots(int leasedSlot) {
+        for (int slot : usedSlots()) {
+            if(slot == leasedSlot) {
+                continue;
+            }
+            long idleMillis = System.currentTimeMillis() - lastUsed(slot);
+            if(slot < size && idleMillis <= idleEvictionMillis) {
+                continue;
+            }
+            FileLock lock = tryLock(slot);
+            if(lock == null) {
+                continue;
+            }
+            try {
+                String groupId = groupId(slot);
+                List<Container> containers = dockerClient.listContainersCmd().withShowAll(true).exec();
+                containers.stream()
+                        .filter(container -> Arrays.stream(container.getNames())
+                                .anyMatch(name -> name.startsWith("/" + containerNamePrefix + "-") && name.endsWith("-" + groupId)))
+                        .forEach(container -> {
+                            log.info("Evicting container {} from idle container pool slot {}", String.join(",", container.getNames()), slot + 1);
+                            dockerClient.removeContainerCmd(container.getId()).withForce(true).exec();
+                        });
+                Files.deleteIfExists(lastUsedFile(slot));
+            } catch (Exception e) {
+                log.warn("Failed to evict container pool slot {}: {}", slot + 1, e.getMessage());
+            } finally {
+                closeQuietly(lock.channel());
+            }
+        }
+    }
+
+    private List<Integer> usedSlots() {
+        String suffix = ".last-used";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(containerNamePrefix + "-") && name.endsWith(suffix))
+                    .map(name -> name.substring(containerNamePrefix.length() + 1, name.length() - suffix.length()))
+                    .filter(slot -> slot.matches("\\d+"))
+                    .map(Integer::parseInt)
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            log.warn("Failed to list the container pool slots: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private Path lastUsedFile(int slot) {
+        return directory.resolve(containerNamePrefix + "-" + slot + ".last-used");
+    }
+
+    private void recordUse(int slot) {
+        try {
+            Files.writeString(lastUsedFile(slot), String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to record the use of container pool slot {}: {}", slot + 1, e.getMessage());
+        }
+    }
+
+    private long lastUsed(int slot) {
+        try {
+            return Long.parseLong(Files.readString(lastUsedFile(slot)).trim());
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        try {
+            if(channel != null) {
+                channel.close();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to close container pool lock file", e);
+        }
+    }
+}
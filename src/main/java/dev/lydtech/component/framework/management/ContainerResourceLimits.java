@@ -0,0 +1,152 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.dockerjava.api.model.HostConfig;
+import lombok.Getter;
+import org.testcontainers.containers.GenericContainer;
+
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_CPUS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_CPUSETS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_MEMORY;
+
+/**
+ * The CPU quota, cpuset and memory limits for a resource's containers, configured with container.cpus,
+ * container.cpusets and container.memory keyed by the resource name, such as service, kafka or postgres, or the name
+ * of an additional container.
+ *
+ * Limiting the resources that compete for the same cores makes performance oriented component tests reproducible.
+ * Tests can read the limits to normalise their results, for example the throughput per core:
+ *
+ * double perCore = messagesPerSecond / ContainerResourceLimits.forResource("service").getEffectiveCpus();
+ */
+@Getter
+public final class ContainerResourceLimits {
+
+    static final String LIMITS_LABEL_KEY = "dev.lydtech.ctf.resource.limits";
+    private static final Pattern CPUSET_PATTERN = Pattern.compile("\\d+(-\\d+)?(,\\d+(-\\d+)?)*");
+    private static final Pattern MEMORY_PATTERN = Pattern.compile("(\\d+)([kmg]?)");
+
+    private final String resource;
+
+    /**
+     * The CPU quota, in CPUs, or null if not limited.
+     */
+    private final Double cpus;
+
+    /**
+     * The CPUs the containers are pinned to, such as 0-1 or 0,2, or null if not pinned.
+     */
+    private final String cpuset;
+
+    /**
+     * The memory limit in bytes, or null if not limited.
+     */
+    private final Long memoryBytes;
+
+    ContainerResourceLimits(String resource, String cpus, String cpuset, String memory) {
+        this.resource = resource;
+        this.cpus = cpus != null ? parseCpus(resource, cpus) : null;
+        // A comma separates the container.cpusets entries, so individual CPUs are separated with a colon.
+        this.cpuset = cpuset != null ? parseCpuset(resource, cpuset.replace(':', ',')) : null;
+        this.memoryBytes = memory != null ? parseMemory(resource, memory) : null;
+    }
+
+    /**
+     * The configured limits for the resource.
+     */
+    public static ContainerResourceLimits forResource(String resource) {
+        return new ContainerResourceLimits(resource, CONTAINER_CPUS.get(resource), CONTAINER_CPUSETS.get(resource), CONTAINER_MEMORY.get(resource));
+    }
+
+    public boolean isLimited() {
+        return cpus != null || cpuset != null || memoryBytes != null;
+    }
+
+    /**
+     * The number of CPUs available to each of the resource's containers: the lower of the CPU quota and the number of
+     * CPUs pinned to, or the number of host processors if neither is limited.
+     */
+    public double getEffectiveCpus() {
+        double effectiveCpus = cpuset != null ? countCpus(cpuset) : Runtime.getRuntime().availableProcessors();
+        return cpus != null ? Math.min(cpus, effectiveCpus) : effectiveCpus;
+    }
+
+    /**
+     * Apply the limits to the container's HostConfig when it is created.  The limits are also applied as a label, so
+     * that a change to them results in the container being recreated rather than reused.
+     */
+    void apply(GenericContainer<?> container) {
+        if(!isLimited()) {
+            return;
+        }
+        container.withLabel(LIMITS_LABEL_KEY, toString());
+        container.withCreateContainerCmdModifier(cmd -> {
+            HostConfig hostConfig = cmd.getHostConfig();
+            if(cpus != null) {
+                hostConfig.withNanoCPUs((long) (cpus * 1_000_000_000L));
+            }
+            if(cpuset != null) {
+                hostConfig.withCpusetCpus(cpuset);
+            }
+            if(memoryBytes != null) {
+                // Setting the swap limit to the memory limit disables swap, which would otherwise mask the limit.
+                hostConfig.withMemory(memoryBytes).withMemorySwap(memoryBytes);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        if(!isLimited()) {
+            return "unlimited";
+        }
+        return "cpus=" + (cpus != null ? cpus : "unlimited")
+                + ", cpuset=" + (cpuset != null ? cpuset : "all")
+                + ", memory=" + (memoryBytes != null ? (memoryBytes / (1024 * 1024)) + "MB" : "unlimited");
+    }
+
+    private static double parseCpus(String resource, String cpus) {
+        try {
+            double parsed = Double.parseDouble(cpus);
+            if(parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below.
+        }
+        throw new RuntimeException("container.cpus: "+resource+"="+cpus+" - must be a number of CPUs greater than 0, e.g. 1.5");
+    }
+
+    private static String parseCpuset(String resource, String cpuset) {
+        if(!CPUSET_PATTERN.matcher(cpuset).matches()) {
+            throw new RuntimeException("container.cpusets: "+resource+"="+cpuset+" - must be a CPU range or list, e.g. 0-1 or 0:2");
+        }
+        return cpuset;
+    }
+
+    private static long parseMemory(String resource, String memory) {
+        Matcher matcher = MEMORY_PATTERN.matcher(memory.toLowerCase(Locale.ROOT));
+        if(!matcher.matches()) {
+            throw new RuntimeException("container.memory: "+resource+"="+memory+" - must be a size in bytes, or with a k, m or g suffix, e.g. 512m");
+        }
+        long size = Long.parseLong(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "k": return size * 1024;
+            case "m": return size * 1024 * 1024;
+            case "g": return size * 1024 * 1024 * 1024;
+            default: return size;
+        }
+    }
+
+    private static int countCpus(String cpuset) {
+        int count = 0;
+        for (String range : cpuset.split(",")) {
+            String[] bounds = range.split("-");
+            count += bounds.length == 1 ? 1 : Integer.parseInt(bounds[1]) - Integer.parseInt(bounds[0]) + 1;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,193 @@
+package dev.lydtech.component.framework.management;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Image;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Warmed container snapshots.
+ *
+ * Once a resource container has started and been initialised (e.g. Postgres with its schema applied), its filesystem
+ * is committed to a local image tagged with a hash of the configuration that produced it.  Later runs with the same
+ * configuration create the container from the snapshot image and skip the initialisation.
+ *
+ * The snapshot images form a local cache bounded by size.  When a new snapshot takes the cache over the limit, the
+ * least recently used snapshots are removed.  As Docker does not record when an image was last used, the last use of
+ * each snapshot is tracked in a file in the user's home directory, shared between test runs.
+ */
+@Slf4j
+final class ContainerSnapshots {
+
+    static final String SNAPSHOT_REPOSITORY_PREFIX = "ctf-snapshot/";
+    static final String SNAPSHOT_LABEL_KEY = "dev.lydtech.ctf.snapshot";
+    private static final int HASH_LENGTH = 16;
+    private static final Path LAST_USED_FILE = Paths.get(System.getProperty("user.home"), ".ctf", "snapshot-cache.properties");
+
+    private final DockerClient dockerClient;
+    private final long maxCacheBytes;
+    private final Path lastUsedFile;
+
+    ContainerSnapshots(DockerClient dockerClient, long maxCacheBytes) {
+        this(dockerClient, maxCacheBytes, LAST_USED_FILE);
+    }
+
+    ContainerSnapshots(DockerClient dockerClient, long maxCacheBytes, Path lastUsedFile) {
+        this.dockerClient = dockerClient;
+        this.maxCacheBytes = maxCacheBytes;
+        this.lastUsedFile = lastUsedFile;
+    }
+
+    /**
+     * The snapshot image for the resource with the given configuration.  Any change to the configuration results in a
+     * different snapshot.
+     *
+     * @param configuration the image the resource is created from, the environment, and the contents of any init
+     *                      scripts.
+     */
+    static DockerImageName snapshotImage(String resource, String... configuration) {
+        return DockerImageName.parse(SNAPSHOT_REPOSITORY_PREFIX + resource).withTag(hash(configuration));
+    }
+
+    static String hash(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                // Separate the parts so that moving characters between them changes the hash.
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, HASH_LENGTH);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to hash snapshot configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Whether the snapshot image exists locally.  If it does, it is marked as used.
+     */
+    boolean exists(DockerImageName snapshotImage) {
+        try {
+            dockerClient.inspectImageCmd(snapshotImage.asCanonicalNameString()).exec();
+        } catch (NotFoundException e) {
+            return false;
+        }
+        recordUse(snapshotImage);
+        return true;
+    }
+
+    /**
+     * Commit the container's filesystem to the snapshot image.  The container is paused whilst it is committed so the
+     * snapshot is consistent.  Then evict the least recently used snapshots if the cache is over its size limit.
+     */
+    void commit(GenericContainer container, DockerImageName snapshotImage) {
+        long startTime = System.currentTimeMillis();
+        dockerClient.commitCmd(container.getContainerId())
+                .withRepository(snapshotImage.getUnversionedPart())
+                .withTag(snapshotImage.getVersionPart())
+                .withLabels(Collections.singletonMap(SNAPSHOT_LABEL_KEY, "true"))
+                .withPause(true)
+                .exec();
+        recordUse(snapshotImage);
+        log.info("Committed snapshot {} in {}ms", snapshotImage.asCanonicalNameString(), System.currentTimeMillis() - startTime);
+        evict();
+    }
+
+    /**
+     * Remove the least recently used snapshots until the cache is within its size limit.  The size of each image is as
+     * reported by Docker, so includes the layers it shares with its base image.  A snapshot in use by a container is
+     * not removed.
+     */
+    void evict() {
+        List<Image> snapshots = new ArrayList<>(dockerClient.listImagesCmd()
+                .withLabelFilter(Collections.singletonMap(SNAPSHOT_LABEL_KEY, "true"))
+                .exec());
+        long totalBytes = snapshots.stream().mapToLong(image -> image.getSize() != null ? image.getSize() : 0).sum();
+        if(totalBytes <= maxCacheBytes) {
+            return;
+        }
+        Properties lastUsed = readLastUsed();
+        snapshots.sort(Comparator.comparingLong(image -> lastUsed(lastUsed, image)));
+        for (Image snapshot : snapshots) {
+            if(totalBytes <= maxCacheBytes) {
+                break;
+            }
+            try {
+                dockerClient.removeImageCmd(snapshot.getId()).withForce(false).exec();
+                totalBytes -= snapshot.getSize() != null ? snapshot.getSize() : 0;
+                log.info("Evicted snapshot {} ({} bytes)", tags(snapshot), snapshot.getSize());
+            } catch (Exception e) {
+                log.info("Snapshot {} not evicted: {}", tags(snapshot), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Snapshots without a recorded use, such as those created before the file was removed, fall back to their creation
+     * time.
+     */
+    private long lastUsed(Properties lastUsed, Image image) {
+        return tags(image).stream()
+                .map(lastUsed::getProperty)
+                .filter(value -> value != null)
+                .mapToLong(Long::parseLong)
+                .max()
+                .orElse(image.getCreated() != null ? image.getCreated() * 1000 : 0);
+    }
+
+    private List<String> tags(Image image) {
+        return image.getRepoTags() != null ? Arrays.asList(image.getRepoTags()) : Collections.emptyList();
+    }
+
+    private void recordUse(DockerImageName snapshotImage) {
+        try {
+            Files.createDirectories(lastUsedFile.getParent());
+            try (FileChannel channel = FileChannel.open(lastUsedFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                Properties lastUsed = new Properties();
+                lastUsed.load(Channels.newInputStream(channel));
+                lastUsed.setProperty(snapshotImage.getUnversionedPart() + ":" + snapshotImage.getVersionPart(), String.valueOf(System.currentTimeMillis()));
+                channel.truncate(0);
+                channel.position(0);
+                OutputStream output = Channels.newOutputStream(channel);
+                lastUsed.store(output, "Component Test Framework snapshot last used times");
+                output.flush();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to record the use of snapshot {}: {}", snapshotImage, e.getMessage());
+        }
+    }
+
+    private Properties readLastUsed() {
+        Properties lastUsed = new Properties();
+        if(Files.exists(lastUsedFile)) {
+            try (InputStream input = Files.newInputStream(lastUsedFile)) {
+                lastUsed.load(input);
+            } catch (Exception e) {
+                log.warn("Failed to read the snapshot last used times: {}", e.getMessage());
+            }
+        }
+        return lastUsed;
+    }
+}
@@ -0,0 +1,176 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import dev.lydtech.component.framework.mapper.JsonMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long each startup node took, broken down by container lifecycle phase:
+ *
+ * - image: resolving the image, including pulling it if it is not present locally.
+ * - create: creating the container.
+ * - start: starting the container.
+ * - readiness: waiting for the container's wait strategy to pass.
+ * - any post-start hooks, such as creating the Kafka topics.
+ *
+ * The report is written as JSON and logged as a summary table, along with the critical path of nodes that gated the
+ * service starting.
+ */
+@Slf4j
+@Getter
+final class ContainerStartupReport {
+
+    static final String PHASE_IMAGE = "image";
+    static final String PHASE_CREATE = "create";
+    static final String PHASE_START = "start";
+    static final String PHASE_READINESS = "readiness";
+    private static final List<String> CONTAINER_PHASES = List.of(PHASE_IMAGE, PHASE_CREATE, PHASE_START, PHASE_READINESS);
+
+    @Getter
+    @AllArgsConstructor
+    static final class PhaseTiming {
+        private final String container;
+        private final String phase;
+        private final long millis;
+    }
+
+    @Getter
+    static final class NodeTiming {
+        private final String name;
+        private final List<String> dependencies;
+        private long startOffsetMillis;
+        private long endOffsetMillis;
+        private boolean failed;
+        private final List<PhaseTiming> phases = new ArrayList<>();
+
+        private NodeTiming(String name, List<String> dependencies) {
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+
+        public long getDurationMillis() {
+            return endOffsetMillis - startOffsetMillis;
+        }
+    }
+
+    private final long startTimeMillis = System.currentTimeMillis();
+    private long totalMillis;
+    private int concurrency;
+    private final Map<String, NodeTiming> nodes = new LinkedHashMap<>();
+    private List<String> criticalPath = Collections.emptyList();
+    private long criticalPathMillis;
+
+    synchronized void recordNodeAdded(String name, List<String> dependencies) {
+        nodes.put(name, new NodeTiming(name, dependencies));
+    }
+
+    synchronized boolean hasNode(String name) {
+        return nodes.containsKey(name);
+    }
+
+    synchronized void recordNodeStarting(String name) {
+        nodes.get(name).startOffsetMillis = System.currentTimeMillis() - startTimeMillis;
+    }
+
+    synchronized void recordNodeFinished(String name, boolean failed) {
+        NodeTiming node = nodes.get(name);
+        node.endOffsetMillis = System.currentTimeMillis() - startTimeMillis;
+        node.failed = failed;
+    }
+
+    synchronized void recordPhase(String node, String container, String phase, long millis) {
+        nodes.get(node).phases.add(new PhaseTiming(container, phase, Math.max(0, millis)));
+    }
+
+    synchronized void recordCompleted(int concurrency) {
+        this.concurrency = concurrency;
+        this.totalMillis = System.currentTimeMillis() - startTimeMillis;
+    }
+
+    /**
+     * Walk back from the latest finishing of the given target nodes, at each step following the dependency that
+     * finished last, as that is the one that gated the node starting.
+     */
+    synchronized List<String> calculateCriticalPath(Collection<String> targets) {
+        Optional<NodeTiming> target = targets.stream()
+                .map(nodes::get)
+                .filter(node -> node != null)
+                .max(Comparator.comparingLong(NodeTiming::getEndOffsetMillis));
+        LinkedList<String> path = new LinkedList<>();
+        NodeTiming current = target.orElse(null);
+        while (current != null) {
+            path.addFirst(current.name);
+            current = current.dependencies.stream()
+                    .map(nodes::get)
+                    .max(Comparator.comparingLong(NodeTiming::getEndOffsetMillis))
+                    .orElse(null);
+        }
+        criticalPath = path;
+        criticalPathMillis = path.isEmpty() ? 0 : nodes.get(path.getLast()).endOffsetMillis - nodes.get(path.getFirst()).startOffsetMillis;
+        return criticalPath;
+    }
+
+    public synchronized Collection<NodeTiming> getNodes() {
+        return new ArrayList<>(nodes.values());
+    }
+
+    synchronized void write(Path reportFile) {
+        try {
+            if(reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            Files.writeString(reportFile, JsonMapper.writeToJson(this));
+            log.info("Startup timing report written to: {}", reportFile.toAbsolutePath());
+        } catch (Exception e) {
+            log.warn("Failed to write startup timing report to: {}", reportFile, e);
+        }
+    }
+
+    synchronized void logSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Startup timings (total %dms, concurrency %d):%n", totalMillis, concurrency));
+        summary.append(String.format("  %-30s %8s %8s %8s %8s %8s %10s %8s%n",
+                "node", "offset", "duration", "image", "create", "start", "readiness", "hooks"));
+        for (NodeTiming node : nodes.values()) {
+            summary.append(String.format("  %-30s %8d %8d %8d %8d %8d %10d %8d%s%n",
+                    node.name,
+                    node.startOffsetMillis,
+                    node.getDurationMillis(),
+                    sumPhase(node, PHASE_IMAGE),
+                    sumPhase(node, PHASE_CREATE),
+                    sumPhase(node, PHASE_START),
+                    sumPhase(node, PHASE_READINESS),
+                    sumHooks(node),
+                    node.failed ? "  FAILED" : ""));
+        }
+        if(!criticalPath.isEmpty()) {
+            StringBuilder path = new StringBuilder();
+            criticalPath.forEach(name -> path.append(path.length() > 0 ? " -> " : "").append(name).append(" (").append(nodes.get(name).getDurationMillis()).append("ms)"));
+            summary.append(String.format("Critical path (%dms): %s", criticalPathMillis, path));
+        }
+        log.info(summary.toString());
+    }
+
+    private long sumPhase(NodeTiming node, String phase) {
+        return node.phases.stream().filter(timing -> timing.phase.equals(phase)).mapToLong(PhaseTiming::getMillis).sum();
+    }
+
+    private long sumHooks(NodeTiming node) {
+        return node.phases.stream()
+                .filter(timing -> !CONTAINER_PHASES.contains(timing.phase))
+                .mapToLong(PhaseTiming::getMillis).sum();
+    }
+}
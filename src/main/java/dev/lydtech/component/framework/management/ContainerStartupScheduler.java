@@ -0,0 +1,164 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Starts the component test resources according to an explicit dependency graph.
+ *
+ * Each node is started once all of the nodes it depends on have started.  Nodes that do not depend on each other are
+ * started concurrently on a bounded pool of threads, so the overall startup time is that of the critical path rather
+ * than the sum of every container's startup time.  With a concurrency of 1 the nodes are started one at a time in the
+ * order they were added.
+ *
+ * If any node fails to start, the in-flight starts are cancelled, no further nodes are started, and the failure is
+ * thrown.
+ */
+@Slf4j
+final class ContainerStartupScheduler {
+
+    @FunctionalInterface
+    interface StartupTask {
+        void start() throws Exception;
+    }
+
+    private static final class Node {
+        private final String name;
+        private final StartupTask task;
+        private final List<String> dependencies;
+        private final List<String> dependants = new ArrayList<>();
+
+        private Node(String name, StartupTask task, List<String> dependencies) {
+            this.name = name;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private final ContainerStartupReport report = new ContainerStartupReport();
+
+    /**
+     * Add a node to the graph.  Each dependency must already have been added, which also guarantees the graph has no
+     * cycles.
+     */
+    void addNode(String name, StartupTask task, String... dependencies) {
+        addNode(name, task, Arrays.asList(dependencies));
+    }
+
+    void addNode(String name, StartupTask task, List<String> dependencies) {
+        if(nodes.containsKey(name)) {
+            throw new RuntimeException("Startup node already added: " + name);
+        }
+        for (String dependency : dependencies) {
+            if(!nodes.containsKey(dependency)) {
+                throw new RuntimeException("Startup node " + name + " depends on unknown node: " + dependency);
+            }
+        }
+        Node node = new Node(name, task, new ArrayList<>(dependencies));
+        dependencies.forEach(dependency -> nodes.get(dependency).dependants.add(name));
+        nodes.put(name, node);
+        report.recordNodeAdded(name, node.dependencies);
+    }
+
+    /**
+     * The names of the nodes added so far, in the order they were added.
+     */
+    List<String> getNodeNames() {
+        return Collections.unmodifiableList(new ArrayList<>(nodes.keySet()));
+    }
+
+    /**
+     * The timings of the nodes, recorded as they start.  Each node's task may add its own phase timings.
+     */
+    ContainerStartupReport getReport() {
+        return report;
+    }
+
+    /**
+     * Start every node, blocking until all have started.
+     *
+     * @param concurrency the maximum number of nodes to start at the same time.
+     */
+    void start(int concurrency) throws Exception {
+        if(concurrency < 1) {
+            throw new RuntimeException("Startup concurrency must be at least 1 - concurrency: " + concurrency);
+        }
+        if(nodes.isEmpty()) {
+            return;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, nodes.size()), runnable -> {
+            Thread thread = new Thread(runnable, "ctf-startup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+        Map<String, Integer> outstandingDependencies = new HashMap<>();
+        Map<String, Future<String>> inFlight = new LinkedHashMap<>();
+        long startTime = System.currentTimeMillis();
+        try {
+            nodes.values().forEach(node -> outstandingDependencies.put(node.name, node.dependencies.size()));
+            nodes.values().stream()
+                    .filter(node -> node.dependencies.isEmpty())
+                    .forEach(node -> inFlight.put(node.name, submit(completionService, node)));
+
+            int startedCount = 0;
+            while (startedCount < nodes.size()) {
+                Future<String> completed = completionService.take();
+                String name;
+                try {
+                    name = completed.get();
+                } catch (ExecutionException e) {
+                    inFlight.values().forEach(future -> future.cancel(true));
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    throw cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+                }
+                inFlight.remove(name);
+                startedCount++;
+                // Submit newly unblocked dependants in the order the nodes were added.
+                for (String dependant : nodes.get(name).dependants) {
+                    if(outstandingDependencies.merge(dependant, -1, Integer::sum) == 0) {
+                        inFlight.put(dependant, submit(completionService, nodes.get(dependant)));
+                    }
+                }
+            }
+            log.info("Started {} startup nodes in {}ms with concurrency {}", nodes.size(), System.currentTimeMillis() - startTime, concurrency);
+        } finally {
+            executor.shutdownNow();
+            report.recordCompleted(concurrency);
+        }
+    }
+
+    private Future<String> submit(CompletionService<String> completionService, Node node) {
+        return completionService.submit(() -> {
+            long nodeStartTime = System.currentTimeMillis();
+            log.info("Starting {} (depends on: {})", node.name, node.dependencies);
+            report.recordNodeStarting(node.name);
+            try {
+                node.task.start();
+            } catch (Exception e) {
+                report.recordNodeFinished(node.name, true);
+                log.error("Failed to start {} after {}ms", node.name, System.currentTimeMillis() - nodeStartTime);
+                throw new RuntimeException(node.name + " failed to start: " + e.getMessage(), e);
+            }
+            report.recordNodeFinished(node.name, false);
+            log.info("Started {} in {}ms", node.name, System.currentTimeMillis() - nodeStartTime);
+            return node.name;
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.List;
+import java.util.Map;
+
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.MemoryStatsConfig;
+import com.github.dockerjava.api.model.StatisticNetworksConfig;
+import com.github.dockerjava.api.model.Statistics;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A sample of a container's resource usage.  The CPU, network and block IO values are cumulative since the container
+ * started, so the usage over a period is the difference between two samples.
+ */
+@Getter
+@AllArgsConstructor
+final class ContainerStatsSample {
+
+    static final String CSV_HEADER = "timestamp,cpu_nanos,memory_bytes,net_rx_bytes,net_tx_bytes,block_read_bytes,block_write_bytes";
+
+    private final long timestamp;
+    private final long cpuNanos;
+    private final long memoryBytes;
+    private final long networkRxBytes;
+    private final long networkTxBytes;
+    private final long blockReadBytes;
+    private final long blockWriteBytes;
+
+    static ContainerStatsSample of(long timestamp, Statistics statistics) {
+        long cpuNanos = 0;
+        if(statistics.getCpuStats() != null && statistics.getCpuStats().getCpuUsage() != null && statistics.getCpuStats().getCpuUsage().getTotalUsage() != null) {
+            cpuNanos = statistics.getCpuStats().getCpuUsage().getTotalUsage();
+        }
+        long networkRxBytes = 0;
+        long networkTxBytes = 0;
+        Map<String, StatisticNetworksConfig> networks = statistics.getNetworks();
+        if(networks != null) {
+            for (StatisticNetworksConfig network : networks.values()) {
+                networkRxBytes += valueOf(network.getRxBytes());
+                networkTxBytes += valueOf(network.getTxBytes());
+            }
+        }
+        long blockReadBytes = 0;
+        long blockWriteBytes = 0;
+        List<BlkioStatEntry> blockIo = statistics.getBlkioStats() != null ? statistics.getBlkioStats().getIoServiceBytesRecursive() : null;
+        if(blockIo != null) {
+            for (BlkioStatEntry entry : blockIo) {
+                if("read".equalsIgnoreCase(entry.getOp())) {
+                    blockReadBytes += valueOf(entry.getValue());
+                } else if("write".equalsIgnoreCase(entry.getOp())) {
+                    blockWriteBytes += valueOf(entry.getValue());
+                }
+            }
+        }
+        return new ContainerStatsSample(timestamp, cpuNanos, memoryBytes(statistics.getMemoryStats()), networkRxBytes, networkTxBytes, blockReadBytes, blockWriteBytes);
+    }
+
+    /**
+     * The resident memory where reported (cgroup v1), otherwise the memory usage.
+     */
+    private static long memoryBytes(MemoryStatsConfig memoryStats) {
+        if(memoryStats == null) {
+            return 0;
+        }
+        if(memoryStats.getStats() != null && memoryStats.getStats().getRss() != null && memoryStats.getStats().getRss() > 0) {
+            return memoryStats.getStats().getRss();
+        }
+        return valueOf(memoryStats.getUsage());
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0;
+    }
+
+    String toCsv() {
+        return timestamp + "," + cpuNanos + "," + memoryBytes + "," + networkRxBytes + "," + networkTxBytes + "," + blockReadBytes + "," + blockWriteBytes;
+    }
+}
@@ -0,0 +1,262 @@
+package dev.lydtech.component.framework.management;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Statistics;
+import lombok.extern.slf4j.Slf4j;
+
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_APPEND_GROUP_ID;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_GROUP_ID;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_NAME_PREFIX;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_STATS_ENABLED;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_STATS_INTERVAL_MS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_STATS_PATH;
+
+/**
+ * Samples the CPU, memory, network and block IO usage of the test run's containers in the background, when
+ * container.stats.enabled is true.
+ *
+ * The Docker stats of each container are streamed, and a sample is recorded every container.stats.interval.ms to a
+ * CSV file per container under container.stats.path.  The samples hold the cumulative counters as reported by
+ * Docker, so the usage over any period is the difference between two samples.
+ *
+ * The ComponentTestExtension marks the start and end of each test, and the usage of each container over the test,
+ * such as the CPU seconds and the peak memory, is logged and written to tests.csv.  A test can also read its usage so
+ * far with getTestUsage.
+ *
+ * The usage of each test is measured from the latest sample of each container when the test starts.  As the stats
+ * streams only deliver their first sample about a second after they are opened, a container without a sample when the
+ * test starts is measured from its first sample during the test, rather than charging the test with all the container
+ * has used since it started.  Each test is tracked by its unique id, so tests running in parallel are each measured
+ * over their own duration, although the usage of the containers they share is then counted in each of them.
+ */
+@Slf4j
+public final class ContainerStatsSampler {
+
+    static final String TESTS_FILE = "tests.csv";
+
+    private static ContainerStatsSampler instance;
+
+    private final Path path;
+    private final long intervalMillis;
+    private final List<Closeable> statsStreams = new ArrayList<>();
+    private final Map<String, ContainerStatsSample> latestSamples = new HashMap<>();
+    private final Map<String, Long> lastRecordedTimestamps = new HashMap<>();
+    private final Map<String, BufferedWriter> writers = new HashMap<>();
+    private final Map<String, TestUsage> tests = new HashMap<>();
+    // The test running on each thread, as JUnit runs a test and its callbacks on the same thread.
+    private final ThreadLocal<String> currentTestId = new ThreadLocal<>();
+
+    ContainerStatsSampler(Path path, long intervalMillis) {
+        this.path = path;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized static ContainerStatsSampler getInstance() {
+        if(instance == null) {
+            if(!CONTAINER_STATS_ENABLED) {
+                throw new RuntimeException("container.stats.enabled must be true to sample the container usage.");
+            }
+            instance = new ContainerStatsSampler(Paths.get(CONTAINER_STATS_PATH), CONTAINER_STATS_INTERVAL_MS);
+        }
+        return instance;
+    }
+
+    /**
+     * Stream the stats of the test run's containers, being those named with the container name prefix, and the group
+     * id if it is appended.
+     */
+    synchronized void start(DockerClient dockerClient) {
+        try {
+            Files.createDirectories(path);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create the container stats directory " + path + ": " + e.getMessage(), e);
+        }
+        for (Container container : dockerClient.listContainersCmd().exec()) {
+            Arrays.stream(container.getNames())
+                    .filter(name -> name.startsWith("/" + CONTAINER_NAME_PREFIX + "-") && (!CONTAINER_APPEND_GROUP_ID || name.endsWith("-" + CONTAINER_GROUP_ID)))
+                    .findFirst()
+                    .ifPresent(name -> {
+                        String containerName = name.substring(1);
+                        statsStreams.add(dockerClient.statsCmd(container.getId()).exec(new ResultCallback.Adapter<Statistics>() {
+                            @Override
+                            public void onNext(Statistics statistics) {
+                                record(containerName, ContainerStatsSample.of(System.currentTimeMillis(), statistics));
+                            }
+                        }));
+                    });
+        }
+        log.info("Sampling the usage of {} containers every {}ms to {}", statsStreams.size(), intervalMillis, path.toAbsolutePath());
+    }
+
+    /**
+     * Stop streaming the stats, and flush the samples recorded.
+     */
+    synchronized void stop() {
+        for (Closeable statsStream : statsStreams) {
+            try {
+                statsStream.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the container stats stream: {}", e.getMessage());
+            }
+        }
+        statsStreams.clear();
+        for (BufferedWriter writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Failed to close the container stats file: {}", e.getMessage());
+            }
+        }
+        writers.clear();
+    }
+
+    synchronized void record(String containerName, ContainerStatsSample sample) {
+        latestSamples.put(containerName, sample);
+        for (TestUsage test : tests.values()) {
+            test.startSamples.putIfAbsent(containerName, sample);
+            test.peakMemory.merge(containerName, sample.getMemoryBytes(), Math::max);
+        }
+        Long lastRecorded = lastRecordedTimestamps.get(containerName);
+        if(lastRecorded != null && sample.getTimestamp() - lastRecorded < intervalMillis) {
+            return;
+        }
+        lastRecordedTimestamps.put(containerName, sample.getTimestamp());
+        try {
+            BufferedWriter writer = writers.get(containerName);
+            if(writer == null) {
+                writer = Files.newBufferedWriter(path.resolve(containerName + ".csv"));
+                writer.write(ContainerStatsSample.CSV_HEADER);
+                writer.newLine();
+                writers.put(containerName, writer);
+            }
+            writer.write(sample.toCsv());
+            writer.newLine();
+        } catch (IOException e) {
+            log.warn("Failed to write the stats sample for {}: {}", containerName, e.getMessage());
+        }
+    }
+
+    /**
+     * Mark the start of a test, such as with the unique id of its extension context.  If the test with the id is
+     * already started, it is ended first.
+     */
+    public synchronized void startTest(String testId, String name) {
+        if(tests.containsKey(testId)) {
+            endTest(testId);
+        }
+        TestUsage test = new TestUsage(name, System.currentTimeMillis(), new HashMap<>(latestSamples));
+        test.startSamples.forEach((containerName, sample) -> test.peakMemory.put(containerName, sample.getMemoryBytes()));
+        tests.put(testId, test);
+        currentTestId.set(testId);
+    }
+
+    /**
+     * The usage of each container since the test running on this thread started.
+     */
+    public synchronized List<ContainerUsage> getTestUsage() {
+        String testId = currentTestId.get();
+        if(testId == null) {
+            throw new RuntimeException("No test has been started for the container stats.");
+        }
+        return getTestUsage(testId);
+    }
+
+    /**
+     * The usage of each container since the test started.
+     */
+    public synchronized List<ContainerUsage> getTestUsage(String testId) {
+        TestUsage test = tests.get(testId);
+        if(test == null) {
+            throw new RuntimeException("No test has been started for the container stats with id " + testId + ".");
+        }
+        List<ContainerUsage> usage = new ArrayList<>();
+        new TreeMap<>(test.startSamples).forEach((containerName, from) -> {
+            ContainerStatsSample latest = latestSamples.get(containerName);
+            usage.add(new ContainerUsage(containerName,
+                    System.currentTimeMillis() - test.startTime,
+                    nonNegative(latest.getCpuNanos() - from.getCpuNanos()) / 1_000_000_000.0,
+                    test.peakMemory.getOrDefault(containerName, latest.getMemoryBytes()),
+                    nonNegative(latest.getNetworkRxBytes() - from.getNetworkRxBytes()),
+                    nonNegative(latest.getNetworkTxBytes() - from.getNetworkTxBytes()),
+                    nonNegative(latest.getBlockReadBytes() - from.getBlockReadBytes()),
+                    nonNegative(latest.getBlockWriteBytes() - from.getBlockWriteBytes())));
+        });
+        return usage;
+    }
+
+    /**
+     * Mark the end of the test, logging the usage of each container over the test and writing it to tests.csv.
+     */
+    public synchronized List<ContainerUsage> endTest(String testId) {
+        if(!tests.containsKey(testId)) {
+            // The test has already been ended.
+            return new ArrayList<>();
+        }
+        String testName = tests.get(testId).name;
+        List<ContainerUsage> usage = getTestUsage(testId);
+        StringBuilder summary = new StringBuilder();
+        StringBuilder csv = new StringBuilder();
+        usage.forEach(containerUsage -> {
+            summary.append(System.lineSeparator()).append("  ").append(containerUsage);
+            csv.append(containerUsage.toCsv(testName)).append(System.lineSeparator());
+        });
+        log.info("Container usage for {}:{}", testName, summary);
+        try {
+            Path testsFile = path.resolve(TESTS_FILE);
+            if(!Files.exists(testsFile)) {
+                Files.writeString(testsFile, ContainerUsage.CSV_HEADER + System.lineSeparator());
+            }
+            Files.writeString(testsFile, csv, StandardOpenOption.APPEND);
+            for (BufferedWriter writer : writers.values()) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write the container usage for {}: {}", testName, e.getMessage());
+        }
+        tests.remove(testId);
+        if(testId.equals(currentTestId.get())) {
+            currentTestId.remove();
+        }
+        return usage;
+    }
+
+    /**
+     * A counter is reset if its container restarts.
+     */
+    private static long nonNegative(long delta) {
+        return Math.max(delta, 0);
+    }
+
+    /**
+     * The samples the usage of a test is measured from, and the peak memory of each container during the test.
+     */
+    private static final class TestUsage {
+
+        private final String name;
+        private final long startTime;
+        private final Map<String, ContainerStatsSample> startSamples;
+        private final Map<String, Long> peakMemory = new HashMap<>();
+
+        private TestUsage(String name, long startTime, Map<String, ContainerStatsSample> startSamples) {
+            this.name = name;
+            this.startTime = startTime;
+            this.startSamples = startSamples;
+        }
+    }
+}
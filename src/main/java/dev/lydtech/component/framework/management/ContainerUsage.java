@@ -0,0 +1,36 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Locale;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A container's resource usage over a test.
+ */
+@Getter
+@AllArgsConstructor
+public class ContainerUsage {
+
+    static final String CSV_HEADER = "test,container,duration_ms,cpu_seconds,peak_memory_bytes,net_rx_bytes,net_tx_bytes,block_read_bytes,block_write_bytes";
+
+    private final String container;
+    private final long durationMillis;
+    private final double cpuSeconds;
+    private final long peakMemoryBytes;
+    private final long networkRxBytes;
+    private final long networkTxBytes;
+    private final long blockReadBytes;
+    private final long blockWriteBytes;
+
+    String toCsv(String test) {
+        return test + "," + container + "," + durationMillis + "," + String.format(Locale.ROOT, "%.3f", cpuSeconds) + "," + peakMemoryBytes + ","
+                + networkRxBytes + "," + networkTxBytes + "," + blockReadBytes + "," + blockWriteBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.3f CPU seconds, %dMB peak memory, %dKB network in, %dKB network out, %dKB block read, %dKB block written",
+                container, cpuSeconds, peakMemoryBytes / (1024 * 1024), networkRxBytes / 1024, networkTxBytes / 1024, blockReadBytes / 1024, blockWriteBytes / 1024);
+    }
+}
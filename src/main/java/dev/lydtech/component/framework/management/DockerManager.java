@@ -3,8 +3,10 @@ package dev.lydtech.component.framework.management;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.github.dockerjava.api.DockerClient;
@@ -20,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.testcontainers.DockerClientFactory;
 
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.ADDITIONAL_CONTAINERS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONDUKTOR_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONDUKTOR_GATEWAY_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONDUKTOR_GATEWAY_HTTP_PORT;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_APPEND_GROUP_ID;
@@ -27,10 +30,14 @@ import static dev.lydtech.component.framework.configuration.TestcontainersConfig
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_MAIN_LABEL_NAME;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_MAIN_LABEL_KEY;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_NAME_PREFIX;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.CONTAINER_POOL_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.DEBEZIUM_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.DEBEZIUM_PORT;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.ELASTICSEARCH_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.ELASTICSEARCH_PORT;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_CONTROL_CENTER_ENABLED;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_CONTROL_CENTER_PORT;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_NATIVE_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.KAFKA_NATIVE_PORT;
@@ -50,10 +57,12 @@ import static dev.lydtech.component.framework.configuration.TestcontainersConfig
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.SERVICE_PORT;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.WIREMOCK_ENABLED;
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.WIREMOCK_PORT;
+import static dev.lydtech.component.framework.resource.Resource.CONDUKTOR;
 import static dev.lydtech.component.framework.resource.Resource.CONDUKTORGATEWAY;
 import static dev.lydtech.component.framework.resource.Resource.DEBEZIUM;
 import static dev.lydtech.component.framework.resource.Resource.ELASTICSEARCH;
 import static dev.lydtech.component.framework.resource.Resource.KAFKA;
+import static dev.lydtech.component.framework.resource.Resource.KAFKA_CONTROL_CENTER;
 import static dev.lydtech.component.framework.resource.Resource.KAFKA_SCHEMA_REGISTRY;
 import static dev.lydtech.component.framework.resource.Resource.LOCALSTACK;
 import static dev.lydtech.component.framework.resource.Resource.MONGODB;
@@ -67,6 +76,10 @@ import static java.util.Collections.singletonList;
 @Slf4j
 public final class DockerManager {
 
+    private static final int CONDUKTOR_CONTAINER_PORT = 8080;
+    // Pooled containers are named with the group id of their pool slot, and are left alone outside of the pool.
+    private static final Pattern POOL_CONTAINER_NAME = Pattern.compile(".*-" + ContainerPool.GROUP_ID_PREFIX + "\\d+$");
+
     public static DockerClient getDockerClient() {
         log.info("Check if services are running");
         DockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
@@ -80,32 +93,27 @@ public final class DockerManager {
     }
 
     /**
-     * Skip Testcontainers setup if:
-     *
-     * - Main container is running (it has the expected prefix and label) AND
-     * - Testcontainers container is not running.
+     * Find the containers left up by a previous test run, which can be reused if their configuration still matches.
+     * These are the containers with the container name prefix, provided Testcontainers is not running, as otherwise
+     * they belong to a test run that is in progress.
      *
-     * If the system parameter container.append.group.id is true, then Testcontainers set up is always performed, as
-     * that property is used to enable a group of containers to be run concurrently for multiple component test runs
-     * (and the group of container names include a unique id to identify the group).
+     * If the system parameter container.append.group.id is true then none are returned, as each test run then has its
+     * own group of containers.  The exception is when the group has been leased from the container pool, in which case
+     * the containers of that group are returned, regardless of whether Testcontainers is running for other groups.
      */
-    public static boolean shouldPerformSetup(DockerClient dockerClient) {
-        if(CONTAINER_APPEND_GROUP_ID) return true;
+    public static List<Container> findContainersLeftUp(DockerClient dockerClient) {
+        if(CONTAINER_APPEND_GROUP_ID && !CONTAINER_POOL_ENABLED) return Collections.emptyList();
 
         List<Container> containers = dockerClient.listContainersCmd().exec();
-        boolean mainContainerPresent = containers.stream()
-                    .filter(container -> Arrays.stream(container.getNames()).anyMatch(name -> name.startsWith("/" + CONTAINER_NAME_PREFIX + "-")))
-                    .anyMatch(container -> container.getLabels()
-                            .entrySet()
-                            .stream()
-                            .anyMatch(entry ->
-                                    entry.getKey().equals(CONTAINER_MAIN_LABEL_KEY) && entry.getValue().equals(CONTAINER_MAIN_LABEL_NAME)
-                            ));
+        List<Container> containersLeftUp = containers.stream()
+                .filter(container -> Arrays.stream(container.getNames()).anyMatch(name -> name.startsWith("/" + CONTAINER_NAME_PREFIX + "-")
+                        && (CONTAINER_POOL_ENABLED ? name.endsWith("-" + CONTAINER_GROUP_ID) : !POOL_CONTAINER_NAME.matcher(name).matches())))
+                .collect(Collectors.toList());
         boolean testContainersPresent = containers.stream().anyMatch(container -> Arrays.stream(container.getNames()).anyMatch(name -> name.startsWith("/testcontainers-ryuk")));
 
-        log.info("Current container status: main service with prefix ({}) and label ({}) running: {}, testcontainers running: {}",  CONTAINER_NAME_PREFIX, CONTAINER_MAIN_LABEL_NAME, mainContainerPresent, testContainersPresent);
+        log.info("Current container status: containers with prefix ({}) running: {}, testcontainers running: {}",  CONTAINER_NAME_PREFIX, containersLeftUp.size(), testContainersPresent);
 
-        return !(mainContainerPresent && !testContainersPresent);
+        return testContainersPresent && !CONTAINER_POOL_ENABLED ? Collections.emptyList() : containersLeftUp;
     }
 
     public static void captureDockerContainerPorts(DockerClient dockerClient) {
@@ -139,12 +147,24 @@ public final class DockerManager {
         findContainerAndMapPort(dockerClient, CONDUKTORGATEWAY.toString(), CONDUKTOR_GATEWAY_ENABLED, CONDUKTOR_GATEWAY_HTTP_PORT);
         findContainerAndMapPort(dockerClient, ELASTICSEARCH.toString(), ELASTICSEARCH_ENABLED, ELASTICSEARCH_PORT);
         mapAdditionalContainersPorts(dockerClient);
+        // Containers started in the background may not be up yet, in which case their ports are captured once they are.
+        captureObservabilityContainerPorts(dockerClient, !CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED);
 
         captureHost();
 
         log.info("Docker host and ports captured.");
     }
 
+    /**
+     * Map the ports of the observability UIs, Control Center and Conduktor.
+     *
+     * @param required whether to throw an exception if an enabled container is not found.
+     */
+    public static void captureObservabilityContainerPorts(DockerClient dockerClient, boolean required) {
+        findContainerAndMapPort(dockerClient, KAFKA_CONTROL_CENTER.toString().replace("_", "."), required && KAFKA_CONTROL_CENTER_ENABLED, KAFKA_CONTROL_CENTER_PORT);
+        findContainerAndMapPort(dockerClient, CONDUKTOR.toString(), required && CONDUKTOR_ENABLED, CONDUKTOR_CONTAINER_PORT);
+    }
+
     private static void mapAdditionalContainersPorts(DockerClient dockerClient) {
         List<Container> additionalContainers = dockerClient.listContainersCmd()
                 .withNameFilter(singletonList(CONTAINER_NAME_PREFIX + "-"))
@@ -176,16 +196,9 @@ public final class DockerManager {
      * were left up.  Only throws an exception if the container is not found when it is flagged as enabled.
      */
     private static void findContainerAndMapPort(DockerClient dockerClient, String resourceName, boolean enabled, int port) {
-        ListContainersCmd listContainersCmd = dockerClient.listContainersCmd();
-        String containerName = CONTAINER_APPEND_GROUP_ID?CONTAINER_NAME_PREFIX + "-" + resourceName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + resourceName;
+        String containerName = containerName(resourceName);
         log.info("Discovering host and mapping port for container {}", containerName);
-        List<Container> containers = listContainersCmd.withNameFilter(singletonList(containerName)).exec();
-        if(containers.size()>1) {
-            // The Name Filter is a pattern search, so need to check for exact name match as more than one found.
-            containers = containers.stream()
-                    .filter(container -> Arrays.stream(container.getNames()).anyMatch(n -> n.equals("/"+containerName)))
-                    .collect(Collectors.toList());
-        }
+        List<Container> containers = findContainers(dockerClient, containerName);
         if (containers.size() == 1) {
             mapPort(resourceName, port, containers.get(0));
         } else {
@@ -198,6 +211,37 @@ public final class DockerManager {
         }
     }
 
+    /**
+     * Returns the tmpfs mounts of the running container for the given resource, keyed by the container path, so that
+     * tests can assert that the data directory is on tmpfs.  The resource name is as used in the container name, e.g.
+     * postgres, or kafka-2 for the second Kafka broker.
+     */
+    public static Map<String, String> getTmpfsMounts(DockerClient dockerClient, String resourceName) {
+        String containerName = containerName(resourceName);
+        List<Container> containers = findContainers(dockerClient, containerName);
+        if (containers.size() != 1) {
+            throw new RuntimeException(resourceName + " container is not found - containerName: " + containerName + " - containers.size(): " + containers.size());
+        }
+        Map<String, String> tmpfs = dockerClient.inspectContainerCmd(containers.get(0).getId()).exec().getHostConfig().getTmpFs();
+        return tmpfs != null ? tmpfs : Collections.emptyMap();
+    }
+
+    private static String containerName(String resourceName) {
+        return CONTAINER_APPEND_GROUP_ID?CONTAINER_NAME_PREFIX + "-" + resourceName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + resourceName;
+    }
+
+    private static List<Container> findContainers(DockerClient dockerClient, String containerName) {
+        ListContainersCmd listContainersCmd = dockerClient.listContainersCmd();
+        List<Container> containers = listContainersCmd.withNameFilter(singletonList(containerName)).exec();
+        if(containers.size()>1) {
+            // The Name Filter is a pattern search, so need to check for exact name match as more than one found.
+            containers = containers.stream()
+                    .filter(container -> Arrays.stream(container.getNames()).anyMatch(n -> n.equals("/"+containerName)))
+                    .collect(Collectors.toList());
+        }
+        return containers;
+    }
+
     private static void mapPort(String resourceName, int port, Container container) {
         Integer mappedPort = Arrays.stream(container.getPorts())
                 .filter(x -> Objects.equals(x.getPrivatePort(), port))
@@ -0,0 +1,102 @@
+package dev.lydtech.component.framework.management;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+/**
+ * A text summary of a JFR recording: the top CPU methods from the execution samples, the allocation hot spots from
+ * the allocation samples, the GC pauses, and the lock contention from the blocked monitor enters.
+ *
+ * Methods are attributed by the top frame of the event's stack trace.
+ */
+final class JfrProfileSummary {
+
+    private static final int TOP_COUNT = 10;
+    private static final String UNKNOWN_METHOD = "<unknown>";
+
+    private final Map<String, Long> cpuSamples = new HashMap<>();
+    private final Map<String, Long> allocatedBytes = new HashMap<>();
+    private final Map<String, Long> lockContentionNanos = new HashMap<>();
+    private long gcCount;
+    private long gcPauseNanos;
+    private long gcLongestPauseNanos;
+    private long eventCount;
+
+    synchronized void accept(RecordedEvent event) {
+        eventCount++;
+        String type = event.getEventType().getName();
+        if(type.equals("jdk.ExecutionSample")) {
+            recordCpuSample(topFrame(event));
+        } else if(type.equals("jdk.ObjectAllocationSample")) {
+            recordAllocation(topFrame(event), event.getLong("weight"));
+        } else if(type.equals("jdk.GarbageCollection")) {
+            recordGcPause(event.getDuration("sumOfPauses"), event.getDuration("longestPause"));
+        } else if(type.equals("jdk.JavaMonitorEnter")) {
+            RecordedClass monitorClass = event.getClass("monitorClass");
+            recordLockContention((monitorClass != null ? monitorClass.getName() : UNKNOWN_METHOD) + " in " + topFrame(event), event.getDuration());
+        }
+    }
+
+    synchronized void recordCpuSample(String method) {
+        cpuSamples.merge(method, 1L, Long::sum);
+    }
+
+    synchronized void recordAllocation(String method, long bytes) {
+        allocatedBytes.merge(method, bytes, Long::sum);
+    }
+
+    synchronized void recordGcPause(Duration pauses, Duration longestPause) {
+        gcCount++;
+        gcPauseNanos += pauses.toNanos();
+        gcLongestPauseNanos = Math.max(gcLongestPauseNanos, longestPause.toNanos());
+    }
+
+    synchronized void recordLockContention(String monitor, Duration blocked) {
+        lockContentionNanos.merge(monitor, blocked.toNanos(), Long::sum);
+    }
+
+    synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    synchronized String render() {
+        StringBuilder summary = new StringBuilder();
+        long totalSamples = cpuSamples.values().stream().mapToLong(Long::longValue).sum();
+        summary.append(String.format("Top CPU methods (%d samples):%n", totalSamples));
+        top(cpuSamples).forEach(entry -> summary.append(String.format("  %8d %6.1f%%  %s%n",
+                entry.getValue(), 100.0 * entry.getValue() / totalSamples, entry.getKey())));
+        summary.append(String.format("Allocation hot spots (sampled):%n"));
+        top(allocatedBytes).forEach(entry -> summary.append(String.format("  %10dKB  %s%n", entry.getValue() / 1024, entry.getKey())));
+        summary.append(String.format("GC pauses: %d collections, %dms total, %dms longest%n",
+                gcCount, gcPauseNanos / 1_000_000, gcLongestPauseNanos / 1_000_000));
+        summary.append(String.format("Lock contention (blocked time):%n"));
+        top(lockContentionNanos).forEach(entry -> summary.append(String.format("  %8dms  %s%n", entry.getValue() / 1_000_000, entry.getKey())));
+        return summary.toString();
+    }
+
+    private List<Map.Entry<String, Long>> top(Map<String, Long> values) {
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.<String, Long>comparingByKey()))
+                .limit(TOP_COUNT)
+                .collect(Collectors.toList());
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if(stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return UNKNOWN_METHOD;
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        RecordedMethod method = frame.getMethod();
+        return method != null ? method.getType().getName() + "." + method.getName() : UNKNOWN_METHOD;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * The layout of a topic to create: its partitions, replication factor and topic configs, such as cleanup.policy or
+ * min.insync.replicas.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class KafkaTopicSpec {
+
+    private String name;
+    private Integer partitions;
+    private Integer replicationFactor;
+    private Map<String, String> configs;
+}
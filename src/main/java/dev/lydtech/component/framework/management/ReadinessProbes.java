@@ -0,0 +1,166 @@
+package dev.lydtech.component.framework.management;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * Resource native readiness probes for use with the AdaptiveWaitStrategy.  Each probe checks that the resource can
+ * actually be used, rather than that it has logged a message or opened a port.
+ */
+final class ReadinessProbes {
+
+    private static final int HTTP_TIMEOUT_MILLIS = 1000;
+    private static final int KAFKA_TIMEOUT_MILLIS = 1000;
+    private static final int JDBC_TIMEOUT_SECONDS = 1;
+    private static final String JDBC_TEST_QUERY = "SELECT 1";
+
+    private ReadinessProbes() {}
+
+    /**
+     * Open a JDBC connection and run SELECT 1.  The connection is made with the driver directly, with short connect
+     * and login timeouts, rather than with the container's createConnection, which retries for up to a minute.
+     */
+    static AdaptiveWaitStrategy.Probe jdbc() {
+        return target -> {
+            JdbcDatabaseContainer<?> container = (JdbcDatabaseContainer<?>) target;
+            String jdbcUrl = container.getJdbcUrl();
+            try (Connection connection = container.getJdbcDriverInstance().connect(jdbcUrl, jdbcProperties(jdbcUrl, container.getUsername(), container.getPassword()));
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(JDBC_TIMEOUT_SECONDS);
+                return statement.execute(JDBC_TEST_QUERY);
+            }
+        };
+    }
+
+    /**
+     * The Postgres driver takes its timeouts in seconds, and the MariaDB and MySQL drivers in milliseconds.
+     */
+    static Properties jdbcProperties(String jdbcUrl, String username, String password) {
+        Properties properties = new Properties();
+        properties.put("user", username);
+        properties.put("password", password);
+        if(jdbcUrl.startsWith("jdbc:postgresql:")) {
+            properties.put("connectTimeout", String.valueOf(JDBC_TIMEOUT_SECONDS));
+            properties.put("loginTimeout", String.valueOf(JDBC_TIMEOUT_SECONDS));
+            properties.put("socketTimeout", String.valueOf(JDBC_TIMEOUT_SECONDS));
+        } else {
+            properties.put("connectTimeout", String.valueOf(JDBC_TIMEOUT_SECONDS * 1000));
+            properties.put("socketTimeout", String.valueOf(JDBC_TIMEOUT_SECONDS * 1000));
+        }
+        return properties;
+    }
+
+    /**
+     * Describe the Kafka cluster via the Admin client.  The one client is used across the attempts, with a short
+     * reconnect backoff so that the broker is found as soon as it is listening.
+     *
+     * @param adminProperties supplies the admin client properties, including the bootstrap servers, once the container's
+     *                        ports are mapped.
+     */
+    static AdaptiveWaitStrategy.Probe kafka(Supplier<Properties> adminProperties) {
+        return new AdaptiveWaitStrategy.Probe() {
+            private Admin admin;
+
+            @Override
+            public boolean isReady(WaitStrategyTarget target) throws Exception {
+                if(admin == null) {
+                    Properties properties = adminProperties.get();
+                    properties.put(AdminClientConfig.RECONNECT_BACKOFF_MS_CONFIG, "5");
+                    properties.put(AdminClientConfig.RECONNECT_BACKOFF_MAX_MS_CONFIG, "100");
+                    properties.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, String.valueOf(KAFKA_TIMEOUT_MILLIS));
+                    admin = Admin.create(properties);
+                }
+                return !admin.describeCluster(new DescribeClusterOptions().timeoutMs(KAFKA_TIMEOUT_MILLIS))
+                        .nodes()
+                        .get(KAFKA_TIMEOUT_MILLIS * 2, TimeUnit.MILLISECONDS)
+                        .isEmpty();
+            }
+
+            @Override
+            public void close() {
+                if(admin != null) {
+                    admin.close();
+                    // A further wait, such as for a restarted container, creates a new client.
+                    admin = null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Run the ping command via the Mongo shell in the container, using mongosh if the image has it, else the legacy
+     * mongo shell.
+     */
+    static AdaptiveWaitStrategy.Probe mongoPing() {
+        return new AdaptiveWaitStrategy.Probe() {
+            private String shell;
+
+            @Override
+            public boolean isReady(WaitStrategyTarget target) throws Exception {
+                if(shell == null) {
+                    Container.ExecResult which = target.execInContainer("sh", "-c", "command -v mongosh || command -v mongo");
+                    shell = which.getStdout().trim();
+                    if(shell.isEmpty()) {
+                        throw new RuntimeException("No Mongo shell found in the container");
+                    }
+                }
+                Container.ExecResult result = target.execInContainer(shell, "--quiet", "--eval", "db.adminCommand('ping').ok");
+                return result.getExitCode() == 0 && result.getStdout().trim().endsWith("1");
+            }
+        };
+    }
+
+    /**
+     * An HTTP GET returns the expected status code.
+     */
+    static AdaptiveWaitStrategy.Probe http(int port, String path, int statusCode) {
+        return target -> get(target, port, path, connection -> connection.getResponseCode() == statusCode);
+    }
+
+    /**
+     * The Elasticsearch / OpenSearch cluster health is green or yellow.  Yellow is expected for a single node cluster
+     * with replicated indices.
+     */
+    static AdaptiveWaitStrategy.Probe clusterHealth(int port) {
+        return target -> get(target, port, "/_cluster/health", connection -> {
+            if(connection.getResponseCode() != 200) {
+                return false;
+            }
+            try (InputStream body = connection.getInputStream()) {
+                String health = new String(body.readAllBytes(), StandardCharsets.UTF_8).replace(" ", "");
+                return health.contains("\"status\":\"green\"") || health.contains("\"status\":\"yellow\"");
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface ResponseCheck {
+        boolean check(HttpURLConnection connection) throws Exception;
+    }
+
+    private static boolean get(WaitStrategyTarget target, int port, String path, ResponseCheck check) throws Exception {
+        URL url = new URL("http://" + target.getHost() + ":" + target.getMappedPort(port) + (path.startsWith("/") ? path : "/" + path));
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setConnectTimeout(HTTP_TIMEOUT_MILLIS);
+            connection.setReadTimeout(HTTP_TIMEOUT_MILLIS);
+            return check.check(connection);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
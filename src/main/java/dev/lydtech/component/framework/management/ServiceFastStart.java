@@ -0,0 +1,144 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import com.github.dockerjava.api.DockerClient;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.Container.ExecResult;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Fast JVM startup for the service containers, from either an AppCDS archive or a CRaC checkpoint.
+ *
+ * The first run for a service image is a training run.  The first service instance starts as normal, and once it is
+ * ready the archive or checkpoint is created from it:
+ *
+ * - appcds: the JVM writes an archive of the classes it has loaded when it exits, so the container is stopped
+ *   gracefully.  Later runs map the archive rather than loading and verifying the classes.
+ * - crac: the running JVM is checkpointed, which requires a service image with a CRaC enabled JDK and jcmd.  Later
+ *   runs restore the started service from the checkpoint.
+ *
+ * The instance is then recreated to start from the archive or checkpoint, as are the other instances.  If the archive
+ * or checkpoint cannot be created, the service starts as normal and the next run trains again.
+ *
+ * The archives and checkpoints are held in a host directory keyed by the service image id, so rebuilding the service
+ * image results in a new training run.  As a checkpoint holds the state of the started service, it is also keyed by
+ * the service configuration.
+ */
+@Slf4j
+final class ServiceFastStart {
+
+    static final String MODE_NONE = "none";
+    static final String MODE_APPCDS = "appcds";
+    static final String MODE_CRAC = "crac";
+    private static final List<String> MODES = List.of(MODE_NONE, MODE_APPCDS, MODE_CRAC);
+    private static final String CONTAINER_DIRECTORY = "/ctf-fast-start";
+    private static final String APPCDS_ARCHIVE = "app.jsa";
+    private static final String CRAC_CHECKPOINT = "crac";
+    private static final String TRAINED_MARKER = "trained";
+    private static final Duration TRAINING_TIMEOUT = Duration.ofSeconds(60);
+
+    private final DockerClient dockerClient;
+    private final String mode;
+    private final Path directory;
+    private boolean trained;
+    private boolean trainingFailed;
+
+    /**
+     * @param configuration the service configuration, which a CRaC checkpoint is also keyed by.
+     */
+    ServiceFastStart(DockerClient dockerClient, String mode, Path baseDirectory, String image, String configuration) {
+        validateMode(mode);
+        this.dockerClient = dockerClient;
+        this.mode = mode;
+        String imageId = dockerClient.inspectImageCmd(image).exec().getId();
+        String key = mode.equals(MODE_CRAC) ? ContainerSnapshots.hash(imageId, configuration) : ContainerSnapshots.hash(imageId);
+        this.directory = baseDirectory.resolve(mode + "-" + key);
+        this.trained = Files.exists(directory.resolve(TRAINED_MARKER));
+        log.info("Service fast start mode {} using {} ({})", mode, directory, trained ? "trained" : "training run");
+    }
+
+    static void validateMode(String mode) {
+        if(!MODES.contains(mode)) {
+            throw new RuntimeException("service.fast.start.mode: "+mode+" - must be one of: "+String.join(", ", MODES));
+        }
+    }
+
+    boolean isTrained() {
+        return trained;
+    }
+
+    /**
+     * Bind the archive or checkpoint directory into the service container, and start the JVM from the archive or
+     * checkpoint, or create it if this is the training run.
+     */
+    void configure(GenericContainer<?> container, String javaOpts) {
+        try {
+            Files.createDirectories(directory);
+            // The service may run as a user other than the one running the tests.
+            directory.toFile().setWritable(true, false);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create the service fast start directory " + directory + ": " + e.getMessage(), e);
+        }
+        container.withFileSystemBind(directory.toAbsolutePath().toString(), CONTAINER_DIRECTORY, BindMode.READ_WRITE);
+        if(mode.equals(MODE_CRAC)) {
+            // Checkpointing and restoring require CAP_CHECKPOINT_RESTORE and CAP_SYS_PTRACE.
+            container.withPrivilegedMode(true);
+        }
+        withJavaOpts(container, javaOpts);
+    }
+
+    void withJavaOpts(GenericContainer<?> container, String javaOpts) {
+        String fastStartOpts = "";
+        if(mode.equals(MODE_APPCDS)) {
+            fastStartOpts = (trained ? "-XX:SharedArchiveFile=" : "-XX:ArchiveClassesAtExit=") + CONTAINER_DIRECTORY + "/" + APPCDS_ARCHIVE;
+        } else if(mode.equals(MODE_CRAC)) {
+            fastStartOpts = (trained ? "-XX:CRaCRestoreFrom=" : "-XX:CRaCCheckpointTo=") + CONTAINER_DIRECTORY + "/" + CRAC_CHECKPOINT;
+        }
+        container.withEnv("JAVA_OPTS", trainingFailed ? javaOpts : javaOpts + " " + fastStartOpts);
+    }
+
+    /**
+     * Create the archive or checkpoint from the started service container.  The container has exited once this
+     * returns, whether or not training succeeded.
+     */
+    void train(GenericContainer<?> container) throws Exception {
+        long startTime = System.currentTimeMillis();
+        String containerId = container.getContainerId();
+        if(mode.equals(MODE_APPCDS)) {
+            dockerClient.stopContainerCmd(containerId).withTimeout((int) TRAINING_TIMEOUT.getSeconds()).exec();
+        } else {
+            ExecResult result = container.execInContainer("sh", "-c", "jcmd $(jcmd -l | awk '!/JCmd/ {print $1; exit}') JDK.checkpoint");
+            if(result.getExitCode() == 0) {
+                // The JVM exits once it has been checkpointed.
+                dockerClient.waitContainerCmd(containerId).start().awaitStatusCode(TRAINING_TIMEOUT.getSeconds(), TimeUnit.SECONDS);
+            } else {
+                log.warn("Failed to checkpoint the service, as the image may not have a CRaC enabled JDK: {}", result.getStderr());
+                dockerClient.stopContainerCmd(containerId).withTimeout((int) TRAINING_TIMEOUT.getSeconds()).exec();
+            }
+        }
+        if(isPopulated(directory.resolve(mode.equals(MODE_APPCDS) ? APPCDS_ARCHIVE : CRAC_CHECKPOINT))) {
+            Files.writeString(directory.resolve(TRAINED_MARKER), String.valueOf(System.currentTimeMillis()));
+            trained = true;
+            log.info("Service fast start {} created in {}ms", mode, System.currentTimeMillis() - startTime);
+        } else {
+            trainingFailed = true;
+            log.warn("Service fast start {} was not created in {}, so the service will start as normal", mode, directory);
+        }
+    }
+
+    private boolean isPopulated(Path path) throws Exception {
+        if(Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.list(path)) {
+                return files.findAny().isPresent();
+            }
+        }
+        return Files.isRegularFile(path) && Files.size(path) > 0;
+    }
+}
@@ -0,0 +1,233 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jdk.jfr.consumer.EventStream;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.GenericContainer;
+
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.SERVICE_JFR_ENABLED;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.SERVICE_JFR_PATH;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.SERVICE_JFR_READ_TIMEOUT_SECONDS;
+import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.SERVICE_JFR_SETTINGS;
+
+/**
+ * Profiles the service and additional containers with Java Flight Recorder, when service.jfr.enabled is true.
+ *
+ * Each container's JVM records to a JFR repository in a host directory under service.jfr.path, so that the
+ * recording can be read whilst the container is running.  A profile copies each container's recording files to the
+ * profile's directory, and writes a text summary of the top CPU methods, allocation hot spots, GC pauses and lock
+ * contention within the profile's time window.  The recordings are read concurrently, within
+ * service.jfr.read.timeout.seconds in total, as the read of a stopped container's recording waits for data that never
+ * arrives.
+ *
+ * A profile of the whole test run is written when the test run exits.  A profile can be scoped to a single test:
+ *
+ * ServiceProfiler.getInstance().start("testOrderFlow");
+ * ...
+ * ServiceProfiler.getInstance().stop();
+ */
+@Slf4j
+public final class ServiceProfiler {
+
+    private static final String CONTAINER_REPOSITORY = "/ctf-jfr";
+    private static final String REPOSITORY_DIRECTORY = "repository";
+
+    private static ServiceProfiler instance;
+
+    private final Path path;
+    // Bounds reading the recordings, as a stream waits for new data if its container is no longer running.
+    private final Duration readTimeout;
+    private final Instant runStartTime = Instant.now();
+    private String profileName;
+    private Instant profileStartTime;
+
+    ServiceProfiler(Path path, Duration readTimeout) {
+        this.path = path;
+        this.readTimeout = readTimeout;
+    }
+
+    public synchronized static ServiceProfiler getInstance() {
+        if(instance == null) {
+            if(!SERVICE_JFR_ENABLED) {
+                throw new RuntimeException("service.jfr.enabled must be true to profile the service.");
+            }
+            instance = new ServiceProfiler(Paths.get(SERVICE_JFR_PATH), Duration.ofSeconds(SERVICE_JFR_READ_TIMEOUT_SECONDS));
+        }
+        return instance;
+    }
+
+    /**
+     * The JVM options that start the recording to the repository bound by withRepository.
+     */
+    static String javaOpts() {
+        return "-XX:StartFlightRecording=name=ctf,settings=" + SERVICE_JFR_SETTINGS + " -XX:FlightRecorderOptions=repository=" + CONTAINER_REPOSITORY;
+    }
+
+    /**
+     * Bind the container's JFR repository to a host directory, named after the container.
+     */
+    static void withRepository(GenericContainer<?> container, String containerName) {
+        Path repository = Paths.get(SERVICE_JFR_PATH, REPOSITORY_DIRECTORY, containerName);
+        try {
+            Files.createDirectories(repository);
+            // The service may run as a user other than the one running the tests.
+            repository.toFile().setWritable(true, false);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create the JFR repository directory " + repository + ": " + e.getMessage(), e);
+        }
+        container.withFileSystemBind(repository.toAbsolutePath().toString(), CONTAINER_REPOSITORY, BindMode.READ_WRITE);
+    }
+
+    /**
+     * Start a profile, such as for a single test.  Any profile already started is stopped first.
+     */
+    public synchronized void start(String name) {
+        if(profileName != null) {
+            stop();
+        }
+        profileName = name;
+        profileStartTime = Instant.now();
+    }
+
+    /**
+     * Stop the profile started with start, and write it.
+     *
+     * @return the summary file.
+     */
+    public synchronized Path stop() {
+        if(profileName == null) {
+            throw new RuntimeException("No service profile has been started.");
+        }
+        Path summary = profile(profileName, profileStartTime, Instant.now());
+        profileName = null;
+        profileStartTime = null;
+        return summary;
+    }
+
+    /**
+     * Write a profile of the test run so far.
+     *
+     * @return the summary file.
+     */
+    public Path dump(String name) {
+        return profile(name, runStartTime, Instant.now());
+    }
+
+    private Path profile(String name, Instant from, Instant to) {
+        String profile = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        Path profileDirectory = path.resolve(profile);
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("JFR profile %s (%s to %s, %dms)%n", name, from, to, Duration.between(from, to).toMillis()));
+        Map<String, JfrProfileSummary> containerSummaries = new LinkedHashMap<>();
+        Map<Path, EventStream> streams = new LinkedHashMap<>();
+        try {
+            Files.createDirectories(profileDirectory);
+            for (Path containerRepository : list(path.resolve(REPOSITORY_DIRECTORY))) {
+                String containerName = containerRepository.getFileName().toString();
+                JfrProfileSummary containerSummary = new JfrProfileSummary();
+                containerSummaries.put(containerName, containerSummary);
+                // Each JVM started in the container has its own repository, so only read those with recording files
+                // written to since the profile started.
+                for (Path repository : list(containerRepository)) {
+                    List<Path> recordingFiles = recordingFilesWrittenSince(repository, from);
+                    if(recordingFiles.isEmpty()) {
+                        continue;
+                    }
+                    streams.put(repository, startReading(repository, from, to, containerSummary));
+                    copyRecordingFiles(repository, recordingFiles, profileDirectory.resolve(containerName));
+                }
+            }
+            awaitReads(streams);
+            containerSummaries.forEach((containerName, containerSummary) -> {
+                summary.append(String.format("%n== %s (%d events) ==%n", containerName, containerSummary.getEventCount()));
+                summary.append(containerSummary.render());
+            });
+            Path summaryFile = path.resolve(profile + "-summary.txt");
+            Files.writeString(summaryFile, summary);
+            log.info("Service profile written to: {}{}{}", summaryFile.toAbsolutePath(), System.lineSeparator(), summary);
+            return summaryFile;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to write the service profile " + name + ": " + e.getMessage(), e);
+        } finally {
+            streams.values().forEach(EventStream::close);
+        }
+    }
+
+    /**
+     * Start reading the repository in the background, so that the repositories of all the containers are read
+     * concurrently.
+     */
+    private EventStream startReading(Path repository, Instant from, Instant to, JfrProfileSummary summary) throws Exception {
+        EventStream stream = EventStream.openRepository(repository);
+        try {
+            stream.setStartTime(from);
+            stream.setEndTime(to);
+            stream.onEvent(summary::accept);
+            stream.startAsync();
+            return stream;
+        } catch (RuntimeException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the reads to complete, within the read timeout for all of them.
+     */
+    private void awaitReads(Map<Path, EventStream> streams) throws InterruptedException {
+        long deadline = System.nanoTime() + readTimeout.toNanos();
+        for (Map.Entry<Path, EventStream> stream : streams.entrySet()) {
+            Duration remaining = Duration.ofNanos(Math.max(deadline - System.nanoTime(), 1_000_000));
+            if(!stream.getValue().awaitTermination(remaining)) {
+                log.warn("Cut short reading the JFR recording in {} after the read timeout of {}s, so the profile may be incomplete", stream.getKey(), readTimeout.toSeconds());
+            }
+        }
+    }
+
+    /**
+     * The recording files in the repository last written to at or after the given time.  The repository directory's
+     * own modified time only changes when a chunk file is added, so it does not show whether the current chunk is
+     * being written to.
+     */
+    static List<Path> recordingFilesWrittenSince(Path repository, Instant from) throws Exception {
+        List<Path> recordingFiles = new ArrayList<>();
+        if(!Files.isDirectory(repository)) {
+            return recordingFiles;
+        }
+        for (Path file : list(repository)) {
+            if(file.getFileName().toString().endsWith(".jfr") && !Files.getLastModifiedTime(file).toInstant().isBefore(from)) {
+                recordingFiles.add(file);
+            }
+        }
+        return recordingFiles;
+    }
+
+    private void copyRecordingFiles(Path repository, List<Path> recordingFiles, Path target) throws Exception {
+        Files.createDirectories(target);
+        for (Path file : recordingFiles) {
+            Files.copy(file, target.resolve(repository.getFileName() + "-" + file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static List<Path> list(Path directory) throws Exception {
+        if(!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -1,10 +1,25 @@
 package dev.lydtech.component.framework.management;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -12,21 +27,34 @@ import java.util.stream.IntStream;
 
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.ContainerNetwork;
 import com.github.dockerjava.api.model.ExposedPort;
 import com.github.dockerjava.api.model.PortBinding;
 import com.github.dockerjava.api.model.Ports;
+import dev.lydtech.component.framework.client.wiremock.WiremockClient;
 import dev.lydtech.component.framework.configuration.ConfigurationLoader;
 import io.debezium.testing.testcontainers.DebeziumContainer;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.ConsumerGroupListing;
 import org.apache.kafka.clients.admin.CreateTopicsResult;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.RecordsToDelete;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.config.SaslConfigs;
+import org.apache.kafka.common.config.TopicConfig;
 import org.apache.kafka.common.security.plain.PlainLoginModule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
 import org.opensearch.testcontainers.OpensearchContainer;
 import org.slf4j.LoggerFactory;
 import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.Container.ExecResult;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.containers.KafkaContainer;
 import org.testcontainers.containers.MongoDBContainer;
@@ -37,6 +65,7 @@ import org.testcontainers.containers.RabbitMQContainer;
 import org.testcontainers.containers.output.Slf4jLogConsumer;
 import org.testcontainers.containers.wait.strategy.Wait;
 import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.lifecycle.Startables;
 import org.testcontainers.utility.DockerImageName;
 
 import static dev.lydtech.component.framework.configuration.TestcontainersConfiguration.*;
@@ -54,20 +83,48 @@ import static dev.lydtech.component.framework.resource.Resource.OPENSEARCH;
 import static dev.lydtech.component.framework.resource.Resource.POSTGRES;
 import static dev.lydtech.component.framework.resource.Resource.MARIADB;
 import static dev.lydtech.component.framework.resource.Resource.RABBITMQ;
+import static dev.lydtech.component.framework.resource.Resource.SERVICE;
 import static dev.lydtech.component.framework.resource.Resource.WIREMOCK;
 
 @Slf4j
 public final class TestcontainersManager {
 
-    private Network network;
+    private static final int KAFKA_CONTROLLER_PORT = 9094;
+    private static final long DOCKER_CLOCK_TOLERANCE_MILLIS = 1000;
+    private static final Duration READINESS_PROBE_STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String POSTGRES_SNAPSHOT_DATA_DIRECTORY = "/var/lib/postgresql/ctf-data";
+    private static final String POSTGRES_DATA_DIRECTORY = "/var/lib/postgresql/data";
+    private static final String POSTGRES_UNLOGGED_TABLES_SQL =
+            "DO $$ DECLARE t record; converted boolean := true; BEGIN " +
+            "WHILE converted LOOP converted := false; " +
+            "FOR t IN SELECT c.oid::regclass AS name FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE c.relkind = 'r' AND c.relpersistence = 'p' AND n.nspname NOT IN ('pg_catalog', 'information_schema') AND n.nspname NOT LIKE 'pg_toast%' LOOP " +
+            "BEGIN EXECUTE 'ALTER TABLE ' || t.name || ' SET UNLOGGED'; converted := true; EXCEPTION WHEN others THEN NULL; END; " +
+            "END LOOP; END LOOP; END $$;";
+    private static final String MARIADB_DATA_DIRECTORY = "/var/lib/mysql";
+    private static final String MONGODB_DATA_DIRECTORY = "/data/db";
+    private static final String KAFKA_DATA_DIRECTORY = "/var/lib/kafka/data";
+    private static final String ELASTICSEARCH_DATA_DIRECTORY = "/usr/share/elasticsearch/data";
+
+    // The lease is held until the JVM exits.
+    private static ContainerPool.Lease poolLease;
+
+    private ReusableNetwork network;
+    private ContainerStartupReport startupReport;
+    private ContainerStartupReport backgroundReport;
+    private ContainerSnapshots snapshots;
+    private final Map<String, DockerImageName> pendingSnapshots = new ConcurrentHashMap<>();
+    private final Set<GenericContainer> reusedContainers = Collections.newSetFromMap(new IdentityHashMap<>());
+    // The names of the containers this run creates, each with the container name prefix.
+    private final Set<String> containerNames = new HashSet<>();
     private List<GenericContainer> serviceContainers = new ArrayList<>(1);
+    private ServiceFastStart serviceFastStart;
     private List<GenericContainer> additionalContainers;
     private GenericContainer postgresContainer;
     private MariaDBContainer mariaDBContainer;
     private MongoDBContainer mongoDbContainer;
     private List<GenericContainer> kafkaContainers;
     private List<GenericContainer> kafkaNativeContainers;
-    private GenericContainer zookeeperContainer;
     private DebeziumContainer debeziumContainer;
     private GenericContainer kafkaSchemaRegistryContainer;
     private GenericContainer wiremockContainer;
@@ -86,28 +143,280 @@ public final class TestcontainersManager {
     public static void initialise() {
         ConfigurationLoader.loadConfiguration();
         DockerClient dockerClient = DockerManager.getDockerClient();
-        if  (DockerManager.shouldPerformSetup(dockerClient)) {
-            TestcontainersManager manager = new TestcontainersManager();
-            log.info("Creating testcontainers...");
-            manager.createContainers();
+        if(CONTAINER_POOL_ENABLED) {
+            leasePoolSlot(dockerClient);
+        }
+        if(SERVICE_JFR_ENABLED) {
+            // The profile of the test run covers the run from here, rather than from a test first profiling.
+            ServiceProfiler profiler = ServiceProfiler.getInstance();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> profiler.dump("test-run")));
+        }
+        TestcontainersManager manager = new TestcontainersManager();
+        log.info("Creating testcontainers...");
+        manager.createContainers();
+        if (manager.reuseContainers(dockerClient, DockerManager.findContainersLeftUp(dockerClient))) {
+            log.info("All containers are running with matching configuration. Skipping Testcontainers setup.");
+        } else {
             log.info("Starting testcontainers...");
             manager.startContainers();
             log.info("Started testcontainers.");
-        } else {
-            log.info("Main service is running. Skipping Testcontainers setup.");
         }
         DockerManager.captureDockerContainerPorts(dockerClient);
+        if(poolLease != null && poolLease.isPreviouslyUsed() && !manager.reusedContainers.isEmpty()) {
+            manager.resetPooledContainers();
+        }
+        if(CONTAINER_STATS_ENABLED) {
+            ContainerStatsSampler sampler = ContainerStatsSampler.getInstance();
+            sampler.start(dockerClient);
+            Runtime.getRuntime().addShutdownHook(new Thread(sampler::stop));
+        }
+    }
+
+    /**
+     * Lease a group of containers from the pool, naming the containers with the group id of the leased slot.  The
+     * pooled containers are left up between test runs, so containers.stayup must be enabled.
+     */
+    private static void leasePoolSlot(DockerClient dockerClient) {
+        validatePool();
+        poolLease = new ContainerPool(dockerClient, CONTAINER_NAME_PREFIX, CONTAINER_POOL_SIZE, CONTAINER_POOL_IDLE_EVICTION_MINUTES).lease();
+        CONTAINER_GROUP_ID = poolLease.getGroupId();
+        CONTAINER_APPEND_GROUP_ID = true;
+    }
+
+    /**
+     * The pooled containers are left up between test runs, and only the state of stateless resources is reset when a
+     * group is leased again, so the databases cannot be pooled.
+     */
+    static void validatePool() {
+        if(!CONTAINERS_STAYUP) {
+            throw new RuntimeException("container.pool.enabled requires containers.stayup to be true, so that the pooled containers remain up between test runs.");
+        }
+        List<String> databases = new ArrayList<>();
+        if(POSTGRES_ENABLED) databases.add("postgres.enabled");
+        if(MARIADB_ENABLED) databases.add("mariadb.enabled");
+        if(MONGODB_ENABLED) databases.add("mongodb.enabled");
+        if(!databases.isEmpty()) {
+            throw new RuntimeException("container.pool.enabled: true - must be false when " + String.join(", ", databases) + " is true, as the data left by the previous test run is not reset");
+        }
+    }
+
+    /**
+     * Reset the state left in a pooled group of containers by the test run that last leased it.  The records on the
+     * Kafka topics are deleted, the consumer groups without active members are deleted, and the Wiremock mappings and
+     * request journal are reset.
+     */
+    private void resetPooledContainers() {
+        long startTime = System.currentTimeMillis();
+        List<GenericContainer> brokers = KAFKA_ENABLED?kafkaContainers:kafkaNativeContainers;
+        if(brokers != null && reusedContainers.containsAll(brokers)) {
+            String bootstrapServers = System.getProperty("docker.host") + ":" + System.getProperty(KAFKA + ".mapped.port");
+            try (Admin admin = Admin.create(kafkaAdminProperties(bootstrapServers))) {
+                Map<TopicPartition, OffsetSpec> partitions = new HashMap<>();
+                admin.describeTopics(admin.listTopics().names().get()).allTopicNames().get().values()
+                        .forEach(topic -> topic.partitions().forEach(partition ->
+                                partitions.put(new TopicPartition(topic.name(), partition.partition()), OffsetSpec.latest())));
+                Map<TopicPartition, RecordsToDelete> recordsToDelete = new HashMap<>();
+                admin.listOffsets(partitions).all().get().forEach((partition, offset) ->
+                        recordsToDelete.put(partition, RecordsToDelete.beforeOffset(offset.offset())));
+                admin.deleteRecords(recordsToDelete).lowWatermarks().forEach((partition, result) -> {
+                    try {
+                        result.get();
+                    } catch (Exception e) {
+                        // Such as a compacted topic, whose records cannot be deleted.
+                        log.warn("Records not deleted from {}: {}", partition, e.getMessage());
+                    }
+                });
+                // The consumer groups with active members, such as the service's, are left at the end of the topics.
+                List<String> emptyGroups = admin.listConsumerGroups().all().get().stream()
+                        .filter(group -> group.state().map(ConsumerGroupState.EMPTY::equals).orElse(false))
+                        .map(ConsumerGroupListing::groupId)
+                        .collect(Collectors.toList());
+                admin.deleteConsumerGroups(emptyGroups).deletedGroups().forEach((groupId, result) -> {
+                    try {
+                        result.get();
+                    } catch (Exception e) {
+                        // Such as a group that a consumer has joined since it was listed.
+                        log.warn("Consumer group {} not deleted: {}", groupId, e.getMessage());
+                    }
+                });
+            } catch (InterruptedException | ExecutionException e) {
+                throw new RuntimeException("Failed to reset the Kafka topics: " + e.getMessage(), e);
+            }
+        }
+        if(wiremockContainer != null && reusedContainers.contains(wiremockContainer)) {
+            WiremockClient.getInstance().resetMappings();
+            WiremockClient.getInstance().deleteAllRequestsMappings();
+        }
+        log.info("Reset container pool group {} in {}ms", CONTAINER_GROUP_ID, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Pull the images for the configured resources concurrently, without starting any containers.  Images that are
+     * already present locally are not pulled.  This can be run ahead of the component tests, for example in a CI cache
+     * warming step or whilst the service is being built, to take the image pulls off the startup critical path.
+     *
+     * The service and additional container images are built locally so are not pulled.
+     */
+    public static void pullImages() {
+        ConfigurationLoader.loadConfiguration();
+        TestcontainersManager manager = new TestcontainersManager();
+        manager.createResourceContainers();
+        ContainerImagePuller.pull(DockerManager.getDockerClient(), manager.getContainersToPull(), CONTAINER_IMAGE_PULL_CONCURRENCY);
     }
 
     private void createContainers() {
 
-        if(CONTAINERS_STAYUP && CONTAINER_APPEND_GROUP_ID) {
+        if(CONTAINERS_STAYUP && CONTAINER_APPEND_GROUP_ID && !CONTAINER_POOL_ENABLED) {
             throw new RuntimeException("Either configure containers to stayup or enable concurrent test runs.");
         }
         if (SERVICE_INSTANCE_COUNT < 1) {
             throw new RuntimeException("At least one service container should be started");
         }
-        network = Network.newNetwork();
+        createResourceContainers();
+
+        ServiceFastStart.validateMode(SERVICE_FAST_START_MODE);
+        serviceContainers = IntStream.range(1, SERVICE_INSTANCE_COUNT + 1)
+                .mapToObj(this::createServiceContainer)
+                .collect(Collectors.toList());
+
+        additionalContainers = ADDITIONAL_CONTAINERS.stream().map(additionalContainer -> createAdditionalContainer(
+                additionalContainer.getName(),
+                additionalContainer.getPort(),
+                additionalContainer.getDebugPort(),
+                additionalContainer.getImageTag(),
+                additionalContainer.getAdditionalContainerLoggingEnabled()))
+                .collect(Collectors.toList());
+
+        applyResourceLimits();
+
+        getAllContainers().forEach(container -> container.withLabel(ContainerFingerprint.FINGERPRINT_LABEL_KEY, ContainerFingerprint.of(container)));
+    }
+
+    /**
+     * Apply the configured CPU and memory limits to each resource's containers, and report them.
+     */
+    private void applyResourceLimits() {
+        Map<String, List<? extends GenericContainer>> containersByResource = new LinkedHashMap<>();
+        containersByResource.put(SERVICE.toString(), serviceContainers);
+        for (int i = 0; i < ADDITIONAL_CONTAINERS.size(); i++) {
+            containersByResource.put(ADDITIONAL_CONTAINERS.get(i).getName(), List.of(additionalContainers.get(i)));
+        }
+        containersByResource.put(POSTGRES.toString(), Arrays.asList(postgresContainer));
+        containersByResource.put(MONGODB.toString(), Arrays.asList(mongoDbContainer));
+        containersByResource.put(MARIADB.toString(), Arrays.asList(mariaDBContainer));
+        containersByResource.put(KAFKA.toString(), kafkaContainers != null ? kafkaContainers : kafkaNativeContainers);
+        containersByResource.put(DEBEZIUM.toString(), Arrays.asList(debeziumContainer));
+        containersByResource.put(KAFKA_SCHEMA_REGISTRY.toString(), Arrays.asList(kafkaSchemaRegistryContainer));
+        containersByResource.put(KAFKA_CONTROL_CENTER.toString(), Arrays.asList(controlCenterContainer));
+        containersByResource.put(CONDUKTOR.toString(), Arrays.asList(conduktorContainer, conduktorPostgresContainer));
+        containersByResource.put(CONDUKTORGATEWAY.toString(), Arrays.asList(conduktorGatewayContainer));
+        containersByResource.put(RABBITMQ.toString(), Arrays.asList(rabbitMQContainer));
+        containersByResource.put(WIREMOCK.toString(), Arrays.asList(wiremockContainer));
+        containersByResource.put(LOCALSTACK.toString(), Arrays.asList(localstackContainer));
+        containersByResource.put(ELASTICSEARCH.toString(), Arrays.asList(elasticSearchContainer));
+        containersByResource.put(OPENSEARCH.toString(), Arrays.asList(openSearchContainer));
+        containersByResource.put(AMBAR.toString(), Arrays.asList(ambarContainer));
+
+        Set<String> configuredResources = new TreeSet<>(CONTAINER_CPUS.keySet());
+        configuredResources.addAll(CONTAINER_CPUSETS.keySet());
+        configuredResources.addAll(CONTAINER_MEMORY.keySet());
+        for (String resource : configuredResources) {
+            if(!containersByResource.containsKey(resource)) {
+                throw new RuntimeException("Resource limits configured for unknown resource: "+resource+" - must be one of: "+String.join(", ", containersByResource.keySet()));
+            }
+        }
+        containersByResource.forEach((resource, containers) -> {
+            List<? extends GenericContainer> enabledContainers = containers == null ? List.of() : containers.stream().filter(container -> container != null).collect(Collectors.toList());
+            if(enabledContainers.isEmpty()) {
+                return;
+            }
+            ContainerResourceLimits limits = ContainerResourceLimits.forResource(resource);
+            if(limits.isLimited()) {
+                log.info("Resource limits for {}: {} ({} effective CPUs)", resource, limits, limits.getEffectiveCpus());
+                enabledContainers.forEach(limits::apply);
+            }
+        });
+    }
+
+    /**
+     * Reuse the containers left up by a previous test run whose fingerprint matches that of a container to be created,
+     * so that they are not created and started again.  The containers left up that do not match are removed, so that
+     * they are recreated with the current configuration on the same network as those being reused.
+     *
+     * @return true if every container is being reused, so there are none to start.
+     */
+    private boolean reuseContainers(DockerClient dockerClient, List<Container> containersLeftUp) {
+        Map<String, GenericContainer> containersByFingerprint = new HashMap<>();
+        getAllContainers().forEach(container -> containersByFingerprint.put((String) container.getLabels().get(ContainerFingerprint.FINGERPRINT_LABEL_KEY), container));
+        List<Container> mismatchedContainers = new ArrayList<>();
+        String networkId = null;
+        for (Container containerLeftUp : containersLeftUp) {
+            GenericContainer container = containersByFingerprint.get(containerLeftUp.getLabels().get(ContainerFingerprint.FINGERPRINT_LABEL_KEY));
+            if(container != null) {
+                reusedContainers.add(container);
+                if(networkId == null && containerLeftUp.getNetworkSettings() != null) {
+                    networkId = containerLeftUp.getNetworkSettings().getNetworks().values().stream()
+                            .map(ContainerNetwork::getNetworkID)
+                            .findFirst()
+                            .orElse(null);
+                }
+            } else {
+                mismatchedContainers.add(containerLeftUp);
+            }
+        }
+        if(reusedContainers.size() == containersByFingerprint.size()) {
+            return true;
+        }
+        for (Container mismatchedContainer : mismatchedContainers) {
+            if(isCreatedByThisRun(mismatchedContainer, containerNames)) {
+                log.info("Removing container {} as its configuration has changed", String.join(",", mismatchedContainer.getNames()));
+                dockerClient.removeContainerCmd(mismatchedContainer.getId()).withForce(true).exec();
+            } else {
+                log.info("Leaving container {} as it is not one this test run creates", String.join(",", mismatchedContainer.getNames()));
+            }
+        }
+        if(!reusedContainers.isEmpty()) {
+            log.info("Reusing {} of {} containers with matching configuration", reusedContainers.size(), containersByFingerprint.size());
+            if(networkId != null) {
+                network.reuse(networkId);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the container has the name of one that this test run creates.  Other containers with the container name
+     * prefix, such as those another project has left up, are not removed.
+     */
+    static boolean isCreatedByThisRun(Container container, Set<String> containerNames) {
+        return Arrays.stream(container.getNames()).anyMatch(name -> containerNames.contains(name.replaceFirst("^/", "")));
+    }
+
+    /**
+     * The name of the resource's container, with the container name prefix and, if configured, the group id.  The
+     * name is recorded as one that this test run creates.
+     */
+    private String containerName(String name) {
+        String containerName = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + name + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + name;
+        containerNames.add(containerName);
+        return containerName;
+    }
+
+    private Consumer<CreateContainerCmd> withContainerName(String name) {
+        String containerName = containerName(name);
+        return cmd -> cmd.withName(containerName);
+    }
+
+    /**
+     * Create the containers for the enabled resources, such as the databases and Kafka.  These are the containers whose
+     * images are pulled from a registry, as opposed to the service and additional containers which are built locally.
+     */
+    private void createResourceContainers() {
+        network = new ReusableNetwork();
+        if(CONTAINER_SNAPSHOT_ENABLED) {
+            snapshots = new ContainerSnapshots(DockerManager.getDockerClient(), CONTAINER_SNAPSHOT_CACHE_MAX_SIZE_MB * 1024 * 1024);
+        }
+        validatePerformanceProfiles();
         if (POSTGRES_ENABLED) {
             postgresContainer = createPostgresContainer();
         }
@@ -130,11 +439,7 @@ public final class TestcontainersManager {
             if(KAFKA_MIN_INSYNC_REPLICAS > KAFKA_TOPIC_REPLICATION_FACTOR) {
                 throw new RuntimeException("kafka.min.insync.replicas: "+KAFKA_MIN_INSYNC_REPLICAS+" - must not be greater than kafka.topic.replication.factor: "+KAFKA_TOPIC_REPLICATION_FACTOR);
             }
-            if(KAFKA_ENABLED && KAFKA_BROKER_COUNT>1) {
-                // As there are multiple standard Kafka instances they need to use the same external Zookeeper.
-                zookeeperContainer = createZookeeperContainer();
-            }
-
+            KAFKA_TOPIC_SPECS.forEach(this::validateTopicSpec);
             if(KAFKA_ENABLED && KAFKA_CONTROL_CENTER_ENABLED && KAFKA_CONTROL_CENTER_EXPORT_METRICS_ENABLED) {
                 // To support exporting metrics for Confluent Control Center, use the Confluent cp-server container.
                 kafkaContainers = IntStream.range(1, KAFKA_BROKER_COUNT +1)
@@ -150,6 +455,12 @@ public final class TestcontainersManager {
                     .collect(Collectors.toList());
             }
         }
+        if (KAFKA_ENABLED || KAFKA_NATIVE_ENABLED) {
+            // The topics are created once Kafka has started, so a change to them requires the brokers to be recreated.
+            String topics = ContainerSnapshots.hash(KAFKA_TOPICS.toString(), String.valueOf(KAFKA_TOPIC_PARTITION_COUNT),
+                    String.valueOf(KAFKA_TOPIC_REPLICATION_FACTOR), KAFKA_TOPIC_SPECS.toString());
+            (KAFKA_ENABLED?kafkaContainers:kafkaNativeContainers).forEach(broker -> broker.withLabel(ContainerFingerprint.CONFIGURATION_LABEL_KEY, topics));
+        }
         if (DEBEZIUM_ENABLED) {
             if(!KAFKA_ENABLED && !KAFKA_NATIVE_ENABLED) {
                 throw new RuntimeException("Kafka must be enabled in order to use Debezium.");
@@ -199,110 +510,379 @@ public final class TestcontainersManager {
         if(AMBAR_ENABLED) {
             ambarContainer = createAmbarContainer();
         }
+    }
 
-        serviceContainers = IntStream.range(1, SERVICE_INSTANCE_COUNT + 1)
-                .mapToObj(this::createServiceContainer)
-                .collect(Collectors.toList());
+    /**
+     * The resource containers that have been created, with one container for each of the replicated resources as the
+     * replicas share the same image.
+     */
+    private List<GenericContainer> getContainersToPull() {
+        List<GenericContainer> containers = new ArrayList<>();
+        containers.add(postgresContainer);
+        containers.add(mongoDbContainer);
+        containers.add(mariaDBContainer);
+        containers.add(kafkaContainers != null ? kafkaContainers.get(0) : null);
+        containers.add(kafkaNativeContainers != null ? kafkaNativeContainers.get(0) : null);
+        containers.add(debeziumContainer);
+        containers.add(kafkaSchemaRegistryContainer);
+        containers.add(rabbitMQContainer);
+        containers.add(wiremockContainer);
+        containers.add(localstackContainer);
+        containers.add(controlCenterContainer);
+        containers.add(conduktorPostgresContainer);
+        containers.add(conduktorContainer);
+        containers.add(conduktorGatewayContainer);
+        containers.add(elasticSearchContainer);
+        containers.add(openSearchContainer);
+        containers.add(ambarContainer);
+        return containers.stream().filter(container -> container != null).collect(Collectors.toList());
+    }
 
-        additionalContainers = ADDITIONAL_CONTAINERS.stream().map(additionalContainer -> createAdditionalContainer(
-                additionalContainer.getName(),
-                additionalContainer.getPort(),
-                additionalContainer.getDebugPort(),
-                additionalContainer.getImageTag(),
-                additionalContainer.getAdditionalContainerLoggingEnabled()))
-                .collect(Collectors.toList());
+    /**
+     * Every container that has been created, including the service and additional containers.
+     */
+    private List<GenericContainer> getAllContainers() {
+        List<GenericContainer> containers = new ArrayList<>(serviceContainers);
+        containers.addAll(additionalContainers);
+        containers.add(postgresContainer);
+        containers.add(mongoDbContainer);
+        containers.add(mariaDBContainer);
+        if(kafkaContainers != null) {
+            containers.addAll(kafkaContainers);
+        }
+        if(kafkaNativeContainers != null) {
+            containers.addAll(kafkaNativeContainers);
+        }
+        containers.add(debeziumContainer);
+        containers.add(kafkaSchemaRegistryContainer);
+        containers.add(rabbitMQContainer);
+        containers.add(wiremockContainer);
+        containers.add(localstackContainer);
+        containers.add(controlCenterContainer);
+        containers.add(conduktorPostgresContainer);
+        containers.add(conduktorContainer);
+        containers.add(conduktorGatewayContainer);
+        containers.add(elasticSearchContainer);
+        containers.add(openSearchContainer);
+        containers.add(ambarContainer);
+        return containers.stream().filter(container -> container != null).collect(Collectors.toList());
     }
 
+    /**
+     * Start the containers according to their dependencies.  Resources that do not depend on each other are started
+     * concurrently, up to the configured container.startup.concurrency.
+     */
     private void startContainers() {
-        try {
-            if(POSTGRES_ENABLED) {
-                postgresContainer.start();
-            }
-            if(MONGODB_ENABLED) {
-                mongoDbContainer.start();
-            }
-            if(MARIADB_ENABLED) {
-                mariaDBContainer.start();
-            }
-            if(KAFKA_ENABLED) {
-                if(KAFKA_BROKER_COUNT>1) {
-                    // As there are multiple Kafka instances they need to use the same external Zookeeper.
-                    zookeeperContainer.start();
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+        startupReport = scheduler.getReport();
+        if(POSTGRES_ENABLED) {
+            scheduler.addNode(POSTGRES.toString(), () -> {
+                startContainer(POSTGRES.toString(), postgresContainer);
+                commitSnapshot(POSTGRES.toString(), postgresContainer);
+                if(POSTGRES_UNLOGGED_TABLES_ENABLED && !reusedContainers.contains(postgresContainer)) {
+                    // After the snapshot, as unlogged tables are emptied when a snapshot is started.
+                    runPostStartHook(POSTGRES.toString(), "unloggedTables", () -> convertPostgresTablesToUnlogged());
                 }
-                kafkaContainers.stream().forEach(container -> container.start());
-                createTopics();
-            } else if(KAFKA_NATIVE_ENABLED) {
-                kafkaNativeContainers.stream().forEach(container -> container.start());
-                createTopics();
-            }
-            if(DEBEZIUM_ENABLED) {
-                debeziumContainer.start();
-            }
-            if(KAFKA_SCHEMA_REGISTRY_ENABLED) {
-                kafkaSchemaRegistryContainer.start();
-            }
-            if(KAFKA_CONTROL_CENTER_ENABLED) {
-                controlCenterContainer.start();
-            }
-            if(CONDUKTOR_ENABLED) {
-                conduktorPostgresContainer.start();
-                conduktorContainer.start();
-            }
-            if(CONDUKTOR_GATEWAY_ENABLED) {
-                conduktorGatewayContainer.start();
-            }
-            if(RABBITMQ_ENABLED) {
-                startUpRabbitMQ();
+            });
+        }
+        if(MONGODB_ENABLED) {
+            scheduler.addNode(MONGODB.toString(), () -> startContainer(MONGODB.toString(), mongoDbContainer));
+        }
+        if(MARIADB_ENABLED) {
+            scheduler.addNode(MARIADB.toString(), () -> startContainer(MARIADB.toString(), mariaDBContainer));
+        }
+        if(KAFKA_ENABLED || KAFKA_NATIVE_ENABLED) {
+            List<GenericContainer> brokers = KAFKA_ENABLED?kafkaContainers:kafkaNativeContainers;
+            scheduler.addNode(KAFKA.toString(), () -> {
+                // A KRaft quorum is only ready once a majority of its controllers are up, so multiple brokers are
+                // always started together.
+                startReplicas(KAFKA.toString(), brokers, KAFKA_BROKER_CONCURRENT_STARTUP_ENABLED || KAFKA_BROKER_COUNT>1);
+                if(!reusedContainers.containsAll(brokers)) {
+                    runPostStartHook(KAFKA.toString(), "createTopics", () -> createTopics());
+                }
+            });
+        }
+        if(DEBEZIUM_ENABLED) {
+            scheduler.addNode(DEBEZIUM.toString(), () -> startContainer(DEBEZIUM.toString(), debeziumContainer), KAFKA.toString());
+        }
+        if(KAFKA_SCHEMA_REGISTRY_ENABLED) {
+            scheduler.addNode(KAFKA_SCHEMA_REGISTRY.toString(), () -> startContainer(KAFKA_SCHEMA_REGISTRY.toString(), kafkaSchemaRegistryContainer), KAFKA.toString());
+        }
+        // The observability UIs are either started with the rest of the containers, or in the background once the
+        // service has started, in which case Kafka and the Schema Registry are already up.
+        ContainerStartupScheduler observabilityScheduler = CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED?new ContainerStartupScheduler():scheduler;
+        List<String> observabilityDependencies = CONTAINER_OBSERVABILITY_BACKGROUND_STARTUP_ENABLED?Collections.emptyList():kafkaAndSchemaRegistryNodes();
+        if(KAFKA_CONTROL_CENTER_ENABLED) {
+            observabilityScheduler.addNode(KAFKA_CONTROL_CENTER.toString(), () -> startContainer(KAFKA_CONTROL_CENTER.toString(), controlCenterContainer), observabilityDependencies);
+        }
+        if(CONDUKTOR_ENABLED) {
+            String conduktorPostgres = CONDUKTOR + "-postgres";
+            observabilityScheduler.addNode(conduktorPostgres, () -> startContainer(conduktorPostgres, conduktorPostgresContainer));
+            List<String> conduktorDependencies = new ArrayList<>(observabilityDependencies);
+            conduktorDependencies.add(conduktorPostgres);
+            observabilityScheduler.addNode(CONDUKTOR.toString(), () -> startContainer(CONDUKTOR.toString(), conduktorContainer), conduktorDependencies);
+        }
+        if(CONDUKTOR_GATEWAY_ENABLED) {
+            scheduler.addNode(CONDUKTORGATEWAY.toString(), () -> startContainer(CONDUKTORGATEWAY.toString(), conduktorGatewayContainer), KAFKA.toString());
+        }
+        if(RABBITMQ_ENABLED) {
+            scheduler.addNode(RABBITMQ.toString(), () -> {
+                startContainer(RABBITMQ.toString(), rabbitMQContainer);
+                if(!reusedContainers.contains(rabbitMQContainer)) {
+                    runPostStartHook(RABBITMQ.toString(), "configureRabbitMQ", () -> configureRabbitMQ());
+                }
+            });
+        }
+        if(WIREMOCK_ENABLED) {
+            scheduler.addNode(WIREMOCK.toString(), () -> startContainer(WIREMOCK.toString(), wiremockContainer));
+        }
+        if(LOCALSTACK_ENABLED) {
+            scheduler.addNode(LOCALSTACK.toString(), () -> startContainer(LOCALSTACK.toString(), localstackContainer));
+        }
+        if(ELASTICSEARCH_ENABLED) {
+            scheduler.addNode(ELASTICSEARCH.toString(), () -> {
+                startContainer(ELASTICSEARCH.toString(), elasticSearchContainer);
+                commitSnapshot(ELASTICSEARCH.toString(), elasticSearchContainer);
+            });
+        }
+        if(OPENSEARCH_ENABLED && !ELASTICSEARCH_ENABLED) {
+            scheduler.addNode(OPENSEARCH.toString(), () -> startContainer(OPENSEARCH.toString(), openSearchContainer));
+        }
+        if(AMBAR_ENABLED) {
+            // The Ambar emulator reads from the data sources configured in its config file, so start it once the databases are up.
+            scheduler.addNode(AMBAR.toString(), () -> startContainer(AMBAR.toString(), ambarContainer), databaseNodes(scheduler));
+        }
+
+        // The service instances and additional containers are started once all the infrastructure is up.
+        List<String> infrastructure = scheduler.getNodeNames();
+        // On the fast start training run, the service instances are started once the first has been trained.
+        boolean fastStartTraining = serviceFastStart != null && !serviceFastStart.isTrained() && !reusedContainers.contains(serviceContainers.get(0));
+        String trainingNode = SERVICE_NAME + "-fast-start-training";
+        if(fastStartTraining) {
+            scheduler.addNode(trainingNode, () -> trainServiceFastStart(trainingNode, serviceContainers.get(0)), infrastructure);
+        }
+        List<String> serviceDependencies = fastStartTraining ? List.of(trainingNode) : infrastructure;
+        List<String> serviceNodes = new ArrayList<>();
+        if(SERVICE_INSTANCE_CONCURRENT_STARTUP_ENABLED) {
+            scheduler.addNode(SERVICE_NAME, () -> startReplicas(SERVICE_NAME, serviceContainers, true), serviceDependencies);
+            serviceNodes.add(SERVICE_NAME);
+        } else {
+            IntStream.range(0, serviceContainers.size()).forEach(index -> {
+                String node = SERVICE_NAME + "-" + (index + 1);
+                scheduler.addNode(node, () -> startContainer(node, serviceContainers.get(index)), serviceDependencies);
+                serviceNodes.add(node);
+            });
+        }
+        IntStream.range(0, additionalContainers.size()).forEach(index -> {
+            String node = ADDITIONAL_CONTAINERS.get(index).getName();
+            scheduler.addNode(node, () -> startContainer(node, additionalContainers.get(index)), infrastructure);
+        });
+
+        try {
+            scheduler.start(CONTAINER_STARTUP_CONCURRENCY);
+        } catch (Exception e) {
+            log.error("Component test containers failed to start", e);
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            startupReport.calculateCriticalPath(serviceNodes.isEmpty() ? scheduler.getNodeNames() : serviceNodes);
+            startupReport.logSummary();
+            if(CONTAINER_STARTUP_REPORT_ENABLED) {
+                startupReport.write(Paths.get(CONTAINER_STARTUP_REPORT_PATH));
             }
-            if(WIREMOCK_ENABLED) {
-                wiremockContainer.start();
+        }
+        if(observabilityScheduler != scheduler && !observabilityScheduler.getNodeNames().isEmpty()) {
+            startInBackground(observabilityScheduler);
+        }
+    }
+
+    /**
+     * Start the observability containers on a background thread so that the tests can begin straight away.  Their
+     * ports are captured once they are ready.  A failure is logged rather than failing the tests, as neither the
+     * service nor the tests depend on them.
+     */
+    private void startInBackground(ContainerStartupScheduler backgroundScheduler) {
+        backgroundReport = backgroundScheduler.getReport();
+        Thread thread = new Thread(() -> {
+            try {
+                backgroundScheduler.start(CONTAINER_STARTUP_CONCURRENCY);
+                DockerManager.captureObservabilityContainerPorts(DockerManager.getDockerClient(), true);
+                log.info("Started background containers: {}", backgroundScheduler.getNodeNames());
+            } catch (Exception e) {
+                log.error("Background containers failed to start: {}", backgroundScheduler.getNodeNames(), e);
+            } finally {
+                backgroundReport.logSummary();
             }
-            if(LOCALSTACK_ENABLED) {
-                localstackContainer.start();
+        }, "ctf-background-startup");
+        thread.setDaemon(true);
+        log.info("Starting containers in the background: {}", backgroundScheduler.getNodeNames());
+        thread.start();
+    }
+
+    /**
+     * The report the node's timings are recorded in, which is separate for the containers started in the background.
+     */
+    private ContainerStartupReport reportFor(String node) {
+        return backgroundReport != null && backgroundReport.hasNode(node) ? backgroundReport : startupReport;
+    }
+
+    private void startContainer(String node, GenericContainer container) throws Exception {
+        startReplicas(node, Collections.singletonList(container), false);
+    }
+
+    /**
+     * Start the replicas of a resource, such as the Kafka brokers or the service instances.  When concurrent, all the
+     * replicas are started as one group and this returns once every replica has passed its wait strategy.
+     */
+    private void startReplicas(String node, List<GenericContainer> replicas, boolean concurrent) throws Exception {
+        List<GenericContainer> containers = replicas.stream()
+                .filter(container -> !reusedContainers.contains(container))
+                .collect(Collectors.toList());
+        if(containers.size() < replicas.size()) {
+            log.info("Reusing {} running {} container(s) with matching configuration", replicas.size() - containers.size(), node);
+        }
+        if(concurrent && containers.size()>1) {
+            List<Long> imageTimes = new ArrayList<>();
+            List<Long> imageResolvedTimes = new ArrayList<>();
+            for (GenericContainer container : containers) {
+                imageTimes.add(System.currentTimeMillis());
+                container.getDockerImageName();
+                imageResolvedTimes.add(System.currentTimeMillis());
             }
-            if(ELASTICSEARCH_ENABLED) {
-                elasticSearchContainer.start();
+            try {
+                Startables.deepStart(containers).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
             }
-            if(OPENSEARCH_ENABLED) {
-                openSearchContainer.start();
+            long readyTime = System.currentTimeMillis();
+            IntStream.range(0, containers.size()).forEach(index ->
+                    recordContainerPhases(node, containers.get(index), imageTimes.get(index), imageResolvedTimes.get(index), readyTime));
+        } else {
+            for (GenericContainer container : containers) {
+                long imageTime = System.currentTimeMillis();
+                // Resolving the image name pulls the image if it is not present locally.
+                container.getDockerImageName();
+                long imageResolvedTime = System.currentTimeMillis();
+                container.start();
+                recordContainerPhases(node, container, imageTime, imageResolvedTime, System.currentTimeMillis());
             }
-            if(AMBAR_ENABLED) {
-                ambarContainer.start();
+        }
+    }
+
+    /**
+     * The create and start phases are taken from the timestamps Docker records for the container.  If the container
+     * was reused, or the Docker host's clock is out of step, these cannot be separated from the readiness wait so the
+     * time after resolving the image is all recorded as readiness.
+     */
+    private void recordContainerPhases(String node, GenericContainer container, long imageTime, long imageResolvedTime, long readyTime) {
+        String containerName = container.getContainerName().replaceFirst("^/", "");
+        reportFor(node).recordPhase(node, containerName, ContainerStartupReport.PHASE_IMAGE, imageResolvedTime - imageTime);
+        InspectContainerResponse containerInfo = container.getContainerInfo();
+        long createdTime = parseDockerTimestamp(containerInfo.getCreated());
+        long startedTime = parseDockerTimestamp(containerInfo.getState().getStartedAt());
+        if(createdTime > 0 && createdTime >= imageResolvedTime - DOCKER_CLOCK_TOLERANCE_MILLIS && startedTime >= createdTime) {
+            reportFor(node).recordPhase(node, containerName, ContainerStartupReport.PHASE_CREATE, createdTime - imageResolvedTime);
+            reportFor(node).recordPhase(node, containerName, ContainerStartupReport.PHASE_START, startedTime - createdTime);
+            reportFor(node).recordPhase(node, containerName, ContainerStartupReport.PHASE_READINESS, readyTime - startedTime);
+        } else {
+            reportFor(node).recordPhase(node, containerName, ContainerStartupReport.PHASE_READINESS, readyTime - imageResolvedTime);
+        }
+    }
+
+    private long parseDockerTimestamp(String timestamp) {
+        try {
+            return timestamp != null ? Instant.parse(timestamp).toEpochMilli() : -1;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * If snapshots are enabled and the resource container was not created from a snapshot, commit it now it has been
+     * initialised so that later runs with the same configuration can start from the snapshot.
+     */
+    private void commitSnapshot(String node, GenericContainer container) throws Exception {
+        DockerImageName snapshotImage = pendingSnapshots.remove(node);
+        if(snapshotImage == null || reusedContainers.contains(container)) {
+            return;
+        }
+        runPostStartHook(node, "snapshot", () -> {
+            if(container instanceof PostgreSQLContainer) {
+                // Write the data to disk so that the snapshot starts without crash recovery.
+                container.execInContainer("psql", "-U", POSTGRES_USERNAME, "-d", POSTGRES_DATABASE_NAME, "-c", "CHECKPOINT");
             }
-            serviceContainers.stream().forEach(container -> container.start());
-            additionalContainers.stream().forEach(container -> container.start());
-        } catch (Exception e) {
-            log.error("Component test containers failed to start", e);
-            throw new RuntimeException(e.getMessage(), e);
+            snapshots.commit(container, snapshotImage);
+        });
+    }
+
+    /**
+     * Run a step that completes a resource's startup once its container is up, such as creating the Kafka topics,
+     * recording its duration against the resource's node.
+     */
+    private void runPostStartHook(String node, String hook, ContainerStartupScheduler.StartupTask task) throws Exception {
+        long startTime = System.currentTimeMillis();
+        try {
+            task.start();
+        } finally {
+            reportFor(node).recordPhase(node, node, hook, System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private List<String> kafkaAndSchemaRegistryNodes() {
+        List<String> nodes = new ArrayList<>();
+        nodes.add(KAFKA.toString());
+        if(KAFKA_SCHEMA_REGISTRY_ENABLED) {
+            nodes.add(KAFKA_SCHEMA_REGISTRY.toString());
         }
+        return nodes;
+    }
+
+    private List<String> databaseNodes(ContainerStartupScheduler scheduler) {
+        return scheduler.getNodeNames().stream()
+                .filter(node -> node.equals(POSTGRES.toString()) || node.equals(MONGODB.toString()) || node.equals(MARIADB.toString()))
+                .collect(Collectors.toList());
     }
 
     private GenericContainer createServiceContainer(int instance) {
         String containerName = SERVICE_NAME+"-"+instance;
-        String suspendFlag = SERVICE_DEBUG_SUSPEND ? "y" : "n";
-        String javaOpts = "-agentlib:jdwp=transport=dt_socket,server=y,suspend=" + suspendFlag + ",address=*:"+SERVICE_DEBUG_PORT+" -Xms512m -Xmx512m -Djava.security.egd=file:/dev/./urandom -D"+SERVICE_CONFIG_FILES_SYSTEM_PROPERTY+"=file:/application.yml";
-        SERVICE_ENV_VARS.put("JAVA_OPTS", javaOpts);
+        boolean debug = SERVICE_DEBUG_ENABLED || SERVICE_DEBUG_SUSPEND;
+        SERVICE_ENV_VARS.put("JAVA_OPTS", serviceJavaOpts(debug));
 
-        GenericContainer container = new GenericContainer<>(CONTAINER_NAME_PREFIX+"/"+SERVICE_NAME+":" + SERVICE_IMAGE_TAG)
+        String image = CONTAINER_NAME_PREFIX+"/"+SERVICE_NAME+":" + SERVICE_IMAGE_TAG;
+        GenericContainer container = new GenericContainer<>(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image)
                 .withEnv(SERVICE_ENV_VARS)
                 .withLabel(CONTAINER_MAIN_LABEL_KEY, CONTAINER_MAIN_LABEL_NAME)
                 .withFileSystemBind(SERVICE_APPLICATION_YML_PATH, "/application.yml", BindMode.READ_ONLY)
-                .withExposedPorts(SERVICE_PORT, SERVICE_DEBUG_PORT)
+                .withExposedPorts(SERVICE_PORT)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
 
         SERVICE_ADDITIONAL_FILESYSTEM_BINDS.keySet().forEach(source -> container.withFileSystemBind(source, SERVICE_ADDITIONAL_FILESYSTEM_BINDS.get(source), BindMode.READ_ONLY));
+        if(debug) {
+            container.addExposedPort(SERVICE_DEBUG_PORT);
+        }
+        if(SERVICE_JFR_ENABLED) {
+            ServiceProfiler.withRepository(container, containerName);
+        }
         if(SERVICE_APPLICATION_ARGS != null) {
             container.withEnv("APP_ARGS", SERVICE_APPLICATION_ARGS);
         }
+        if(!SERVICE_FAST_START_MODE.equals(ServiceFastStart.MODE_NONE)) {
+            if(instance == 1) {
+                serviceFastStart = new ServiceFastStart(DockerManager.getDockerClient(), SERVICE_FAST_START_MODE,
+                        Paths.get(SERVICE_FAST_START_DIRECTORY), image, ContainerFingerprint.of(container));
+            }
+            serviceFastStart.configure(container, serviceJavaOpts(debug));
+        }
         if (SERVICE_STARTUP_LOG_MESSAGE != null) {
             container.waitingFor(Wait.forLogMessage(SERVICE_STARTUP_LOG_MESSAGE, 1))
                     .withStartupTimeout(Duration.ofSeconds(SERVICE_STARTUP_TIMEOUT_SECONDS));
+        } else if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(adaptiveWaitStrategy(containerName,
+                    ReadinessProbes.http(SERVICE_PORT, SERVICE_STARTUP_HEALTH_ENDPOINT, 200),
+                    Duration.ofSeconds(SERVICE_STARTUP_TIMEOUT_SECONDS)));
         } else {
             container.waitingFor(Wait.forHttp(SERVICE_STARTUP_HEALTH_ENDPOINT)
                     .forPort(SERVICE_PORT)
@@ -315,25 +895,63 @@ public final class TestcontainersManager {
         return container;
     }
 
+    private String serviceJavaOpts(boolean debug) {
+        String javaOpts = "-Xms" + SERVICE_HEAP_SIZE + " -Xmx" + SERVICE_HEAP_SIZE + " -Djava.security.egd=file:/dev/./urandom -D"+SERVICE_CONFIG_FILES_SYSTEM_PROPERTY+"=file:/application.yml";
+        if(debug) {
+            String suspendFlag = SERVICE_DEBUG_SUSPEND ? "y" : "n";
+            javaOpts = "-agentlib:jdwp=transport=dt_socket,server=y,suspend=" + suspendFlag + ",address=*:"+SERVICE_DEBUG_PORT+" " + javaOpts;
+        }
+        if(SERVICE_JFR_ENABLED) {
+            javaOpts = javaOpts + " " + ServiceProfiler.javaOpts();
+        }
+        return javaOpts;
+    }
+
+    /**
+     * Start the first service instance to create the fast start archive or checkpoint from it, then configure every
+     * instance to start from it, the first ready to be recreated along with the other instances.
+     */
+    private void trainServiceFastStart(String node, GenericContainer container) throws Exception {
+        startContainer(node, container);
+        try {
+            runPostStartHook(node, "fastStartTraining", () -> serviceFastStart.train(container));
+        } finally {
+            container.stop();
+        }
+        // The other instances were configured to train too, so would otherwise overwrite the archive or checkpoint.
+        for (GenericContainer serviceContainer : serviceContainers) {
+            serviceFastStart.withJavaOpts(serviceContainer, serviceJavaOpts(SERVICE_DEBUG_ENABLED || SERVICE_DEBUG_SUSPEND));
+            serviceContainer.withLabel(ContainerFingerprint.FINGERPRINT_LABEL_KEY, ContainerFingerprint.of(serviceContainer));
+        }
+    }
+
     private GenericContainer createAdditionalContainer(String name, Integer port, Integer debugPort, String imageTag, boolean containerLoggingEnabled) {
         String javaOpts = "-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=*:"+debugPort+" -Xms512m -Xmx512m -Djava.security.egd=file:/dev/./urandom -Dspring.config.additional-location=file:/application.yml";
+        if(SERVICE_JFR_ENABLED) {
+            javaOpts = javaOpts + " " + ServiceProfiler.javaOpts();
+        }
 
-        GenericContainer container = new GenericContainer<>(CONTAINER_NAME_PREFIX+"/"+name+":" + imageTag)
+        String image = CONTAINER_NAME_PREFIX+"/"+name+":" + imageTag;
+        GenericContainer container = new GenericContainer<>(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image)
                 .withEnv("JAVA_OPTS", javaOpts)
                 .withLabel("additional-container-label", "additional-container")
                 .withFileSystemBind("./target/test-classes/"+name+"/application-component-test.yml", "/application.yml", BindMode.READ_ONLY)
                 .withExposedPorts(port, debugPort)
                 .withNetwork(network)
                 .withNetworkAliases(name)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + name + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + name;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(name))
                 .withReuse(true)
                 .waitingFor(Wait.forHttp("/actuator/health")
                         .forPort(port)
                         .forStatusCode(200)
                         .withStartupTimeout(Duration.ofSeconds(SERVICE_STARTUP_TIMEOUT_SECONDS)));
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(adaptiveWaitStrategy(name, ReadinessProbes.http(port, "/actuator/health", 200), Duration.ofSeconds(SERVICE_STARTUP_TIMEOUT_SECONDS)));
+        }
+        if(SERVICE_JFR_ENABLED) {
+            ServiceProfiler.withRepository(container, name);
+        }
         if(containerLoggingEnabled) {
             container.withLogConsumer(getLogConsumer(name));
         }
@@ -345,37 +963,76 @@ public final class TestcontainersManager {
 
         // If Debezium is enabled, use the Debezium / Postgres container.  Without it Debezium fails due to the wal_level property (logical vs replica).
         DockerImageName dockerImageName = DEBEZIUM_ENABLED?DockerImageName.parse("debezium/postgres").asCompatibleSubstituteFor("postgres"):DockerImageName.parse("postgres");
-        GenericContainer container = new PostgreSQLContainer<>(dockerImageName.withTag(POSTGRES_IMAGE_TAG))
+        DockerImageName postgresImage = dockerImageName.withTag(POSTGRES_IMAGE_TAG);
+        DockerImageName snapshotImage = null;
+        boolean fromSnapshot = false;
+        if(CONTAINER_SNAPSHOT_ENABLED) {
+            snapshotImage = ContainerSnapshots.snapshotImage(containerName, postgresImage.asCanonicalNameString(),
+                    POSTGRES_DATABASE_NAME, POSTGRES_USERNAME, POSTGRES_PASSWORD, readClasspathResource(POSTGRES_SCHEMA_FILE_PATH));
+            fromSnapshot = snapshots.exists(snapshotImage);
+        }
+        DockerImageName image = fromSnapshot?snapshotImage.asCompatibleSubstituteFor("postgres"):postgresImage;
+        GenericContainer container = new PostgreSQLContainer<>(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image.asCanonicalNameString())
                 .withDatabaseName(POSTGRES_DATABASE_NAME)
                 .withUsername(POSTGRES_USERNAME)
                 .withPassword(POSTGRES_PASSWORD)
                 .withNetwork(network)
                 .withNetworkAliases(POSTGRES_HOST_NAME)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withReuse(true)
                 .withExposedPorts(POSTGRES_PORT);
+        if(CONTAINER_SNAPSHOT_ENABLED) {
+            // The image declares the default data directory as a volume, and volumes are not included in a snapshot.
+            container.withEnv("PGDATA", POSTGRES_SNAPSHOT_DATA_DIRECTORY);
+        }
+        if(PERFORMANCE_PROFILE_FAST.equals(POSTGRES_PERFORMANCE_PROFILE)) {
+            String[] command = {"postgres",
+                    "-c", "fsync=off",
+                    "-c", "synchronous_commit=off",
+                    "-c", "full_page_writes=off",
+                    "-c", "shared_buffers=" + POSTGRES_SHARED_BUFFERS,
+                    "-c", "work_mem=" + POSTGRES_WORK_MEM};
+            log.info("Starting {} with the {} performance profile: {}", containerName, POSTGRES_PERFORMANCE_PROFILE, String.join(" ", command));
+            container.setCommand(command);
+        }
+        if(fromSnapshot) {
+            // The database is already initialised so only reports that it is ready once.
+            container.waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\s", 1));
+        }
+        // The JDBC driver is only present if the project depends on it, otherwise the default wait strategy is used.
+        if(CONTAINER_READINESS_PROBES_ENABLED && isClassPresent(((PostgreSQLContainer)container).getDriverClassName())) {
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.jdbc(), READINESS_PROBE_STARTUP_TIMEOUT));
+        }
         if(POSTGRES_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
-        if(POSTGRES_SCHEMA_FILE_PATH != null) {
+        if(POSTGRES_SCHEMA_FILE_PATH != null && !fromSnapshot) {
             ((PostgreSQLContainer)container).withInitScript(POSTGRES_SCHEMA_FILE_PATH);
         }
+        if(!CONTAINER_SNAPSHOT_ENABLED) {
+            // The snapshot holds the data, so it cannot be on tmpfs.
+            withTmpfsDataDirectory(container, containerName, POSTGRES_TMPFS_ENABLED, POSTGRES_DATA_DIRECTORY);
+        }
+        ContainerFingerprint.withDatabaseConfiguration((PostgreSQLContainer<?>)container, readClasspathResource(POSTGRES_SCHEMA_FILE_PATH));
+        if(CONTAINER_SNAPSHOT_ENABLED && !fromSnapshot) {
+            pendingSnapshots.put(containerName, snapshotImage);
+        }
         return container;
     }
 
     private MongoDBContainer createMongoDBContainer() {
         String containerName = MONGODB.toString();
         MongoDBContainer container = new MongoDBContainer("mongo:" + MONGODB_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "mongo:" + MONGODB_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.mongoPing(), READINESS_PROBE_STARTUP_TIMEOUT));
+        }
+        withTmpfsDataDirectory(container, containerName, MONGODB_TMPFS_ENABLED, MONGODB_DATA_DIRECTORY);
         if(MONGODB_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -385,14 +1042,30 @@ public final class TestcontainersManager {
     private MariaDBContainer createMariaDBContainer() {
         String containerName = MARIADB.toString();
 
-        var container = new MariaDBContainer<>("mariadb:" + MARIADB_IMAGE_TAG)
-                .withNetwork(network)
+        DockerImageName mariaDBImage = DockerImageName.parse("mariadb").withTag(MARIADB_IMAGE_TAG);
+        MariaDBContainer<?> container;
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container = new ReadinessProbedMariaDBContainer(mariaDBImage);
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.jdbc(), READINESS_PROBE_STARTUP_TIMEOUT));
+        } else {
+            container = new MariaDBContainer<>(mariaDBImage);
+        }
+        container.withNetwork(network)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, mariaDBImage.asCanonicalNameString())
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
+        if(PERFORMANCE_PROFILE_FAST.equals(MARIADB_PERFORMANCE_PROFILE)) {
+            // The image passes arguments starting with -- to mysqld.
+            String[] command = {"--innodb-flush-log-at-trx-commit=0",
+                    "--sync-binlog=0",
+                    "--innodb-doublewrite=0",
+                    "--innodb-buffer-pool-size=" + MARIADB_INNODB_BUFFER_POOL_SIZE};
+            log.info("Starting {} with the {} performance profile: {}", containerName, MARIADB_PERFORMANCE_PROFILE, String.join(" ", command));
+            container.withCommand(command);
+        }
+        withTmpfsDataDirectory(container, containerName, MARIADB_TMPFS_ENABLED, MARIADB_DATA_DIRECTORY);
+        ContainerFingerprint.withDatabaseConfiguration(container);
         if(MARIADB_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -400,22 +1073,24 @@ public final class TestcontainersManager {
     }
 
     /**
-     * Standard Kafka and Zookeeper.
+     * Standard Kafka, with embedded Zookeeper for a single broker, or as a KRaft quorum for multiple brokers.
      */
     private GenericContainer createKafkaContainer(int instance) {
         final String containerName = instance==1?KAFKA.toString():KAFKA+"-"+instance;
-       GenericContainer container = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka").withTag(KAFKA_CONFLUENT_IMAGE_TAG))
+        DockerImageName image = DockerImageName.parse("confluentinc/cp-kafka").withTag(KAFKA_CONFLUENT_IMAGE_TAG);
+        GenericContainer container = new KafkaContainer(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image.asCanonicalNameString())
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
         container = configureCommonKafkaContainerEnv(container, instance);
         if(KAFKA_BROKER_COUNT>1) {
-            // As there are multiple Kafka instances they need to use the same external Zookeeper.
-            ((KafkaContainer)container).withExternalZookeeper("zookeeper:2181");
+            ((KafkaContainer)container).withKraft();
+            withKraftQuorum(container);
+        }
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(kafkaReadinessProbe(container, containerName));
         }
         if(KAFKA_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
@@ -430,15 +1105,19 @@ public final class TestcontainersManager {
         final String containerName = instance==1?KAFKA.toString():KAFKA+"-"+instance;
         DockerImageName nativeImage = DockerImageName.parse("apache/kafka-native").asCompatibleSubstituteFor("apache/kafka");
         GenericContainer container = new org.testcontainers.kafka.KafkaContainer(nativeImage.withTag(KAFKA_APACHE_NATIVE_IMAGE_TAG))
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, nativeImage.withTag(KAFKA_APACHE_NATIVE_IMAGE_TAG).asCanonicalNameString())
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withEnv("KAFKA_PROCESS_ROLES", "broker,controller");
         container = configureCommonKafkaContainerEnv(container, instance);
+        if(KAFKA_BROKER_COUNT>1) {
+            withKraftQuorum(container);
+        }
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(kafkaReadinessProbe(container, containerName));
+        }
         if(KAFKA_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -454,6 +1133,7 @@ public final class TestcontainersManager {
         final String containerName = instance==1?KAFKA.toString():KAFKA+"-"+instance;
         DockerImageName cpServerImage = DockerImageName.parse("confluentinc/cp-server").asCompatibleSubstituteFor("confluentinc/cp-kafka");
         GenericContainer container = new KafkaContainer(cpServerImage.withTag(KAFKA_CONFLUENT_IMAGE_TAG))
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, cpServerImage.withTag(KAFKA_CONFLUENT_IMAGE_TAG).asCanonicalNameString())
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withEnv("KAFKA_CONFLUENT_LICENSE_TOPIC_REPLICATION_FACTOR", "1")
@@ -465,15 +1145,15 @@ public final class TestcontainersManager {
                 .withEnv("KAFKA_METRIC_REPORTERS", "io.confluent.metrics.reporter.ConfluentMetricsReporter")
                 .withEnv("CONFLUENT_METRICS_ENABLE", "true")
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
                 container.withEnv("KAFKA_METRIC_REPORTERS", "io.confluent.metrics.reporter.ConfluentMetricsReporter");
         container = configureCommonKafkaContainerEnv(container, instance);
         if(KAFKA_BROKER_COUNT>1) {
-            // As there are multiple Kafka instances they need to use the same external Zookeeper.
-            ((KafkaContainer)container).withExternalZookeeper("zookeeper:2181");
+            ((KafkaContainer)container).withKraft();
+            withKraftQuorum(container);
+        }
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(kafkaReadinessProbe(container, containerName));
         }
         if(KAFKA_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
@@ -481,6 +1161,52 @@ public final class TestcontainersManager {
         return container;
     }
 
+    /**
+     * Each broker is also a controller, with the controllers of all the brokers forming the KRaft quorum.  The
+     * Testcontainers Kafka containers configure a quorum of the container alone when they start, so the voters are
+     * replaced once the container has been configured.
+     */
+    private void withKraftQuorum(GenericContainer<?> container) {
+        String voters = IntStream.range(1, KAFKA_BROKER_COUNT + 1)
+                .mapToObj(instance -> instance + "@" + (instance==1?KAFKA.toString():KAFKA+"-"+instance) + ":" + KAFKA_CONTROLLER_PORT)
+                .collect(Collectors.joining(","));
+        container.withEnv("KAFKA_CONTROLLER_QUORUM_VOTERS", voters)
+                .withCreateContainerCmdModifier(cmd -> {
+                    List<String> env = Arrays.stream(cmd.getEnv())
+                            .filter(variable -> !variable.startsWith("KAFKA_CONTROLLER_QUORUM_VOTERS="))
+                            .collect(Collectors.toList());
+                    env.add("KAFKA_CONTROLLER_QUORUM_VOTERS=" + voters);
+                    cmd.withEnv(env);
+                });
+    }
+
+    static void validatePerformanceProfiles() {
+        validatePerformanceProfile("postgres.performance.profile", POSTGRES_PERFORMANCE_PROFILE);
+        validatePerformanceProfile("mariadb.performance.profile", MARIADB_PERFORMANCE_PROFILE);
+        // Unlogged tables are not written to the write-ahead log, so logical decoding emits no change events for them.
+        if(POSTGRES_UNLOGGED_TABLES_ENABLED && DEBEZIUM_ENABLED) {
+            throw new RuntimeException("postgres.unlogged.tables.enabled: "+POSTGRES_UNLOGGED_TABLES_ENABLED+" - must be false when debezium.enabled is true, as Debezium captures no changes to unlogged tables");
+        }
+    }
+
+    private static void validatePerformanceProfile(String key, String profile) {
+        if(!PERFORMANCE_PROFILE_DEFAULT.equals(profile) && !PERFORMANCE_PROFILE_FAST.equals(profile)) {
+            throw new RuntimeException(key+": "+profile+" - must be one of: "+PERFORMANCE_PROFILE_DEFAULT+", "+PERFORMANCE_PROFILE_FAST);
+        }
+    }
+
+    /**
+     * Mount the container's data directory on tmpfs, if enabled for the resource or globally, to avoid the fsync and
+     * copy-on-write overhead of writing to the container's filesystem.  The data does not survive the container
+     * being removed, which does not matter for component tests.
+     */
+    private void withTmpfsDataDirectory(GenericContainer container, String containerName, boolean enabled, String dataDirectory) {
+        if(enabled || CONTAINER_TMPFS_ENABLED) {
+            log.info("Mounting {} data directory {} on tmpfs ({}MB)", containerName, dataDirectory, CONTAINER_TMPFS_SIZE_MB);
+            container.withTmpFs(Collections.singletonMap(dataDirectory, "rw,size=" + CONTAINER_TMPFS_SIZE_MB + "m"));
+        }
+    }
+
     /**
      * Set up the Env that is the same for both the Confluent cp-kafka and cp-server container types.
      */
@@ -505,6 +1231,11 @@ public final class TestcontainersManager {
             kafkaContainer.withEnv("KAFKA_LISTENER_NAME_PLAINTEXT_SASL_ENABLED_MECHANISMS", "PLAIN");
             kafkaContainer.withEnv("KAFKA_LISTENER_NAME_PLAINTEXT_PLAIN_SASL_JAAS_CONFIG", jaasConfig);
         }
+        if(KAFKA_TMPFS_ENABLED || CONTAINER_TMPFS_ENABLED) {
+            // The Apache native image does not default its log directory to the data directory.
+            kafkaContainer.withEnv("KAFKA_LOG_DIRS", KAFKA_DATA_DIRECTORY);
+            withTmpfsDataDirectory(kafkaContainer, instance==1?KAFKA.toString():KAFKA+"-"+instance, true, KAFKA_DATA_DIRECTORY);
+        }
 
         return kafkaContainer
                 .withEnv("KAFKA_BROKER_ID", String.valueOf(instance))
@@ -519,32 +1250,17 @@ public final class TestcontainersManager {
     }
 
 
-    private GenericContainer createZookeeperContainer() {
-        return new GenericContainer<>("confluentinc/cp-zookeeper:4.0.0")
-                .withNetwork(network)
-                .withNetworkAliases("zookeeper")
-                .withEnv("ZOOKEEPER_CLIENT_PORT", "2181")
-                .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-zookeeper-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-zookeeper";
-                    cmd.withName(containerCmdModifier);
-                });
-    }
-
     private DebeziumContainer createDebeziumContainer() {
         String containerName = DEBEZIUM.toString();
         int kafkaInternalPort = KAFKA_ENABLED?KAFKA_INTERNAL_PORT:KAFKA_NATIVE_INTERNAL_PORT;
         DebeziumContainer container = new DebeziumContainer(DockerImageName.parse("debezium/connect").withTag(DEBEZIUM_IMAGE_TAG))
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "debezium/connect:" + DEBEZIUM_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withKafka(network, KAFKA+":"+kafkaInternalPort)
                 .withExposedPorts(DEBEZIUM_PORT)
-                .dependsOn(KAFKA_ENABLED?kafkaContainers.get(0):kafkaNativeContainers.get(0))
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
         if(DEBEZIUM_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -555,18 +1271,15 @@ public final class TestcontainersManager {
         String containerName = KAFKA_SCHEMA_REGISTRY.toString().replace("_", "-");
         int kafkaInternalPort = KAFKA_ENABLED?KAFKA_INTERNAL_PORT:KAFKA_NATIVE_INTERNAL_PORT;
         GenericContainer container = new GenericContainer<>("confluentinc/cp-schema-registry:" + KAFKA_SCHEMA_REGISTRY_CONFLUENT_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "confluentinc/cp-schema-registry:" + KAFKA_SCHEMA_REGISTRY_CONFLUENT_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withExposedPorts(KAFKA_SCHEMA_REGISTRY_PORT)
                 .withEnv("SCHEMA_REGISTRY_HOST_NAME", containerName)
                 .withEnv("SCHEMA_REGISTRY_KAFKASTORE_BOOTSTRAP_SERVERS", KAFKA+":"+kafkaInternalPort)
                 .withEnv("SCHEMA_REGISTRY_LISTENERS", "http://0.0.0.0:"+KAFKA_SCHEMA_REGISTRY_PORT)
-                .withReuse(true)
-                .dependsOn(KAFKA_ENABLED?kafkaContainers.get(0):kafkaNativeContainers.get(0));
+                .withReuse(true);
         if(KAFKA_SCHEMA_REGISTRY_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -575,7 +1288,7 @@ public final class TestcontainersManager {
 
     private GenericContainer createControlCenterContainer() {
         String containerName = KAFKA_CONTROL_CENTER.toString().replace("_", "-");
-        String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
+        String containerCmdModifier = containerName(containerName);
         Consumer<CreateContainerCmd> cmd = e -> {
             // Force host port to be KAFKA_CONTROL_CENTER_PORT.
             e.withHostConfig(e.getHostConfig().withPortBindings(new PortBinding(Ports.Binding.bindPort(KAFKA_CONTROL_CENTER_PORT),
@@ -585,6 +1298,7 @@ public final class TestcontainersManager {
 
         int kafkaInternalPort = KAFKA_ENABLED?KAFKA_INTERNAL_PORT:KAFKA_NATIVE_INTERNAL_PORT;
         GenericContainer container = new GenericContainer<>("confluentinc/cp-enterprise-control-center:" + KAFKA_CONTROL_CENTER_CONFLUENT_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "confluentinc/cp-enterprise-control-center:" + KAFKA_CONTROL_CENTER_CONFLUENT_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withCreateContainerCmdModifier(cmd)
@@ -609,14 +1323,13 @@ public final class TestcontainersManager {
 
     private GenericContainer createConduktorPostgresContainer() {
         String containerName = CONDUKTOR + "-postgres";
-        String containerCmdModifier =
-                CONTAINER_APPEND_GROUP_ID ? CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID
-                        : CONTAINER_NAME_PREFIX + "-" + containerName;
+        String containerCmdModifier = containerName(containerName);
         Consumer<CreateContainerCmd> cmd = e -> {
             e.withName(containerCmdModifier);
         };
 
         return new GenericContainer<>(CONDUKTOR_POSTGRES_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, CONDUKTOR_POSTGRES_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withCreateContainerCmdModifier(cmd)
@@ -630,7 +1343,7 @@ public final class TestcontainersManager {
     private GenericContainer createConduktorContainer() {
         String containerName = CONDUKTOR.toString();
         int containerExposedPort = 8080;
-        String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
+        String containerCmdModifier = containerName(containerName);
         Consumer<CreateContainerCmd> cmd = e -> {
             // Force host port to be CONDUKTOR_PORT.
             e.withHostConfig(e.getHostConfig().withPortBindings(new PortBinding(Ports.Binding.bindPort(CONDUKTOR_PORT),
@@ -640,6 +1353,7 @@ public final class TestcontainersManager {
 
         int kafkaInternalPort = KAFKA_ENABLED?KAFKA_INTERNAL_PORT:KAFKA_NATIVE_INTERNAL_PORT;
         GenericContainer container = new GenericContainer<>("conduktor/conduktor-platform:" + CONDUKTOR_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "conduktor/conduktor-platform:" + CONDUKTOR_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withCreateContainerCmdModifier(cmd)
@@ -673,12 +1387,10 @@ public final class TestcontainersManager {
 
         int kafkaInternalPort = KAFKA_ENABLED?KAFKA_INTERNAL_PORT:KAFKA_NATIVE_INTERNAL_PORT;
         GenericContainer container = new GenericContainer<>("conduktor/conduktor-gateway:" + CONDUKTOR_GATEWAY_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "conduktor/conduktor-gateway:" + CONDUKTOR_GATEWAY_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withEnv("KAFKA_BOOTSTRAP_SERVERS", KAFKA+":"+ kafkaInternalPort)
                 .withEnv("GATEWAY_HOST", CONDUKTORGATEWAY.toString())
                 .withEnv("GATEWAY_PORT_RANGE", CONDUKTOR_GATEWAY_PROXY_PORT+":"+CONDUKTOR_GATEWAY_PROXY_PORT)
@@ -698,24 +1410,34 @@ public final class TestcontainersManager {
     private RabbitMQContainer createRabbitMQContainer() {
         String containerName = RABBITMQ.toString();
         RabbitMQContainer container = new RabbitMQContainer("rabbitmq:" + RABBITMQ_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "rabbitmq:" + RABBITMQ_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
         if(RABBITMQ_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
         return container;
     }
 
+    /**
+     * Convert the tables created by the schema script to unlogged, so that writes to them skip the write-ahead log.
+     * A table can only be converted once no logged table references it, so the conversion is repeated until no more
+     * tables can be converted.
+     */
+    private void convertPostgresTablesToUnlogged() throws Exception {
+        ExecResult result = postgresContainer.execInContainer("psql", "-U", POSTGRES_USERNAME, "-d", POSTGRES_DATABASE_NAME, "-v", "ON_ERROR_STOP=1", "-c", POSTGRES_UNLOGGED_TABLES_SQL);
+        if(result.getExitCode() != 0) {
+            throw new RuntimeException("Failed to convert the Postgres tables to unlogged: " + result.getStderr());
+        }
+        log.info("Converted the Postgres tables to unlogged");
+    }
+
     /**
      * Configure the user/password.
      */
-    private void startUpRabbitMQ() throws Exception {
-        rabbitMQContainer.start();
+    private void configureRabbitMQ() throws Exception {
         rabbitMQContainer.execInContainer(
             "rabbitmqadmin", "declare", "user",
             "name="+RABBITMQ_USERNAME, "password="+RABBITMQ_PASSWORD, "tags="
@@ -730,17 +1452,18 @@ public final class TestcontainersManager {
     private GenericContainer createWiremockContainer() {
         String containerName = WIREMOCK.toString();
         GenericContainer container = new GenericContainer<>("wiremock/wiremock:" + WIREMOCK_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "wiremock/wiremock:" + WIREMOCK_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withClasspathResourceMapping("/wiremock", "/home/wiremock/mappings", BindMode.READ_WRITE)
                 .withExposedPorts(WIREMOCK_PORT)
                 .withEnv("WIREMOCK_OPTIONS", WIREMOCK_OPTIONS)
                 .withReuse(true)
                 .waitingFor(Wait.forHttp("/health").forStatusCode(204));
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.http(WIREMOCK_PORT, "/health", 204), READINESS_PROBE_STARTUP_TIMEOUT));
+        }
         if(WIREMOCK_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -750,12 +1473,10 @@ public final class TestcontainersManager {
     private GenericContainer createLocalstackContainer() {
         String containerName = LOCALSTACK.toString();
         GenericContainer container = new GenericContainer<>("localstack/localstack:" + LOCALSTACK_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "localstack/localstack:" + LOCALSTACK_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withEnv("SERVICES", LOCALSTACK_SERVICES)
                 .withReuse(true)
                 .withExposedPorts(LOCALSTACK_PORT);
@@ -771,24 +1492,40 @@ public final class TestcontainersManager {
     private GenericContainer createElasticsearchContainer() {
         String containerName = ELASTICSEARCH.toString();
         DockerImageName elasticsearchImage = DockerImageName.parse("elastic/elasticsearch").asCompatibleSubstituteFor("docker.elastic.co/elasticsearch/elasticsearch");
-        ElasticsearchContainer container = new ElasticsearchContainer(elasticsearchImage.withTag(ELASTICSEARCH_IMAGE_TAG))
+        DockerImageName snapshotImage = null;
+        boolean fromSnapshot = false;
+        if(CONTAINER_SNAPSHOT_ENABLED) {
+            snapshotImage = ContainerSnapshots.snapshotImage(containerName, elasticsearchImage.withTag(ELASTICSEARCH_IMAGE_TAG).asCanonicalNameString(),
+                    ELASTICSEARCH_CLUSTER_NAME, ELASTICSEARCH_DISCOVERY_TYPE, ELASTICSEARCH_PASSWORD);
+            fromSnapshot = snapshots.exists(snapshotImage);
+        }
+        DockerImageName image = fromSnapshot?snapshotImage.asCompatibleSubstituteFor("docker.elastic.co/elasticsearch/elasticsearch"):elasticsearchImage.withTag(ELASTICSEARCH_IMAGE_TAG);
+        ElasticsearchContainer container = new ElasticsearchContainer(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image.asCanonicalNameString())
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withEnv("cluster.name", ELASTICSEARCH_CLUSTER_NAME)
                 .withEnv("discovery.type", ELASTICSEARCH_DISCOVERY_TYPE)
                 .withEnv("xpack.security.enabled", "false")
                 .withReuse(true)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                });
+                .withCreateContainerCmdModifier(withContainerName(containerName));
         if(ELASTICSEARCH_PASSWORD != null && !ELASTICSEARCH_PASSWORD.isBlank()) {
             // This sets "xpack.security.enabled" to true
             container.withPassword(ELASTICSEARCH_PASSWORD);
+        } else if(CONTAINER_READINESS_PROBES_ENABLED) {
+            // With security enabled the default wait strategy is kept, as it handles the authentication and TLS.
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.clusterHealth(ELASTICSEARCH_PORT), READINESS_PROBE_STARTUP_TIMEOUT));
+        }
+        if(!CONTAINER_SNAPSHOT_ENABLED) {
+            // The snapshot holds the data, so it cannot be on tmpfs.
+            withTmpfsDataDirectory(container, containerName, ELASTICSEARCH_TMPFS_ENABLED, ELASTICSEARCH_DATA_DIRECTORY);
         }
         if(ELASTICSEARCH_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
+        if(CONTAINER_SNAPSHOT_ENABLED && !fromSnapshot) {
+            pendingSnapshots.put(containerName, snapshotImage);
+        }
         return container;
     }
 
@@ -796,6 +1533,7 @@ public final class TestcontainersManager {
         String containerName = OPENSEARCH.toString();
         DockerImageName opensearchImage = DockerImageName.parse("opensearchproject/opensearch" + ":" + OPENSEARCH_IMAGE_TAG);
         OpensearchContainer container = new OpensearchContainer(opensearchImage.withTag(OPENSEARCH_IMAGE_TAG))
+            .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, opensearchImage.withTag(OPENSEARCH_IMAGE_TAG).asCanonicalNameString())
             .withNetwork(network)
             .withNetworkAliases(containerName)
             .withEnv("cluster.name", OPENSEARCH_CLUSTER_NAME)
@@ -804,10 +1542,10 @@ public final class TestcontainersManager {
             .withEnv("DISABLE_SECURITY_PLUGIN", "true")
             .withEnv("cluster.routing.allocation.disk.threshold_enabled", "false")
             .withReuse(true)
-            .withCreateContainerCmdModifier(cmd -> {
-                String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                cmd.withName(containerCmdModifier);
-            });
+            .withCreateContainerCmdModifier(withContainerName(containerName));
+        if(CONTAINER_READINESS_PROBES_ENABLED) {
+            container.waitingFor(adaptiveWaitStrategy(containerName, ReadinessProbes.clusterHealth(OPENSEARCH_PORT), READINESS_PROBE_STARTUP_TIMEOUT));
+        }
         if(OPENSEARCH_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
         }
@@ -817,13 +1555,11 @@ public final class TestcontainersManager {
     private GenericContainer createAmbarContainer() {
         String containerName = AMBAR.toString();
         GenericContainer container = new GenericContainer<>("ambarltd/emulator:" + AMBAR_IMAGE_TAG)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, "ambarltd/emulator:" + AMBAR_IMAGE_TAG)
                 .withNetwork(network)
                 .withNetworkAliases(containerName)
                 .withFileSystemBind(AMBAR_CONFIG_FILE_PATH, "/opt/emulator/config/config.yaml", BindMode.READ_ONLY)
-                .withCreateContainerCmdModifier(cmd -> {
-                    String containerCmdModifier = CONTAINER_APPEND_GROUP_ID ?CONTAINER_NAME_PREFIX + "-" + containerName + "-" + CONTAINER_GROUP_ID :CONTAINER_NAME_PREFIX + "-" + containerName;
-                    cmd.withName(containerCmdModifier);
-                })
+                .withCreateContainerCmdModifier(withContainerName(containerName))
                 .withReuse(true);
         if(AMBAR_CONTAINER_LOGGING_ENABLED) {
             container.withLogConsumer(getLogConsumer(containerName));
@@ -831,44 +1567,116 @@ public final class TestcontainersManager {
         return container;
     }
 
-    private void createTopics() {
-        if(!KAFKA_TOPICS.isEmpty()) {
+    private void validateTopicSpec(KafkaTopicSpec topicSpec) {
+        if(topicSpec.getPartitions() < 1 || topicSpec.getReplicationFactor() < 1) {
+            throw new RuntimeException("kafka.topic.specs: "+topicSpec.getName()+" - partitions: "+topicSpec.getPartitions()+" - and replication factor: "+topicSpec.getReplicationFactor()+" - must be at least 1");
+        }
+        if(topicSpec.getReplicationFactor() > KAFKA_BROKER_COUNT) {
+            throw new RuntimeException("kafka.topic.specs: "+topicSpec.getName()+" - replication factor: "+topicSpec.getReplicationFactor()+" - must not be greater than kafka.broker.count: "+KAFKA_BROKER_COUNT);
+        }
+        String minInsyncReplicas = topicSpec.getConfigs().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG);
+        if(minInsyncReplicas != null && Integer.parseInt(minInsyncReplicas) > topicSpec.getReplicationFactor()) {
+            throw new RuntimeException("kafka.topic.specs: "+topicSpec.getName()+" - min.insync.replicas: "+minInsyncReplicas+" - must not be greater than the replication factor: "+topicSpec.getReplicationFactor());
+        }
+    }
 
-            String bootstrapServers;
-            if(KAFKA_ENABLED) {
-                bootstrapServers = ((KafkaContainer)kafkaContainers.get(0)).getBootstrapServers();
-            } else {
-                bootstrapServers = ((org.testcontainers.kafka.KafkaContainer)kafkaNativeContainers.get(0)).getBootstrapServers();
-            }
-            Properties properties = new Properties();
-            properties.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-            if(KAFKA_SASL_PLAIN_ENABLED) {
-                properties.put(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SASL_PLAINTEXT");
-                properties.put(SaslConfigs.SASL_MECHANISM, "PLAIN");
-                String jaasConfig = String.format(
-                        "%s required username=\"%s\" password=\"%s\";",
-                        PlainLoginModule.class.getName(),
-                        KAFKA_SASL_PLAIN_USERNAME,
-                        KAFKA_SASL_PLAIN_PASSWORD
-                );
-                properties.put(SaslConfigs.SASL_JAAS_CONFIG, jaasConfig);
-            }
-            Admin admin = Admin.create(properties);
-            Collection<NewTopic> newTopics = new ArrayList<>(KAFKA_TOPICS.size());
-            int partitions = KAFKA_TOPIC_PARTITION_COUNT;
-            short replicationFactor = 1;
-            for (String topicName : KAFKA_TOPICS) {
-                NewTopic newTopic = new NewTopic(topicName, partitions, replicationFactor);
-                newTopics.add(newTopic);
-            }
-            CreateTopicsResult result = admin.createTopics(newTopics);
-            try {
+    /**
+     * Create the topics in kafka.topics with the default layout, and those in kafka.topic.specs with their own layout,
+     * in one batch.
+     */
+    private void createTopics() {
+        Map<String, NewTopic> newTopics = new LinkedHashMap<>();
+        for (String topicName : KAFKA_TOPICS) {
+            newTopics.put(topicName, new NewTopic(topicName, KAFKA_TOPIC_PARTITION_COUNT, (short) KAFKA_TOPIC_REPLICATION_FACTOR));
+        }
+        for (KafkaTopicSpec topicSpec : KAFKA_TOPIC_SPECS) {
+            newTopics.put(topicSpec.getName(), new NewTopic(topicSpec.getName(), topicSpec.getPartitions(), topicSpec.getReplicationFactor().shortValue())
+                    .configs(topicSpec.getConfigs()));
+        }
+        if(!newTopics.isEmpty()) {
+            GenericContainer broker = KAFKA_ENABLED?kafkaContainers.get(0):kafkaNativeContainers.get(0);
+            try (Admin admin = Admin.create(kafkaAdminProperties(broker))) {
+                CreateTopicsResult result = admin.createTopics(newTopics.values());
                 result.all().get();
             } catch (InterruptedException | ExecutionException e) {
                 log.error("Topic creation failed.", e);
                 throw new RuntimeException("Topic creation failed: " + e.getMessage(), e);
             }
-            log.info("Created topics: " + KAFKA_TOPICS);
+            log.info("Created topics: " + newTopics.values());
+        }
+    }
+
+    private Properties kafkaAdminProperties(GenericContainer broker) {
+        String bootstrapServers;
+        if(broker instanceof KafkaContainer) {
+            bootstrapServers = ((KafkaContainer)broker).getBootstrapServers();
+        } else {
+            bootstrapServers = ((org.testcontainers.kafka.KafkaContainer)broker).getBootstrapServers();
+        }
+        return kafkaAdminProperties(bootstrapServers);
+    }
+
+    private Properties kafkaAdminProperties(String bootstrapServers) {
+        Properties properties = new Properties();
+        properties.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        if(KAFKA_SASL_PLAIN_ENABLED) {
+            properties.put(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, "SASL_PLAINTEXT");
+            properties.put(SaslConfigs.SASL_MECHANISM, "PLAIN");
+            String jaasConfig = String.format(
+                    "%s required username=\"%s\" password=\"%s\";",
+                    PlainLoginModule.class.getName(),
+                    KAFKA_SASL_PLAIN_USERNAME,
+                    KAFKA_SASL_PLAIN_PASSWORD
+            );
+            properties.put(SaslConfigs.SASL_JAAS_CONFIG, jaasConfig);
+        }
+        return properties;
+    }
+
+    private AdaptiveWaitStrategy kafkaReadinessProbe(GenericContainer broker, String containerName) {
+        return adaptiveWaitStrategy(containerName, ReadinessProbes.kafka(() -> kafkaAdminProperties(broker)), READINESS_PROBE_STARTUP_TIMEOUT);
+    }
+
+    private AdaptiveWaitStrategy adaptiveWaitStrategy(String containerName, AdaptiveWaitStrategy.Probe probe, Duration startupTimeout) {
+        return new AdaptiveWaitStrategy(containerName, probe, CONTAINER_READINESS_PROBE_MAX_INTERVAL_MS, startupTimeout);
+    }
+
+    /**
+     * The contents of the classpath resource, or empty if there is none.
+     */
+    private String readClasspathResource(String path) {
+        if(path == null) {
+            return "";
+        }
+        try (InputStream stream = TestcontainersManager.class.getClassLoader().getResourceAsStream(path)) {
+            return stream != null ? new String(stream.readAllBytes(), StandardCharsets.UTF_8) : path;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean isClassPresent(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            log.info("{} not found so the default wait strategy is used.", className);
+            return false;
+        }
+    }
+
+    /**
+     * The MariaDB container waits for its JDBC connection in a fixed interval loop that ignores the wait strategy, so
+     * this waits using the wait strategy instead, allowing the adaptive readiness probe to be used.
+     */
+    private static final class ReadinessProbedMariaDBContainer extends MariaDBContainer<ReadinessProbedMariaDBContainer> {
+        private ReadinessProbedMariaDBContainer(DockerImageName image) {
+            super(image);
+        }
+
+        @Override
+        protected void waitUntilContainerStarted() {
+            getWaitStrategy().waitUntilReady(this);
         }
     }
 
@@ -876,4 +1684,34 @@ public final class TestcontainersManager {
         return new Slf4jLogConsumer(LoggerFactory.getLogger("container."+containerName))
                 .withRemoveAnsiCodes(false);
     }
+
+    /**
+     * The network the containers are attached to.  This is a new network, unless containers left up by a previous test
+     * run are being reused, in which case it is their network so that the recreated containers can reach them.
+     */
+    private static final class ReusableNetwork implements Network {
+        private final Network newNetwork = Network.newNetwork();
+        private volatile String reusedNetworkId;
+
+        private void reuse(String networkId) {
+            this.reusedNetworkId = networkId;
+        }
+
+        @Override
+        public String getId() {
+            return reusedNetworkId != null ? reusedNetworkId : newNetwork.getId();
+        }
+
+        @Override
+        public void close() {
+            if(reusedNetworkId == null) {
+                newNetwork.close();
+            }
+        }
+
+        @Override
+        public Statement apply(Statement base, Description description) {
+            return newNetwork.apply(base, description);
+        }
+    }
 }
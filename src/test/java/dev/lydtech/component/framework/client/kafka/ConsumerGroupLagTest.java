@@ -0,0 +1,108 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+public class ConsumerGroupLagTest {
+
+    private static final String GROUP_ID = "order-service";
+    private static final TopicPartition PARTITION_0 = new TopicPartition("order-created", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("order-created", 1);
+    private static final TopicPartition PARTITION_2 = new TopicPartition("order-created", 2);
+
+    @Test
+    public void testOf() {
+        ConsumerGroupLag lag = ConsumerGroupLag.of(GROUP_ID, 1000L,
+                Map.of(PARTITION_1, new OffsetAndMetadata(10), PARTITION_0, new OffsetAndMetadata(5), PARTITION_2, new OffsetAndMetadata(8)),
+                Map.of(PARTITION_0, 5L, PARTITION_1, 25L, PARTITION_2, 7L));
+
+        assertThat(lag.getPartitionLag().keySet().iterator().next(), equalTo(PARTITION_0));
+        assertThat(lag.getPartitionLag().get(PARTITION_0), equalTo(0L));
+        assertThat(lag.getPartitionLag().get(PARTITION_1), equalTo(15L));
+        assertThat(lag.getPartitionLag().get(PARTITION_2), equalTo(0L));
+        assertThat(lag.getTotalLag(), equalTo(15L));
+        assertThat(lag.hasCommittedOffsets(), is(true));
+    }
+
+    @Test
+    public void testOf_NoCommittedOffsets() {
+        ConsumerGroupLag lag = ConsumerGroupLag.of(GROUP_ID, 1000L, Map.of(), Map.of());
+
+        assertThat(lag.getTotalLag(), equalTo(0L));
+        assertThat(lag.hasCommittedOffsets(), is(false));
+    }
+
+    @Test
+    public void testOf_AllPartitions() {
+        ConsumerGroupLag lag = ConsumerGroupLag.of(GROUP_ID, 1000L,
+                Map.of(PARTITION_1, new OffsetAndMetadata(10)),
+                Map.of(PARTITION_0, 12L, PARTITION_1, 25L, PARTITION_2, 7L),
+                Map.of(PARTITION_0, 2L, PARTITION_1, 0L, PARTITION_2, 7L));
+
+        assertThat(lag.getPartitionLag().keySet().iterator().next(), equalTo(PARTITION_0));
+        // No committed offset, so lags from the log start offset.
+        assertThat(lag.getPartitionLag().get(PARTITION_0), equalTo(10L));
+        assertThat(lag.getPartitionLag().get(PARTITION_1), equalTo(15L));
+        assertThat(lag.getPartitionLag().get(PARTITION_2), equalTo(0L));
+        assertThat(lag.getTotalLag(), equalTo(25L));
+    }
+
+    @Test
+    public void testOf_AllPartitions_NoCommittedOffsets() {
+        ConsumerGroupLag lag = ConsumerGroupLag.of(GROUP_ID, 1000L, Map.of(),
+                Map.of(PARTITION_0, 5L, PARTITION_1, 3L),
+                Map.of(PARTITION_0, 0L, PARTITION_1, 3L));
+
+        assertThat(lag.getPartitionLag().size(), equalTo(2));
+        assertThat(lag.getTotalLag(), equalTo(5L));
+    }
+
+    @Test
+    public void testTimeline(@TempDir Path tempDir) throws Exception {
+        AtomicLong lag = new AtomicLong();
+        ConsumerGroupLagTimeline timeline = new ConsumerGroupLagTimeline(GROUP_ID,
+                () -> new ConsumerGroupLag(GROUP_ID, System.currentTimeMillis(), Map.of(PARTITION_0, lag.getAndAdd(10))), Duration.ofMillis(20));
+        Thread.sleep(200);
+
+        List<ConsumerGroupLag> samples = timeline.stop();
+
+        assertThat(samples.size(), greaterThanOrEqualTo(5));
+        assertThat(timeline.getMaxTotalLag(), equalTo(samples.get(samples.size() - 1).getTotalLag()));
+        // The lag grows by 10 records every 20ms.
+        assertThat(timeline.getLagTrendPerSecond(), closeTo(500, 250));
+
+        Path file = tempDir.resolve("lag/order-service.csv");
+        timeline.writeCsv(file);
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size(), equalTo(samples.size() + 1));
+        assertThat(lines.get(0), equalTo(ConsumerGroupLagTimeline.CSV_HEADER));
+        assertThat(lines.get(1).endsWith(",order-created,0,0"), is(true));
+    }
+
+    @Test
+    public void testTimeline_SampleFailure() throws Exception {
+        ConsumerGroupLagTimeline timeline = new ConsumerGroupLagTimeline(GROUP_ID, () -> {
+            throw new RuntimeException("Group not found");
+        }, Duration.ofMillis(20));
+        Thread.sleep(100);
+
+        assertThat(timeline.stop().size(), equalTo(0));
+        assertThat(timeline.getLagTrendPerSecond(), equalTo(0.0));
+        assertThat(timeline.getMaxTotalLag(), equalTo(0L));
+    }
+}
@@ -0,0 +1,92 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FixtureCorpusTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testOpen() {
+        Path file = tempDir.resolve("fixtures/orders.corpus");
+        try (FixtureCorpus.Writer writer = FixtureCorpus.writer(file)) {
+            for (int i = 0; i < 5000; i++) {
+                writer.append(bytes("order-" + i), bytes("{\"id\":" + i + "}"));
+            }
+            writer.append(null, bytes("no-key"));
+            writer.append(bytes("tombstone"), null);
+            writer.append(bytes("empty"), new byte[0]);
+        }
+
+        try (FixtureCorpus corpus = FixtureCorpus.open(file)) {
+            assertThat(corpus.size(), equalTo(5003));
+            assertThat(string(corpus.key(0)), equalTo("order-0"));
+            assertThat(string(corpus.value(4999)), equalTo("{\"id\":4999}"));
+            assertThat(corpus.key(5000), nullValue());
+            assertThat(string(corpus.value(5000)), equalTo("no-key"));
+            assertThat(corpus.value(5001), nullValue());
+            assertThat(corpus.value(5002).remaining(), equalTo(0));
+            assertThat(corpus.value(0).isReadOnly(), is(true));
+            assertThrows(IndexOutOfBoundsException.class, () -> corpus.key(5003));
+        }
+    }
+
+    @Test
+    public void testOpen_Truncated() throws Exception {
+        Path file = tempDir.resolve("truncated.corpus");
+        try (FixtureCorpus.Writer writer = FixtureCorpus.writer(file)) {
+            writer.append(bytes("order-1"), bytes("payload-1"));
+            writer.append(bytes("order-2"), bytes("payload-2"));
+        }
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> FixtureCorpus.open(file));
+
+        assertThat(exception.getMessage().contains("is truncated or too large"), is(true));
+    }
+
+    @Test
+    public void testOpen_Empty() throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.corpus"));
+
+        try (FixtureCorpus corpus = FixtureCorpus.open(file)) {
+            assertThat(corpus.size(), equalTo(0));
+        }
+    }
+
+    @Test
+    public void testEncodedHeaders() {
+        EncodedHeaders headers = EncodedHeaders.of(Map.of("source", "load-test"));
+
+        assertThat(headers.getHeaders().size(), equalTo(1));
+        assertThat(headers.getHeaders().get(0).key(), equalTo("source"));
+        assertThat(new String(headers.getHeaders().get(0).value(), StandardCharsets.UTF_8), equalTo("load-test"));
+        assertThat(EncodedHeaders.of(null), is(EncodedHeaders.NONE));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,148 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KafkaLatencyTrackerTest {
+
+    private static final String INPUT_TOPIC = "order-created";
+    private static final String OUTPUT_TOPIC = "order-confirmed";
+    private static final TopicPartition OUTPUT_PARTITION = new TopicPartition(OUTPUT_TOPIC, 0);
+
+    private MockProducer<String, String> producer;
+    private MockConsumer<String, String> consumer;
+    private KafkaLatencyTracker tracker;
+    private long nextOffset;
+
+    @BeforeEach
+    public void setUp() {
+        producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+        consumer = new MockConsumer<>(OffsetResetStrategy.LATEST);
+        consumer.updatePartitions(OUTPUT_TOPIC, List.of(new PartitionInfo(OUTPUT_TOPIC, 0, null, null, null)));
+        consumer.updateEndOffsets(Map.of(OUTPUT_PARTITION, 0L));
+        nextOffset = 0;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if(tracker != null) {
+            tracker.close();
+        }
+    }
+
+    @Test
+    public void testByHeader() throws Exception {
+        tracker = new KafkaLatencyTracker(producer, consumer, List.of(OUTPUT_TOPIC), record -> header(record, KafkaLatencyTracker.CORRELATION_ID_HEADER), false);
+
+        String correlationId = tracker.send(INPUT_TOPIC, "order-1", "payload");
+        long sendTimestamp = Long.parseLong(new String(producer.history().get(0).headers().lastHeader(KafkaLatencyTracker.SEND_TIMESTAMP_HEADER).value(), StandardCharsets.UTF_8));
+        addOutput("order-1", correlationId, sendTimestamp + 50);
+        addOutput("order-2", "unknown", sendTimestamp + 60);
+
+        List<LatencyRecord> latencies = tracker.awaitLatencies(1, Duration.ofSeconds(5));
+
+        assertThat(latencies.size(), equalTo(1));
+        assertThat(latencies.get(0).getCorrelationId(), equalTo(correlationId));
+        assertThat(latencies.get(0).getInputTopic(), equalTo(INPUT_TOPIC));
+        assertThat(latencies.get(0).getOutputTopic(), equalTo(OUTPUT_TOPIC));
+        assertThat(latencies.get(0).getLatencyMillis(), equalTo(50L));
+        assertThat(tracker.getLatency().getCount(), equalTo(1L));
+        assertThat(tracker.getLatency().getMaxMicros(), equalTo(50_000L));
+    }
+
+    @Test
+    public void testByKey() throws Exception {
+        tracker = new KafkaLatencyTracker(producer, consumer, List.of(OUTPUT_TOPIC), ConsumerRecord::key, true);
+
+        assertThat(tracker.send(INPUT_TOPIC, "order-1", "payload"), equalTo("order-1"));
+        assertThat(tracker.send(INPUT_TOPIC, "order-2", "payload"), equalTo("order-2"));
+        long now = System.currentTimeMillis();
+        addOutput("order-2", null, now + 100);
+        addOutput("order-1", null, now + 100);
+        // An input event can result in more than one output event.
+        addOutput("order-1", null, now + 200);
+
+        List<LatencyRecord> latencies = tracker.awaitLatencies(3, Duration.ofSeconds(5));
+
+        assertThat(latencies.size(), equalTo(3));
+        latencies.forEach(latency -> assertThat(latency.getLatencyMillis(), greaterThanOrEqualTo(100L)));
+        assertThat(latencies.get(2).getLatencyMillis(), lessThan(1200L));
+        assertThrows(RuntimeException.class, () -> tracker.send(INPUT_TOPIC, null, "payload"));
+    }
+
+    @Test
+    public void testByKey_DuplicateKey() {
+        tracker = new KafkaLatencyTracker(producer, consumer, List.of(OUTPUT_TOPIC), ConsumerRecord::key, true);
+        tracker.send(INPUT_TOPIC, "order-1", "payload");
+
+        Exception exception = assertThrows(RuntimeException.class, () -> tracker.send(INPUT_TOPIC, "order-1", "payload"));
+
+        assertThat(exception.getMessage(), equalTo("Correlation id order-1 has already been sent - each key must only be sent once when matching by key."));
+        assertThat(producer.history().size(), equalTo(1));
+    }
+
+    @Test
+    public void testAwaitLatencies_Timeout() {
+        tracker = new KafkaLatencyTracker(producer, consumer, List.of(OUTPUT_TOPIC), ConsumerRecord::key, true);
+        tracker.send(INPUT_TOPIC, "order-1", "payload");
+
+        Exception exception = assertThrows(RuntimeException.class, () -> tracker.awaitLatencies(1, Duration.ofMillis(100)));
+
+        assertThat(exception.getMessage(), equalTo("Expected 1 output events on [order-confirmed] within 100ms, matched 0"));
+    }
+
+    @Test
+    public void testWriteCsv(@TempDir Path tempDir) throws Exception {
+        tracker = new KafkaLatencyTracker(producer, consumer, List.of(OUTPUT_TOPIC), ConsumerRecord::key, true);
+        tracker.send(INPUT_TOPIC, "order-1", "payload");
+        addOutput("order-1", null, System.currentTimeMillis() + 10);
+        tracker.awaitLatencies(1, Duration.ofSeconds(5));
+
+        Path file = tempDir.resolve("latency/latencies.csv");
+        tracker.writeCsv(file);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.size(), equalTo(2));
+        assertThat(lines.get(0), equalTo(LatencyRecord.CSV_HEADER));
+        assertThat(lines.get(1).startsWith("order-1,order-created,order-confirmed,"), is(true));
+    }
+
+    private void addOutput(String key, String correlationId, long logAppendTime) {
+        RecordHeaders headers = new RecordHeaders();
+        if(correlationId != null) {
+            headers.add(new RecordHeader(KafkaLatencyTracker.CORRELATION_ID_HEADER, correlationId.getBytes(StandardCharsets.UTF_8)));
+        }
+        consumer.addRecord(new ConsumerRecord<>(OUTPUT_TOPIC, 0, nextOffset++, logAppendTime, TimestampType.LOG_APPEND_TIME, 0, 0, key, "output", headers, Optional.empty()));
+    }
+
+    private static String header(ConsumerRecord<String, String> record, String headerKey) {
+        return record.headers().lastHeader(headerKey) != null ? new String(record.headers().lastHeader(headerKey).value(), StandardCharsets.UTF_8) : null;
+    }
+}
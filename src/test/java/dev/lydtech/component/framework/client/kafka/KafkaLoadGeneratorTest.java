@@ -0,0 +1,155 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KafkaLoadGeneratorTest {
+
+    private static final String TOPIC = "order-created";
+
+    @Test
+    public void testRun_MessageCount() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        KafkaLoadResult result = KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .messageCount(1000L)
+                .threads(3)
+                .payloadSupplier(() -> "payload")
+                .keySupplier(KafkaLoadGenerator.roundRobinKeys(10))
+                .build()
+                .run(producer);
+
+        assertThat(result.getSent(), equalTo(1000L));
+        assertThat(result.getAcknowledged(), equalTo(1000L));
+        assertThat(result.getErrors(), equalTo(0L));
+        assertThat(result.getBytes(), equalTo(1000L * ("payload".length() + "key-0".length())));
+        assertThat(result.getAckLatency().getCount(), equalTo(1000L));
+        assertThat(producer.history().size(), equalTo(1000));
+        assertThat(producer.history().stream().filter(record -> record.key().equals("key-3")).count(), equalTo(100L));
+    }
+
+    @Test
+    public void testRun_Rate() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        KafkaLoadResult result = KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .ratePerSecond(200)
+                .messageCount(50L)
+                .threads(2)
+                .payloadSupplier(() -> "payload")
+                .build()
+                .run(producer);
+
+        assertThat(result.getAcknowledged(), equalTo(50L));
+        // The last message is scheduled 49 intervals of 5ms after the first.
+        assertThat(result.getDurationMillis(), greaterThanOrEqualTo(240L));
+    }
+
+    @Test
+    public void testRun_Duration() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        KafkaLoadResult result = KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .ratePerSecond(100)
+                .duration(Duration.ofMillis(200))
+                .payloadSupplier(() -> "payload")
+                .build()
+                .run(producer);
+
+        // The sends are scheduled every 10ms, so at most 20 fall within the duration.  Fewer are sent if the sender
+        // falls behind the schedule, such as on a loaded build agent.
+        assertThat(result.getAcknowledged() <= 20, is(true));
+    }
+
+    @Test
+    public void testRun_Errors() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer()) {
+            @Override
+            public synchronized Future<RecordMetadata> send(ProducerRecord<String, String> record, Callback callback) {
+                callback.onCompletion(null, new TimeoutException("Expiring record"));
+                return CompletableFuture.failedFuture(new TimeoutException("Expiring record"));
+            }
+        };
+
+        KafkaLoadResult result = KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .messageCount(10L)
+                .payloadSupplier(() -> "payload")
+                .build()
+                .run(producer);
+
+        assertThat(result.getAcknowledged(), equalTo(0L));
+        assertThat(result.getErrors(), equalTo(10L));
+    }
+
+    @Test
+    public void testRun_Unbounded() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .payloadSupplier(() -> "payload")
+                .build()
+                .run(producer));
+
+        assertThat(exception.getMessage(), equalTo("A duration or a message count must be given to bound the load."));
+    }
+
+    /**
+     * A rate above one message per nanosecond per thread cannot be scheduled, rather than being silently unthrottled.
+     */
+    @Test
+    public void testRun_RateTooHigh() {
+        MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+
+        Exception exception = assertThrows(RuntimeException.class, () -> KafkaLoadGenerator.builder()
+                .topic(TOPIC)
+                .ratePerSecond(2_000_000_000)
+                .messageCount(10L)
+                .payloadSupplier(() -> "payload")
+                .build()
+                .run(producer));
+
+        assertThat(exception.getMessage(), equalTo("The rate per second must be at most 1000000000 per thread, or 0 to send as fast as possible: 2000000000"));
+    }
+
+    @Test
+    public void testProducerConfig() {
+        Properties additionalConfig = new Properties();
+        additionalConfig.put(ProducerConfig.ACKS_CONFIG, "1");
+
+        Properties config = KafkaLoadGenerator.builder()
+                .lingerMs(5)
+                .batchSize(65536)
+                .compressionType("lz4")
+                .acks("all")
+                .additionalConfig(additionalConfig)
+                .build()
+                .producerConfig();
+
+        assertThat(config.get(ProducerConfig.LINGER_MS_CONFIG), equalTo(5));
+        assertThat(config.get(ProducerConfig.BATCH_SIZE_CONFIG), equalTo(65536));
+        assertThat(config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG), equalTo("lz4"));
+        assertThat(config.get(ProducerConfig.ACKS_CONFIG), equalTo("1"));
+    }
+}
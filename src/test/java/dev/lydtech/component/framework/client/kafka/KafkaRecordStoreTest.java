@@ -0,0 +1,150 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class KafkaRecordStoreTest {
+
+    private static final String TOPIC = "order-confirmed";
+
+    @Test
+    public void testFind() {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000), record(1, 0, "order-2", "c-2", 2000), record(0, 1, "order-1", "c-3", 3000)));
+
+        assertThat(store.find(TOPIC).size(), equalTo(3));
+        assertThat(store.findByKey(TOPIC, "order-1").size(), equalTo(2));
+        assertThat(store.findByHeader(TOPIC, "correlationId", "c-2").get(0).key(), equalTo("order-2"));
+        assertThat(store.findByOffset(TOPIC, 0, 1).get().value(), equalTo("c-3"));
+        assertThat(store.findByOffset(TOPIC, 1, 1), equalTo(Optional.empty()));
+        assertThat(store.findByTimestamp(TOPIC, 2000, 3000).size(), equalTo(1));
+        assertThat(store.find("other-topic").isEmpty(), is(true));
+    }
+
+    @Test
+    public void testAdd_EvictsOldestBeyondMaxRecords() {
+        KafkaRecordStore store = new KafkaRecordStore(2, Duration.ofMinutes(10));
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000), record(0, 1, "order-2", "c-2", 2000), record(0, 2, "order-3", "c-3", 3000)));
+
+        assertThat(store.size(), equalTo(2));
+        assertThat(store.findByKey(TOPIC, "order-1").isEmpty(), is(true));
+        assertThat(store.findByHeader(TOPIC, "correlationId", "c-1").isEmpty(), is(true));
+        assertThat(store.findByOffset(TOPIC, 0, 0), equalTo(Optional.empty()));
+        assertThat(store.findByTimestamp(TOPIC, 0, 4000).size(), equalTo(2));
+    }
+
+    @Test
+    public void testAwait() throws Exception {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+
+        CompletableFuture<List<ConsumerRecord<String, String>>> awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.await(TOPIC, record -> "order-1".equals(record.key()), 2, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000)));
+        store.add(List.of(record(0, 1, "order-2", "c-2", 2000), record(0, 2, "order-1", "c-3", 3000)));
+
+        assertThat(awaited.get().size(), equalTo(2));
+    }
+
+    /**
+     * A header key and value containing "=" do not collide with another header key and value.
+     */
+    @Test
+    public void testFindByHeader_NoCollision() {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+        store.add(List.of(record(0, 0, "order-1", header("a=b", "c")), record(0, 1, "order-2", header("a", "b=c"))));
+
+        assertThat(store.findByHeader(TOPIC, "a=b", "c").size(), equalTo(1));
+        assertThat(store.findByHeader(TOPIC, "a=b", "c").get(0).key(), equalTo("order-1"));
+        assertThat(store.findByHeader(TOPIC, "a", "b=c").get(0).key(), equalTo("order-2"));
+    }
+
+    /**
+     * A record with a repeated header is found once, and evicting it does not evict the next record with the header.
+     */
+    @Test
+    public void testFindByHeader_RepeatedHeader() {
+        KafkaRecordStore store = new KafkaRecordStore(1, Duration.ofMinutes(10));
+        RecordHeaders headers = header("type", "confirmed");
+        headers.add(new RecordHeader("type", "confirmed".getBytes(StandardCharsets.UTF_8)));
+        store.add(List.of(record(0, 0, "order-1", headers)));
+
+        assertThat(store.findByHeader(TOPIC, "type", "confirmed").size(), equalTo(1));
+
+        store.add(List.of(record(0, 1, "order-2", header("type", "confirmed"))));
+
+        assertThat(store.findByHeader(TOPIC, "type", "confirmed").size(), equalTo(1));
+        assertThat(store.findByHeader(TOPIC, "type", "confirmed").get(0).key(), equalTo("order-2"));
+    }
+
+    @Test
+    public void testAwaitByKey() throws Exception {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+
+        CompletableFuture<List<ConsumerRecord<String, String>>> awaited = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.awaitByKey(TOPIC, "order-1", 2, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000)));
+        store.add(List.of(record(0, 1, "order-2", "c-2", 2000), record(0, 2, "order-1", "c-3", 3000)));
+
+        assertThat(awaited.get().size(), equalTo(2));
+    }
+
+    @Test
+    public void testAwaitByHeader_Timeout() {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000)));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> store.awaitByHeader(TOPIC, "correlationId", "c-1", 2, Duration.ofMillis(50)));
+
+        assertThat(exception.getMessage(), equalTo("Expected 2 records on topic order-confirmed within 50ms, found 1"));
+    }
+
+    @Test
+    public void testAwait_Timeout() {
+        KafkaRecordStore store = new KafkaRecordStore(100, Duration.ofMinutes(10));
+        store.add(List.of(record(0, 0, "order-1", "c-1", 1000)));
+
+        Exception exception = assertThrows(RuntimeException.class, () -> store.await(TOPIC, record -> true, 2, Duration.ofMillis(50)));
+
+        assertThat(exception.getMessage(), equalTo("Expected 2 records on topic order-confirmed within 50ms, found 1"));
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset, String key, String correlationId, long timestamp) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(new RecordHeader("correlationId", correlationId.getBytes(StandardCharsets.UTF_8)));
+        return new ConsumerRecord<>(TOPIC, partition, offset, timestamp, TimestampType.CREATE_TIME, 0, 0, key, correlationId, headers, Optional.empty());
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset, String key, RecordHeaders headers) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, 1000, TimestampType.CREATE_TIME, 0, 0, key, key, headers, Optional.empty());
+    }
+
+    private static RecordHeaders header(String headerKey, String headerValue) {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(new RecordHeader(headerKey, headerValue.getBytes(StandardCharsets.UTF_8)));
+        return headers;
+    }
+}
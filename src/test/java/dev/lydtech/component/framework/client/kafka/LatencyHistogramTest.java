@@ -0,0 +1,64 @@
+package dev.lydtech.component.framework.client.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 10_000_000; value += 7) {
+            long bucketValue = LatencyHistogram.valueOf(LatencyHistogram.bucketOf(value));
+            assertThat("Value " + value, Math.abs(bucketValue - value) <= Math.max(1, value / 32), is(true));
+        }
+        assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE) >= 0, is(true));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.getCount(), equalTo(1000L));
+        assertThat(histogram.getMinMicros(), equalTo(1L));
+        assertThat(histogram.getMaxMicros(), equalTo(1000L));
+        assertThat(histogram.getMeanMicros(), closeTo(500.5, 0.001));
+        assertThat((double) histogram.getPercentileMicros(50), closeTo(500, 16));
+        assertThat((double) histogram.getPercentileMicros(99), closeTo(990, 32));
+        assertThat(histogram.getPercentileMicros(100), lessThanOrEqualTo(1000L));
+        assertThat(histogram.getPercentileMicros(0), equalTo(1L));
+    }
+
+    @Test
+    public void testPercentiles_Empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.getPercentileMicros(99), equalTo(0L));
+        assertThat(histogram.getMinMicros(), equalTo(0L));
+        assertThrows(RuntimeException.class, () -> histogram.getPercentileMicros(101));
+    }
+
+    @Test
+    public void testAdd() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        LatencyHistogram other = new LatencyHistogram();
+        other.record(5);
+        other.record(20);
+
+        histogram.add(other);
+
+        assertThat(histogram.getCount(), equalTo(3L));
+        assertThat(histogram.getMinMicros(), equalTo(5L));
+        assertThat(histogram.getMaxMicros(), equalTo(20L));
+        assertThat(histogram.getPercentileMicros(50), equalTo(10L));
+    }
+}
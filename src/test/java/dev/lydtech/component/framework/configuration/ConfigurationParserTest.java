@@ -5,9 +5,11 @@ import java.util.List;
 import java.util.Map;
 
 import dev.lydtech.component.framework.management.AdditionalContainer;
+import dev.lydtech.component.framework.management.KafkaTopicSpec;
 import org.junit.jupiter.api.Test;
 
 import static dev.lydtech.component.framework.configuration.ConfigurationParser.parseAdditionalContainers;
+import static dev.lydtech.component.framework.configuration.ConfigurationParser.parseKafkaTopicSpecs;
 import static dev.lydtech.component.framework.configuration.ConfigurationParser.parseKafkaTopics;
 import static dev.lydtech.component.framework.configuration.ConfigurationParser.parseKvPairs;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -43,6 +45,26 @@ class ConfigurationParserTest {
         assertThat(exception.getMessage(), equalTo("Invalid additional containers details: [third-party-simulator, 9002] -  expecting 5 args, found 2."));
     }
 
+    @Test
+    public void testParseKafkaTopicSpecs() {
+        List<KafkaTopicSpec> topicSpecs = parseKafkaTopicSpecs("orders,6,3,min.insync.replicas=2:order-totals,3,1,cleanup.policy=compact|delete, segment.bytes=1048576");
+        assertThat(topicSpecs.size(), equalTo(2));
+        assertThat(topicSpecs.get(0).getName(), equalTo("orders"));
+        assertThat(topicSpecs.get(0).getPartitions(), equalTo(6));
+        assertThat(topicSpecs.get(0).getReplicationFactor(), equalTo(3));
+        assertThat(topicSpecs.get(0).getConfigs(), equalTo(Map.of("min.insync.replicas", "2")));
+        assertThat(topicSpecs.get(1).getName(), equalTo("order-totals"));
+        assertThat(topicSpecs.get(1).getPartitions(), equalTo(3));
+        assertThat(topicSpecs.get(1).getReplicationFactor(), equalTo(1));
+        assertThat(topicSpecs.get(1).getConfigs(), equalTo(Map.of("cleanup.policy", "compact,delete", "segment.bytes", "1048576")));
+    }
+
+    @Test
+    public void testParseKafkaTopicSpecs_Invalid() {
+        Exception exception = assertThrows(RuntimeException.class, () -> parseKafkaTopicSpecs("orders,6"));
+        assertThat(exception.getMessage(), equalTo("Invalid Kafka topic spec: [orders, 6] -  expecting at least 3 args, found 2."));
+    }
+
     @Test
     public void testParseEnvVars_Invalid() {
         Exception exception = assertThrows(IllegalArgumentException.class, () -> parseKvPairs("invalid"));
@@ -0,0 +1,75 @@
+package dev.lydtech.component.framework.management;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveWaitStrategyTest {
+
+    /**
+     * The probe is polled with a short, backing off interval, so a resource that is ready on the fourth attempt is
+     * detected well within the first second.
+     */
+    @Test
+    public void testWaitUntilReady_PollsUntilReady() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        AdaptiveWaitStrategy.Probe probe = new AdaptiveWaitStrategy.Probe() {
+            @Override
+            public boolean isReady(WaitStrategyTarget target) throws Exception {
+                if(attempts.incrementAndGet() < 3) {
+                    throw new Exception("Connection refused");
+                }
+                return attempts.get() == 4;
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        long startTime = System.currentTimeMillis();
+
+        new AdaptiveWaitStrategy("postgres", probe, 1000, Duration.ofSeconds(10)).waitUntilReady(mock(WaitStrategyTarget.class));
+
+        assertThat(attempts.get(), equalTo(4));
+        assertThat(System.currentTimeMillis() - startTime < 1000, is(true));
+        assertThat(closed.get(), is(true));
+    }
+
+    @Test
+    public void testWaitUntilReady_Timeout() {
+        WaitStrategyTarget target = mock(WaitStrategyTarget.class);
+        when(target.isRunning()).thenReturn(true);
+        AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy("kafka", t -> {
+            throw new Exception("Timed out waiting for a node assignment");
+        }, 20, Duration.ofMillis(200));
+
+        Exception exception = assertThrows(ContainerLaunchException.class, () -> strategy.waitUntilReady(target));
+
+        assertThat(exception.getMessage().startsWith("Timed out waiting for kafka to be ready after "), is(true));
+        assertThat(exception.getMessage().endsWith(" - last error: Timed out waiting for a node assignment"), is(true));
+    }
+
+    @Test
+    public void testWaitUntilReady_ContainerStopped() {
+        WaitStrategyTarget target = mock(WaitStrategyTarget.class);
+        when(target.isRunning()).thenReturn(false);
+        AdaptiveWaitStrategy strategy = new AdaptiveWaitStrategy("mongodb", t -> false, 5, Duration.ofSeconds(10));
+
+        Exception exception = assertThrows(ContainerLaunchException.class, () -> strategy.waitUntilReady(target));
+
+        assertThat(exception.getMessage(), equalTo("Container stopped whilst waiting for mongodb to be ready"));
+    }
+}
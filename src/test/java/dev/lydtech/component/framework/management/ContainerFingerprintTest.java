@@ -0,0 +1,96 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.BindMode;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ContainerFingerprintTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testOf_SameConfiguration() {
+        assertThat(ContainerFingerprint.of(container("postgres:14-alpine", "value")), equalTo(ContainerFingerprint.of(container("postgres:14-alpine", "value"))));
+    }
+
+    @Test
+    public void testOf_ConfigurationChanged() {
+        String fingerprint = ContainerFingerprint.of(container("postgres:14-alpine", "value"));
+
+        assertThat(ContainerFingerprint.of(container("postgres:15-alpine", "value")), not(equalTo(fingerprint)));
+        assertThat(ContainerFingerprint.of(container("postgres:14-alpine", "changed")), not(equalTo(fingerprint)));
+    }
+
+    /**
+     * The fingerprint label itself is excluded, so applying it does not change the fingerprint.
+     */
+    @Test
+    public void testOf_FingerprintLabelExcluded() {
+        GenericContainer<?> container = container("postgres:14-alpine", "value");
+        String fingerprint = ContainerFingerprint.of(container);
+        container.withLabel(ContainerFingerprint.FINGERPRINT_LABEL_KEY, fingerprint);
+
+        assertThat(ContainerFingerprint.of(container), equalTo(fingerprint));
+    }
+
+    @Test
+    public void testOf_BoundFileChanged() throws Exception {
+        Path applicationYml = tempDir.resolve("application.yml");
+        Files.writeString(applicationYml, "server.port: 8001");
+        String fingerprint = ContainerFingerprint.of(container("postgres:14-alpine", "value")
+                .withFileSystemBind(applicationYml.toString(), "/application.yml", BindMode.READ_ONLY));
+
+        Files.writeString(applicationYml, "server.port: 8002");
+
+        assertThat(ContainerFingerprint.of(container("postgres:14-alpine", "value")
+                .withFileSystemBind(applicationYml.toString(), "/application.yml", BindMode.READ_ONLY)), not(equalTo(fingerprint)));
+    }
+
+    @Test
+    public void testOf_TmpfsChanged() {
+        String fingerprint = ContainerFingerprint.of(container("postgres:14-alpine", "value"));
+
+        assertThat(ContainerFingerprint.of(container("postgres:14-alpine", "value")
+                .withTmpFs(Collections.singletonMap("/var/lib/postgresql/data", "rw,size=512m"))), not(equalTo(fingerprint)));
+    }
+
+    /**
+     * PostgreSQLContainer only adds the database name and credentials to its environment as it starts, so they are
+     * included by the configuration label.
+     */
+    @Test
+    public void testOf_DatabaseCredentialsChanged() {
+        String fingerprint = ContainerFingerprint.of(postgresContainer("orders", "user", "password"));
+
+        assertThat(ContainerFingerprint.of(postgresContainer("orders", "user", "password")), equalTo(fingerprint));
+        assertThat(ContainerFingerprint.of(postgresContainer("payments", "user", "password")), not(equalTo(fingerprint)));
+        assertThat(ContainerFingerprint.of(postgresContainer("orders", "admin", "password")), not(equalTo(fingerprint)));
+        assertThat(ContainerFingerprint.of(postgresContainer("orders", "user", "changed")), not(equalTo(fingerprint)));
+    }
+
+    private GenericContainer<?> postgresContainer(String databaseName, String username, String password) {
+        return ContainerFingerprint.withDatabaseConfiguration(new PostgreSQLContainer<>("postgres:14-alpine")
+                .withDatabaseName(databaseName)
+                .withUsername(username)
+                .withPassword(password), "CREATE SCHEMA orders;");
+    }
+
+    private GenericContainer<?> container(String image, String envValue) {
+        return new GenericContainer<>(image)
+                .withLabel(ContainerFingerprint.IMAGE_LABEL_KEY, image)
+                .withEnv("KEY", envValue)
+                .withExposedPorts(5432)
+                .withNetworkAliases("postgres");
+    }
+}
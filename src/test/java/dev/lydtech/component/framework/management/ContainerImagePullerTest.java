@@ -0,0 +1,48 @@
+package dev.lydtech.component.framework.management;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ContainerImagePullerTest {
+
+    @Test
+    public void testNormalise_DockerHub() {
+        assertThat(ContainerImagePuller.normalise("postgres:14-alpine"), equalTo("postgres:14-alpine"));
+        assertThat(ContainerImagePuller.normalise("docker.io/postgres:14-alpine"), equalTo("postgres:14-alpine"));
+        assertThat(ContainerImagePuller.normalise("docker.io/library/postgres:14-alpine"), equalTo("postgres:14-alpine"));
+        assertThat(ContainerImagePuller.normalise("library/postgres:14-alpine"), equalTo("postgres:14-alpine"));
+        assertThat(ContainerImagePuller.normalise("docker.io/confluentinc/cp-kafka:7.3.2"), equalTo("confluentinc/cp-kafka:7.3.2"));
+    }
+
+    @Test
+    public void testNormalise_ImplicitLatest() {
+        assertThat(ContainerImagePuller.normalise("postgres"), equalTo("postgres:latest"));
+        assertThat(ContainerImagePuller.normalise("docker.io/library/postgres"), equalTo("postgres:latest"));
+        assertThat(ContainerImagePuller.normalise("confluentinc/cp-kafka"), equalTo("confluentinc/cp-kafka:latest"));
+    }
+
+    /**
+     * Images from other registries keep the registry host, including any port, which is not mistaken for a tag.
+     */
+    @Test
+    public void testNormalise_RegistryQualified() {
+        assertThat(ContainerImagePuller.normalise("ghcr.io/acme/app:1.0"), equalTo("ghcr.io/acme/app:1.0"));
+        assertThat(ContainerImagePuller.normalise("localhost:5000/app"), equalTo("localhost:5000/app:latest"));
+        assertThat(ContainerImagePuller.normalise("localhost:5000/app:1.0"), equalTo("localhost:5000/app:1.0"));
+        assertThat(ContainerImagePuller.normalise("registry.example.com:8443/team/app"), equalTo("registry.example.com:8443/team/app:latest"));
+    }
+
+    /**
+     * An image referenced by its digest has no tag, so the latest tag is not added.
+     */
+    @Test
+    public void testNormalise_Digest() {
+        String digest = "sha256:4b9ba1f3f6d7bbcf86e2b9ffa1a5e3a0c2f1e1b0a6d3e5f4c7b8a9d0e1f2a3b4";
+        assertThat(ContainerImagePuller.normalise("postgres@" + digest), equalTo("postgres@" + digest));
+        assertThat(ContainerImagePuller.normalise("docker.io/library/postgres@" + digest), equalTo("postgres@" + digest));
+        assertThat(ContainerImagePuller.normalise("localhost:5000/app@" + digest), equalTo("localhost:5000/app@" + digest));
+        assertThat(ContainerImagePuller.normalise("postgres:14-alpine@" + digest), equalTo("postgres:14-alpine@" + digest));
+    }
+}
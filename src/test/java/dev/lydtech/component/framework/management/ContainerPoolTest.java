@@ -0,0 +1,69 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Path;
+
+import com.github.dockerjava.api.DockerClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+public class ContainerPoolTest {
+
+    @TempDir
+    Path poolDirectory;
+
+    /**
+     * A slot that is leased is skipped, so each lease is of the next free slot.
+     */
+    @Test
+    public void testLease_FirstFreeSlot() throws Exception {
+        ContainerPool pool = new ContainerPool(mock(DockerClient.class), "ct", 3, 60, poolDirectory);
+
+        ContainerPool.Lease first = pool.lease();
+        ContainerPool.Lease second = pool.lease();
+
+        assertThat(first.getSlot(), equalTo(0));
+        assertThat(first.getGroupId(), equalTo("pool1"));
+        assertThat(first.isPreviouslyUsed(), is(false));
+        assertThat(second.getSlot(), equalTo(1));
+        assertThat(second.getGroupId(), equalTo("pool2"));
+
+        first.release();
+        ContainerPool.Lease released = pool.lease();
+
+        assertThat(released.getSlot(), equalTo(0));
+        assertThat(released.isPreviouslyUsed(), is(true));
+        // Remove the shutdown hooks, which would otherwise write to the deleted directory at exit.
+        second.release();
+        released.release();
+    }
+
+    /**
+     * Releasing a lease unlocks its slot and removes its shutdown hook, so releasing it again does nothing.
+     */
+    @Test
+    public void testRelease() {
+        ContainerPool pool = new ContainerPool(mock(DockerClient.class), "ct", 1, 60, poolDirectory);
+        ContainerPool.Lease lease = pool.lease();
+
+        lease.release();
+        lease.release();
+
+        assertThat(lease.getLock().isValid(), is(false));
+        ContainerPool.Lease next = pool.lease();
+        assertThat(next.getSlot(), equalTo(0));
+        next.release();
+    }
+
+    @Test
+    public void testContainerPool_InvalidSize() {
+        Exception exception = assertThrows(RuntimeException.class, () -> new ContainerPool(mock(DockerClient.class), "ct", 0, 60, poolDirectory));
+
+        assertThat(exception.getMessage(), equalTo("container.pool.size: 0 - must be at least 1"));
+    }
+}
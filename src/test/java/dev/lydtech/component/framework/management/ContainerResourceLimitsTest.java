@@ -0,0 +1,62 @@
+package dev.lydtech.component.framework.management;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContainerResourceLimitsTest {
+
+    @Test
+    public void testLimits() {
+        ContainerResourceLimits limits = new ContainerResourceLimits("service", "1.5", "0:2-3", "512m");
+
+        assertThat(limits.isLimited(), is(true));
+        assertThat(limits.getCpus(), equalTo(1.5));
+        assertThat(limits.getCpuset(), equalTo("0,2-3"));
+        assertThat(limits.getMemoryBytes(), equalTo(512L * 1024 * 1024));
+        assertThat(limits.getEffectiveCpus(), equalTo(1.5));
+        assertThat(limits.toString(), equalTo("cpus=1.5, cpuset=0,2-3, memory=512MB"));
+    }
+
+    @Test
+    public void testGetEffectiveCpus_PinnedToFewerCpus() {
+        ContainerResourceLimits limits = new ContainerResourceLimits("kafka", "4", "0-1", null);
+
+        assertThat(limits.getEffectiveCpus(), equalTo(2.0));
+        assertThat(limits.getMemoryBytes(), nullValue());
+    }
+
+    @Test
+    public void testApply_Unlimited() {
+        ContainerResourceLimits limits = new ContainerResourceLimits("postgres", null, null, null);
+        GenericContainer<?> container = new GenericContainer<>("postgres:14");
+
+        limits.apply(container);
+
+        assertThat(limits.isLimited(), is(false));
+        assertThat(limits.getEffectiveCpus(), equalTo((double) Runtime.getRuntime().availableProcessors()));
+        assertThat(container.getLabels().containsKey(ContainerResourceLimits.LIMITS_LABEL_KEY), is(false));
+    }
+
+    @Test
+    public void testApply_LabelsContainer() {
+        ContainerResourceLimits limits = new ContainerResourceLimits("service", "2", null, "1g");
+        GenericContainer<?> container = new GenericContainer<>("ct/app:latest");
+
+        limits.apply(container);
+
+        assertThat(container.getLabels().get(ContainerResourceLimits.LIMITS_LABEL_KEY), equalTo("cpus=2.0, cpuset=all, memory=1024MB"));
+    }
+
+    @Test
+    public void testLimits_InvalidMemory() {
+        Exception exception = assertThrows(RuntimeException.class, () -> new ContainerResourceLimits("service", null, null, "1tb"));
+
+        assertThat(exception.getMessage(), equalTo("container.memory: service=1tb - must be a size in bytes, or with a k, m or g suffix, e.g. 512m"));
+    }
+}
@@ -0,0 +1,32 @@
+package dev.lydtech.component.framework.management;
+
+import org.junit.jupiter.api.Test;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ContainerSnapshotsTest {
+
+    @Test
+    public void testSnapshotImage() {
+        DockerImageName snapshotImage = ContainerSnapshots.snapshotImage("postgres", "postgres:14-alpine", "postgres-db", "user", "password", "CREATE SCHEMA test;");
+
+        assertThat(snapshotImage.getUnversionedPart(), equalTo("ctf-snapshot/postgres"));
+        assertThat(snapshotImage.getVersionPart().length(), equalTo(16));
+        assertThat(ContainerSnapshots.snapshotImage("postgres", "postgres:14-alpine", "postgres-db", "user", "password", "CREATE SCHEMA test;"), equalTo(snapshotImage));
+    }
+
+    /**
+     * Any change to the configuration, including moving characters between the parts, results in a different snapshot.
+     */
+    @Test
+    public void testHash_ConfigurationChanged() {
+        String hash = ContainerSnapshots.hash("postgres:14-alpine", "CREATE SCHEMA test;");
+
+        assertThat(ContainerSnapshots.hash("postgres:15-alpine", "CREATE SCHEMA test;"), not(equalTo(hash)));
+        assertThat(ContainerSnapshots.hash("postgres:14-alpine", "CREATE SCHEMA test2;"), not(equalTo(hash)));
+        assertThat(ContainerSnapshots.hash("ab", "c"), not(equalTo(ContainerSnapshots.hash("a", "bc"))));
+    }
+}
@@ -0,0 +1,134 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContainerStartupSchedulerTest {
+
+    /**
+     * With a concurrency of 1 the nodes are started one at a time, in the order added, with dependencies respected.
+     */
+    @Test
+    public void testStart_Sequential() throws Exception {
+        List<String> started = new CopyOnWriteArrayList<>();
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+        scheduler.addNode("postgres", () -> started.add("postgres"));
+        scheduler.addNode("kafka", () -> started.add("kafka"));
+        scheduler.addNode("debezium", () -> started.add("debezium"), "kafka", "postgres");
+        scheduler.addNode("app-1", () -> started.add("app-1"), scheduler.getNodeNames());
+
+        scheduler.start(1);
+
+        assertThat(started, equalTo(Arrays.asList("postgres", "kafka", "debezium", "app-1")));
+    }
+
+    /**
+     * Independent nodes start at the same time.  Each node waits for the other to have started, so this would time out
+     * if they were started one after the other.
+     */
+    @Test
+    public void testStart_IndependentNodesStartConcurrently() throws Exception {
+        CountDownLatch bothStarting = new CountDownLatch(2);
+        List<String> started = new CopyOnWriteArrayList<>();
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+        scheduler.addNode("postgres", () -> {
+            bothStarting.countDown();
+            assertThat(bothStarting.await(5, TimeUnit.SECONDS), is(true));
+            started.add("postgres");
+        });
+        scheduler.addNode("kafka", () -> {
+            bothStarting.countDown();
+            assertThat(bothStarting.await(5, TimeUnit.SECONDS), is(true));
+            started.add("kafka");
+        });
+        scheduler.addNode("app-1", () -> started.add("app-1"), "postgres", "kafka");
+
+        scheduler.start(4);
+
+        assertThat(started.size(), equalTo(3));
+        assertThat(started.get(2), equalTo("app-1"));
+    }
+
+    /**
+     * A failing node cancels the in-flight starts, and its dependants are never started.
+     */
+    @Test
+    public void testStart_FailFast() throws Exception {
+        CountDownLatch inFlightInterrupted = new CountDownLatch(1);
+        AtomicBoolean dependantStarted = new AtomicBoolean(false);
+        CountDownLatch slowNodeStarted = new CountDownLatch(1);
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+        scheduler.addNode("elasticsearch", () -> {
+            slowNodeStarted.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                inFlightInterrupted.countDown();
+                throw e;
+            }
+        });
+        scheduler.addNode("kafka", () -> {
+            slowNodeStarted.await(5, TimeUnit.SECONDS);
+            throw new RuntimeException("broker failed");
+        });
+        scheduler.addNode("debezium", () -> dependantStarted.set(true), "kafka");
+
+        Exception exception = assertThrows(RuntimeException.class, () -> scheduler.start(4));
+
+        assertThat(exception.getMessage(), equalTo("kafka failed to start: broker failed"));
+        assertThat(dependantStarted.get(), is(false));
+        assertThat(inFlightInterrupted.await(5, TimeUnit.SECONDS), is(true));
+    }
+
+    /**
+     * The critical path to the service follows the dependency of each node that finished last.
+     */
+    @Test
+    public void testStart_RecordsCriticalPath() throws Exception {
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+        scheduler.addNode("postgres", () -> Thread.sleep(10));
+        scheduler.addNode("kafka", () -> Thread.sleep(200));
+        scheduler.addNode("debezium", () -> scheduler.getReport().recordPhase("debezium", "debezium", "readiness", 50), "kafka", "postgres");
+        scheduler.addNode("app-1", () -> {}, scheduler.getNodeNames());
+
+        scheduler.start(4);
+
+        ContainerStartupReport report = scheduler.getReport();
+        assertThat(report.calculateCriticalPath(Collections.singletonList("app-1")), equalTo(Arrays.asList("kafka", "debezium", "app-1")));
+        assertThat(report.getNodes().size(), equalTo(4));
+        assertThat(report.getConcurrency(), equalTo(4));
+        ContainerStartupReport.NodeTiming debezium = report.getNodes().stream().filter(node -> node.getName().equals("debezium")).findFirst().get();
+        assertThat(debezium.getPhases().get(0).getMillis(), equalTo(50L));
+        assertThat(debezium.getStartOffsetMillis() >= 200, is(true));
+    }
+
+    @Test
+    public void testAddNode_UnknownDependency() {
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+
+        Exception exception = assertThrows(RuntimeException.class, () -> scheduler.addNode("debezium", () -> {}, Collections.singletonList("kafka")));
+
+        assertThat(exception.getMessage(), equalTo("Startup node debezium depends on unknown node: kafka"));
+    }
+
+    @Test
+    public void testStart_InvalidConcurrency() {
+        ContainerStartupScheduler scheduler = new ContainerStartupScheduler();
+
+        Exception exception = assertThrows(RuntimeException.class, () -> scheduler.start(0));
+
+        assertThat(exception.getMessage(), equalTo("Startup concurrency must be at least 1 - concurrency: 0"));
+    }
+}
@@ -0,0 +1,110 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ContainerStatsSamplerTest {
+
+    private static final String TEST_ID = "[engine:junit-jupiter]/[class:OrderCT]/[method:testOrderFlow()]";
+
+    @TempDir
+    Path path;
+
+    private ContainerStatsSampler sampler;
+
+    @BeforeEach
+    public void setUp() {
+        sampler = new ContainerStatsSampler(path, 1000);
+    }
+
+    @Test
+    public void testEndTest() throws Exception {
+        sampler.record("ct-app-1", new ContainerStatsSample(1000, 2_000_000_000L, 100, 10, 20, 0, 0));
+        sampler.startTest(TEST_ID, "OrderCT.testOrderFlow");
+        sampler.record("ct-app-1", new ContainerStatsSample(2000, 3_500_000_000L, 300, 110, 220, 4096, 8192));
+        sampler.record("ct-app-1", new ContainerStatsSample(3000, 4_000_000_000L, 200, 210, 420, 4096, 8192));
+
+        List<ContainerUsage> usage = sampler.endTest(TEST_ID);
+
+        assertThat(usage, hasSize(1));
+        assertThat(usage.get(0).getContainer(), equalTo("ct-app-1"));
+        assertThat(usage.get(0).getCpuSeconds(), equalTo(2.0));
+        assertThat(usage.get(0).getPeakMemoryBytes(), equalTo(300L));
+        assertThat(usage.get(0).getNetworkRxBytes(), equalTo(200L));
+        assertThat(usage.get(0).getNetworkTxBytes(), equalTo(400L));
+        assertThat(usage.get(0).getBlockWriteBytes(), equalTo(8192L));
+        List<String> tests = Files.readAllLines(path.resolve(ContainerStatsSampler.TESTS_FILE));
+        assertThat(tests.get(0), equalTo(ContainerUsage.CSV_HEADER));
+        assertThat(tests.get(1), equalTo("OrderCT.testOrderFlow,ct-app-1," + usage.get(0).getDurationMillis() + ",2.000,300,200,400,4096,8192"));
+    }
+
+    /**
+     * A container without a sample when the test starts, such as before its stats stream has delivered one, is measured
+     * from its first sample during the test, rather than from when the container started.
+     */
+    @Test
+    public void testEndTest_NoStartSample() {
+        sampler.startTest(TEST_ID, "OrderCT.testOrderFlow");
+        sampler.record("ct-app-1", new ContainerStatsSample(2000, 30_000_000_000L, 300, 5000, 6000, 0, 0));
+        sampler.record("ct-app-1", new ContainerStatsSample(3000, 31_000_000_000L, 200, 5100, 6200, 0, 0));
+
+        List<ContainerUsage> usage = sampler.endTest(TEST_ID);
+
+        assertThat(usage, hasSize(1));
+        assertThat(usage.get(0).getCpuSeconds(), equalTo(1.0));
+        assertThat(usage.get(0).getPeakMemoryBytes(), equalTo(300L));
+        assertThat(usage.get(0).getNetworkRxBytes(), equalTo(100L));
+        assertThat(usage.get(0).getNetworkTxBytes(), equalTo(200L));
+    }
+
+    /**
+     * Tests running in parallel are each measured from their own start, and starting one does not end the other.
+     */
+    @Test
+    public void testEndTest_ParallelTests() {
+        String otherTestId = "[engine:junit-jupiter]/[class:OrderCT]/[method:testOrderCancelled()]";
+        sampler.record("ct-app-1", new ContainerStatsSample(1000, 1_000_000_000L, 100, 0, 0, 0, 0));
+        sampler.startTest(TEST_ID, "OrderCT.testOrderFlow");
+        sampler.record("ct-app-1", new ContainerStatsSample(2000, 2_000_000_000L, 100, 0, 0, 0, 0));
+        sampler.startTest(otherTestId, "OrderCT.testOrderCancelled");
+        sampler.record("ct-app-1", new ContainerStatsSample(3000, 4_000_000_000L, 100, 0, 0, 0, 0));
+
+        assertThat(sampler.endTest(TEST_ID).get(0).getCpuSeconds(), equalTo(3.0));
+        assertThat(sampler.endTest(otherTestId).get(0).getCpuSeconds(), equalTo(2.0));
+    }
+
+    @Test
+    public void testGetTestUsage_CurrentThread() {
+        sampler.record("ct-app-1", new ContainerStatsSample(1000, 1_000_000_000L, 100, 0, 0, 0, 0));
+        sampler.startTest(TEST_ID, "OrderCT.testOrderFlow");
+        sampler.record("ct-app-1", new ContainerStatsSample(2000, 3_000_000_000L, 100, 0, 0, 0, 0));
+
+        assertThat(sampler.getTestUsage().get(0).getCpuSeconds(), equalTo(2.0));
+        sampler.endTest(TEST_ID);
+        assertThrows(RuntimeException.class, sampler::getTestUsage);
+    }
+
+    /**
+     * Samples received within the interval update the usage but are not recorded.
+     */
+    @Test
+    public void testRecord_Interval() throws Exception {
+        sampler.record("ct-kafka", new ContainerStatsSample(1000, 1, 1, 0, 0, 0, 0));
+        sampler.record("ct-kafka", new ContainerStatsSample(1500, 2, 1, 0, 0, 0, 0));
+        sampler.record("ct-kafka", new ContainerStatsSample(2000, 3, 1, 0, 0, 0, 0));
+        sampler.stop();
+
+        List<String> samples = Files.readAllLines(path.resolve("ct-kafka.csv"));
+        assertThat(samples, equalTo(List.of(ContainerStatsSample.CSV_HEADER, "1000,1,1,0,0,0,0", "2000,3,1,0,0,0,0")));
+    }
+}
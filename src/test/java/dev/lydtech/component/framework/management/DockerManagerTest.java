@@ -1,6 +1,7 @@
 package dev.lydtech.component.framework.management;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import com.github.dockerjava.api.DockerClient;
@@ -46,56 +47,56 @@ public class DockerManagerTest {
     }
 
     /**
-     * If the main container is already running (the service under test), and the Testcontainers container is not present
-     * (which if it was would be responsible for stopping the containers in the test), then do not perform setup.
+     * The containers with the container name prefix are left up from a previous run when Testcontainers is not
+     * running.
      */
     @Test
-    public void testShouldPerformSetup_WhenMainContainerIsRunning() {
+    public void testFindContainersLeftUp() {
         Container mainContainer = mock(Container.class);
         when(mainContainer.getNames()).thenReturn(new String[]{"/ct-docker-container-name"});
-        when(mainContainer.getLabels()).thenReturn(Collections.singletonMap("dev.lydtech.main-container-label", "main-container"));
+        Container otherContainer = mock(Container.class);
+        when(otherContainer.getNames()).thenReturn(new String[]{"/other-container"});
 
         ListContainersCmd listContainersCmdMock = mock(ListContainersCmd.class);
         when(dockerClient.listContainersCmd()).thenReturn(listContainersCmdMock);
-        when(listContainersCmdMock.exec()).thenReturn(Collections.singletonList(mainContainer));
+        when(listContainersCmdMock.exec()).thenReturn(List.of(mainContainer, otherContainer));
 
-        boolean result = DockerManager.shouldPerformSetup(dockerClient);
+        List<Container> result = DockerManager.findContainersLeftUp(dockerClient);
 
-        MatcherAssert.assertThat(result, is(false));
+        MatcherAssert.assertThat(result, is(List.of(mainContainer)));
     }
 
     /**
-     * If the main container is not running (the service under test), then perform setup, even if the Testcontainers
-     * container is running.
+     * If the Testcontainers container is running then the containers belong to a test run in progress, so none are
+     * left up to reuse.
      */
     @Test
-    public void testShouldPerformSetup_WhenTestcontainersIsRunning() {
+    public void testFindContainersLeftUp_WhenTestcontainersIsRunning() {
+        Container mainContainer = mock(Container.class);
+        when(mainContainer.getNames()).thenReturn(new String[]{"/ct-docker-container-name"});
         Container testContainer = mock(Container.class);
         when(testContainer.getNames()).thenReturn(new String[]{"/testcontainers-ryuk"});
 
         ListContainersCmd listContainersCmdMock = mock(ListContainersCmd.class);
         when(dockerClient.listContainersCmd()).thenReturn(listContainersCmdMock);
-        when(listContainersCmdMock.exec()).thenReturn(Collections.singletonList(testContainer));
+        when(listContainersCmdMock.exec()).thenReturn(List.of(mainContainer, testContainer));
 
-        boolean result = DockerManager.shouldPerformSetup(dockerClient);
+        List<Container> result = DockerManager.findContainersLeftUp(dockerClient);
 
-        MatcherAssert.assertThat(result, is(true));
+        MatcherAssert.assertThat(result.isEmpty(), is(true));
     }
 
     /**
-     * If no containers are running, then perform setup.
+     * If no containers are running, then none are left up.
      */
     @Test
-    public void testShouldPerformSetup_WhenNoContainerIsRunning() {
-        Container testContainer = mock(Container.class);
-        when(testContainer.getNames()).thenReturn(new String[]{""});
-
+    public void testFindContainersLeftUp_WhenNoContainerIsRunning() {
         ListContainersCmd listContainersCmdMock = mock(ListContainersCmd.class);
         when(dockerClient.listContainersCmd()).thenReturn(listContainersCmdMock);
-        when(listContainersCmdMock.exec()).thenReturn(Collections.singletonList(testContainer));
+        when(listContainersCmdMock.exec()).thenReturn(Collections.emptyList());
 
-        boolean result = DockerManager.shouldPerformSetup(dockerClient);
+        List<Container> result = DockerManager.findContainersLeftUp(dockerClient);
 
-        MatcherAssert.assertThat(result, is(true));
+        MatcherAssert.assertThat(result.isEmpty(), is(true));
     }
 }
@@ -0,0 +1,41 @@
+package dev.lydtech.component.framework.management;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JfrProfileSummaryTest {
+
+    @Test
+    public void testRender() {
+        JfrProfileSummary summary = new JfrProfileSummary();
+        summary.recordCpuSample("demo.OrderService.process");
+        summary.recordCpuSample("demo.OrderService.process");
+        summary.recordCpuSample("demo.OrderService.process");
+        summary.recordCpuSample("demo.JsonMapper.write");
+        summary.recordAllocation("demo.JsonMapper.write", 4096);
+        summary.recordGcPause(Duration.ofMillis(3), Duration.ofMillis(2));
+        summary.recordGcPause(Duration.ofMillis(5), Duration.ofMillis(5));
+        summary.recordLockContention("demo.Cache in demo.Cache.get", Duration.ofMillis(7));
+
+        String rendered = summary.render();
+
+        assertThat(rendered, containsString("Top CPU methods (4 samples):"));
+        assertThat(rendered, containsString("       3   75.0%  demo.OrderService.process"));
+        assertThat(rendered, containsString("       1   25.0%  demo.JsonMapper.write"));
+        assertThat(rendered, containsString("           4KB  demo.JsonMapper.write"));
+        assertThat(rendered, containsString("GC pauses: 2 collections, 8ms total, 5ms longest"));
+        assertThat(rendered, containsString("       7ms  demo.Cache in demo.Cache.get"));
+    }
+
+    @Test
+    public void testRender_NoEvents() {
+        String rendered = new JfrProfileSummary().render();
+
+        assertThat(rendered, containsString("Top CPU methods (0 samples):"));
+        assertThat(rendered, containsString("GC pauses: 0 collections, 0ms total, 0ms longest"));
+    }
+}
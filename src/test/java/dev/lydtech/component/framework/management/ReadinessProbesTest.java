@@ -0,0 +1,29 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ReadinessProbesTest {
+
+    @Test
+    public void testJdbcProperties_Postgres() {
+        Properties properties = ReadinessProbes.jdbcProperties("jdbc:postgresql://localhost:5432/postgres", "user", "password");
+
+        assertThat(properties.getProperty("user"), equalTo("user"));
+        assertThat(properties.getProperty("password"), equalTo("password"));
+        assertThat(properties.getProperty("connectTimeout"), equalTo("1"));
+        assertThat(properties.getProperty("loginTimeout"), equalTo("1"));
+    }
+
+    @Test
+    public void testJdbcProperties_MariaDB() {
+        Properties properties = ReadinessProbes.jdbcProperties("jdbc:mariadb://localhost:3306/test", "user", "password");
+
+        assertThat(properties.getProperty("connectTimeout"), equalTo("1000"));
+        assertThat(properties.getProperty("socketTimeout"), equalTo("1000"));
+    }
+}
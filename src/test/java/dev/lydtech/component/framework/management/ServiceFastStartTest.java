@@ -0,0 +1,68 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.github.dockerjava.api.DockerClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ServiceFastStartTest {
+
+    private static final String IMAGE_ID = "sha256:0123456789abcdef";
+
+    @TempDir
+    Path baseDirectory;
+
+    private DockerClient dockerClient;
+
+    @BeforeEach
+    public void setUp() {
+        dockerClient = mock(DockerClient.class, RETURNS_DEEP_STUBS);
+        when(dockerClient.inspectImageCmd("ct/app:latest").exec().getId()).thenReturn(IMAGE_ID);
+    }
+
+    /**
+     * With no archive for the image, the service creates the archive when it exits.
+     */
+    @Test
+    public void testConfigure_AppCdsTrainingRun() {
+        ServiceFastStart fastStart = new ServiceFastStart(dockerClient, ServiceFastStart.MODE_APPCDS, baseDirectory, "ct/app:latest", "configuration");
+        GenericContainer<?> container = new GenericContainer<>("ct/app:latest");
+
+        fastStart.configure(container, "-Xmx512m");
+
+        assertThat(fastStart.isTrained(), is(false));
+        assertThat(container.getEnvMap().get("JAVA_OPTS"), equalTo("-Xmx512m -XX:ArchiveClassesAtExit=/ctf-fast-start/app.jsa"));
+    }
+
+    @Test
+    public void testConfigure_AppCdsTrained() throws Exception {
+        Path directory = Files.createDirectories(baseDirectory.resolve(ServiceFastStart.MODE_APPCDS + "-" + ContainerSnapshots.hash(IMAGE_ID)));
+        Files.writeString(directory.resolve("trained"), "1");
+        ServiceFastStart fastStart = new ServiceFastStart(dockerClient, ServiceFastStart.MODE_APPCDS, baseDirectory, "ct/app:latest", "configuration");
+        GenericContainer<?> container = new GenericContainer<>("ct/app:latest");
+
+        fastStart.configure(container, "-Xmx512m");
+
+        assertThat(fastStart.isTrained(), is(true));
+        assertThat(container.getEnvMap().get("JAVA_OPTS"), equalTo("-Xmx512m -XX:SharedArchiveFile=/ctf-fast-start/app.jsa"));
+    }
+
+    @Test
+    public void testValidateMode_Invalid() {
+        Exception exception = assertThrows(RuntimeException.class, () -> ServiceFastStart.validateMode("aot"));
+
+        assertThat(exception.getMessage(), equalTo("service.fast.start.mode: aot - must be one of: none, appcds, crac"));
+    }
+}
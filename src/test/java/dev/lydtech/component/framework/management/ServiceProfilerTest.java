@@ -0,0 +1,46 @@
+package dev.lydtech.component.framework.management;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ServiceProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * The chunk being written to is found by its own modified time, even though the repository directory was last
+     * modified before the profile started.
+     */
+    @Test
+    public void testRecordingFilesWrittenSince() throws Exception {
+        Instant profileStartTime = Instant.now();
+        Path repository = Files.createDirectories(tempDir.resolve("2026_10_18_09_00_00_1"));
+        Path oldChunk = Files.createFile(repository.resolve("2026_10_18_09_00_00.jfr"));
+        Files.setLastModifiedTime(oldChunk, FileTime.from(profileStartTime.minusSeconds(60)));
+        Path currentChunk = Files.createFile(repository.resolve("2026_10_18_09_05_00.jfr"));
+        Files.setLastModifiedTime(currentChunk, FileTime.from(profileStartTime.plusSeconds(5)));
+        Files.setLastModifiedTime(Files.createFile(repository.resolve("metadata.part")), FileTime.from(profileStartTime.plusSeconds(5)));
+        Files.setLastModifiedTime(repository, FileTime.from(profileStartTime.minusSeconds(300)));
+
+        List<Path> recordingFiles = ServiceProfiler.recordingFilesWrittenSince(repository, profileStartTime);
+
+        assertThat(recordingFiles, equalTo(List.of(currentChunk)));
+    }
+
+    @Test
+    public void testRecordingFilesWrittenSince_NoRepository() throws Exception {
+        List<Path> recordingFiles = ServiceProfiler.recordingFilesWrittenSince(tempDir.resolve("missing"), Instant.now());
+
+        assertThat(recordingFiles.isEmpty(), equalTo(true));
+    }
+}
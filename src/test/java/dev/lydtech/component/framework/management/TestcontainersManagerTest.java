@@ -0,0 +1,106 @@
+package dev.lydtech.component.framework.management;
+
+import java.util.Properties;
+import java.util.Set;
+
+import com.github.dockerjava.api.model.Container;
+import dev.lydtech.component.framework.configuration.TestcontainersConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestcontainersManagerTest {
+
+    @AfterEach
+    public void tearDown() {
+        // Restore the default properties.
+        TestcontainersConfiguration.configure(new Properties());
+    }
+
+    @Test
+    public void testValidatePerformanceProfiles() {
+        Properties properties = new Properties();
+        properties.setProperty("postgres.performance.profile", "fast");
+        properties.setProperty("postgres.unlogged.tables.enabled", "true");
+        properties.setProperty("mariadb.performance.profile", "fast");
+        TestcontainersConfiguration.configure(properties);
+
+        assertDoesNotThrow(TestcontainersManager::validatePerformanceProfiles);
+    }
+
+    @Test
+    public void testValidatePerformanceProfiles_UnknownProfile() {
+        Properties properties = new Properties();
+        properties.setProperty("mariadb.performance.profile", "fastest");
+        TestcontainersConfiguration.configure(properties);
+
+        Exception exception = assertThrows(RuntimeException.class, TestcontainersManager::validatePerformanceProfiles);
+
+        assertThat(exception.getMessage(), equalTo("mariadb.performance.profile: fastest - must be one of: default, fast"));
+    }
+
+    @Test
+    public void testValidatePerformanceProfiles_UnloggedTablesWithDebezium() {
+        Properties properties = new Properties();
+        properties.setProperty("postgres.unlogged.tables.enabled", "true");
+        properties.setProperty("debezium.enabled", "true");
+        TestcontainersConfiguration.configure(properties);
+
+        Exception exception = assertThrows(RuntimeException.class, TestcontainersManager::validatePerformanceProfiles);
+
+        assertThat(exception.getMessage(), equalTo("postgres.unlogged.tables.enabled: true - must be false when debezium.enabled is true, as Debezium captures no changes to unlogged tables"));
+    }
+
+    @Test
+    public void testValidatePool() {
+        Properties properties = new Properties();
+        properties.setProperty("containers.stayup", "true");
+        properties.setProperty("container.pool.enabled", "true");
+        TestcontainersConfiguration.configure(properties);
+
+        assertDoesNotThrow(TestcontainersManager::validatePool);
+    }
+
+    /**
+     * The data left in the databases is not reset when a pooled group is leased again, so they cannot be pooled.
+     */
+    @Test
+    public void testValidatePool_DatabaseEnabled() {
+        Properties properties = new Properties();
+        properties.setProperty("containers.stayup", "true");
+        properties.setProperty("container.pool.enabled", "true");
+        properties.setProperty("postgres.enabled", "true");
+        properties.setProperty("mongodb.enabled", "true");
+        TestcontainersConfiguration.configure(properties);
+
+        Exception exception = assertThrows(RuntimeException.class, TestcontainersManager::validatePool);
+
+        assertThat(exception.getMessage(), equalTo("container.pool.enabled: true - must be false when postgres.enabled, mongodb.enabled is true, as the data left by the previous test run is not reset"));
+    }
+
+    /**
+     * Only the containers this run creates are removed when their configuration has changed, not other containers with
+     * the container name prefix, such as those another project has left up.
+     */
+    @Test
+    public void testIsCreatedByThisRun() {
+        Set<String> containerNames = Set.of("ct-postgres", "ct-kafka", "ct-order-service-1");
+
+        assertThat(TestcontainersManager.isCreatedByThisRun(container("/ct-postgres"), containerNames), is(true));
+        assertThat(TestcontainersManager.isCreatedByThisRun(container("/ct-payment-service-1"), containerNames), is(false));
+        assertThat(TestcontainersManager.isCreatedByThisRun(container("/ct-postgres-other"), containerNames), is(false));
+    }
+
+    private Container container(String name) {
+        Container container = mock(Container.class);
+        when(container.getNames()).thenReturn(new String[]{name});
+        return container;
+    }
+}